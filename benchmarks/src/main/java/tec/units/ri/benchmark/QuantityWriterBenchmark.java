@@ -0,0 +1,110 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.benchmark;
+
+import static tec.units.ri.unit.MetricPrefix.*;
+import static tec.units.ri.unit.Units.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Unit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.units.ri.format.QuantityFormat;
+import tec.units.ri.format.QuantityWriter;
+import tec.units.ri.quantity.Quantities;
+
+/**
+ * Benchmarks the bulk export of a column of values ({@link QuantityWriter})
+ * against formatting each quantity with {@link QuantityFormat}.
+ * 
+ * @version 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuantityWriterBenchmark {
+
+	private static final int SIZE = 100000;
+
+	private double[] values;
+	private Unit<?> unit;
+	private QuantityWriter quantityWriter;
+	private QuantityFormat quantityFormat;
+	private ByteBuffer buffer;
+	private StringBuilder builder;
+
+	@Setup
+	public void setup() {
+		values = new double[SIZE];
+		Random random = new Random(363);
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = random.nextInt(1000000) / 100.0;
+		}
+		unit = KILO(METRE).divide(HOUR);
+		quantityWriter = new QuantityWriter();
+		quantityFormat = QuantityFormat.getInstance();
+		buffer = ByteBuffer.allocateDirect(SIZE * 32);
+		builder = new StringBuilder(SIZE * 32);
+	}
+
+	@Benchmark
+	public ByteBuffer writeColumn() {
+		buffer.clear();
+		quantityWriter.write(values, 0, SIZE, unit, buffer);
+		return buffer;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Benchmark
+	public StringBuilder formatEach() {
+		builder.setLength(0);
+		for (int i = 0; i < SIZE; i++) {
+			quantityFormat.format(Quantities.getQuantity(values[i], (Unit) unit), builder);
+			builder.append('\n');
+		}
+		return builder;
+	}
+}
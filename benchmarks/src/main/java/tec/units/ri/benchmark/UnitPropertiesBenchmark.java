@@ -0,0 +1,114 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.benchmark;
+
+import static tec.units.ri.unit.MetricPrefix.*;
+import static tec.units.ri.unit.Units.*;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Dimension;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Speed;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.units.ri.AbstractUnit;
+
+/**
+ * Benchmarks the derived properties of product and transformed units
+ * (dimension, system unit, system converter) and the compatibility check
+ * performed before each conversion. Run with the GC profiler (see
+ * {@link BenchmarkRunner}) and compare <code>gc.alloc.rate.norm</code>
+ * between releases for the per-call allocation.
+ * 
+ * @version 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitPropertiesBenchmark {
+
+	private AbstractUnit<Speed> kilometresPerHour;
+	private AbstractUnit<?> joulesPerKelvin;
+	private AbstractUnit<?> millimetre;
+	private Unit<Speed> metresPerSecond;
+
+	@Setup
+	public void setup() {
+		kilometresPerHour = (AbstractUnit<Speed>) KILO(METRE).divide(HOUR).asType(Speed.class);
+		joulesPerKelvin = (AbstractUnit<?>) JOULE.divide(KELVIN);
+		millimetre = (AbstractUnit<?>) MILLI(METRE);
+		metresPerSecond = METRES_PER_SECOND;
+	}
+
+	@Benchmark
+	public Dimension productDimension() {
+		return joulesPerKelvin.getDimension();
+	}
+
+	@Benchmark
+	public Unit<?> productSystemUnit() {
+		return kilometresPerHour.getSystemUnit();
+	}
+
+	@Benchmark
+	public UnitConverter productSystemConverter() {
+		return kilometresPerHour.getSystemConverter();
+	}
+
+	@Benchmark
+	public UnitConverter transformedSystemConverter() {
+		return millimetre.getSystemConverter();
+	}
+
+	@Benchmark
+	public boolean isCompatible() {
+		return kilometresPerHour.isCompatible(metresPerSecond);
+	}
+
+	@Benchmark
+	public double convert() {
+		return kilometresPerHour.getConverterTo(metresPerSecond).convert(42.5);
+	}
+}
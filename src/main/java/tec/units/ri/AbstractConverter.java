@@ -29,11 +29,17 @@
  */
 package tec.units.ri;
 
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.measure.UnitConverter;
 
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
+
 /**
  * <p> The base class for our {@link UnitConverter} implementations.</p>
  *
@@ -57,6 +63,11 @@ public abstract class AbstractConverter implements UnitConverter {
      */
     public static final AbstractConverter IDENTITY = new Identity();
 
+    /**
+     * The number of values converted at once for buffers not backed by an array.
+     */
+    private static final int BUFFER_CHUNK = 1024;
+
     /**
      * Default constructor.
      */
@@ -73,7 +84,9 @@ public abstract class AbstractConverter implements UnitConverter {
      * @return the concatenation of this converter with that converter.
      */
     public AbstractConverter concatenate(AbstractConverter that) {
-        return (that == IDENTITY) ? this : new Pair(this, that);
+        if (that == IDENTITY) return this;
+        final UnitConverter result = concatenate((UnitConverter) that);
+        return (result instanceof AbstractConverter) ? (AbstractConverter) result : new Pair(this, that);
     }
 
     public boolean isIdentity() {
@@ -113,6 +126,95 @@ public abstract class AbstractConverter implements UnitConverter {
     }
 
     public abstract double convert(double value);
+
+    /**
+     * Converts <code>len</code> values of the source array (starting at
+     * <code>srcOff</code>) into the destination array (starting at
+     * <code>dstOff</code>). Source and destination may be the same array
+     * for in-place conversion, provided the two ranges are identical or
+     * do not overlap.
+     *
+     * <p> Subclasses override this method with a tight loop free of
+     *     per-element virtual calls and allocation.</p>
+     *
+     * @param src the source values.
+     * @param srcOff the offset of the first source value.
+     * @param dst the destination of the converted values.
+     * @param dstOff the offset of the first converted value.
+     * @param len the number of values to convert.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = convert(src[srcOff + i]);
+        }
+    }
+
+    /**
+     * Converts <code>len</code> values of the source array into the
+     * destination array (intermediate computations are performed in
+     * <code>double</code> precision).
+     *
+     * @param src the source values.
+     * @param srcOff the offset of the first source value.
+     * @param dst the destination of the converted values.
+     * @param dstOff the offset of the first converted value.
+     * @param len the number of values to convert.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     * @see #convert(double[], int, double[], int, int)
+     */
+    public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (float) convert((double) src[srcOff + i]);
+        }
+    }
+
+    /**
+     * Converts the remaining values of the source buffer into the destination
+     * buffer. The position of both buffers is advanced by the number of
+     * values converted. Buffers backed by arrays are converted in place of
+     * their arrays, other buffers (e.g. direct) in chunks. The source and the
+     * destination may be the same buffer (conversion in place).
+     *
+     * @param src the source values.
+     * @param dst the destination of the converted values.
+     * @throws BufferOverflowException if the destination has less remaining
+     *         space than the source has remaining values.
+     */
+    public void convert(DoubleBuffer src, DoubleBuffer dst) {
+        final int len = src.remaining();
+        if (dst.remaining() < len) throw new BufferOverflowException();
+        if (src.hasArray() && dst.hasArray()) {
+            convert(src.array(), src.arrayOffset() + src.position(),
+                    dst.array(), dst.arrayOffset() + dst.position(), len);
+            if (src != dst) src.position(src.position() + len);
+            dst.position(dst.position() + len);
+        } else {
+            final DoubleBuffer in = (src == dst) ? src.duplicate() : src; // Own position when in place.
+            final double[] chunk = new double[Math.min(len, BUFFER_CHUNK)];
+            while (in.hasRemaining()) {
+                final int n = Math.min(in.remaining(), chunk.length);
+                in.get(chunk, 0, n);
+                convert(chunk, 0, chunk, 0, n);
+                dst.put(chunk, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Checks that the range <code>[offset, offset + len)</code> lies within
+     * an array of the specified length.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    protected static void checkRange(int length, int offset, int len) {
+        if ((offset < 0) || (len < 0) || (offset > length - len))
+            throw new IndexOutOfBoundsException("offset: " + offset + ", len: " + len + ", length: " + length);
+    }
     		    
     /**
      * This class represents the identity converter (singleton).
@@ -134,6 +236,20 @@ public abstract class AbstractConverter implements UnitConverter {
             return value;
         }
 
+        @Override
+        public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            checkRange(src.length, srcOff, len);
+            checkRange(dst.length, dstOff, len);
+            if ((src != dst) || (srcOff != dstOff)) System.arraycopy(src, srcOff, dst, dstOff, len);
+        }
+
+        @Override
+        public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+            checkRange(src.length, srcOff, len);
+            checkRange(dst.length, dstOff, len);
+            if ((src != dst) || (srcOff != dstOff)) System.arraycopy(src, srcOff, dst, dstOff, len);
+        }
+
 
         @Override
         public UnitConverter concatenate(UnitConverter converter) {
@@ -158,6 +274,12 @@ public abstract class AbstractConverter implements UnitConverter {
     /**
      * This class represents converters made up of two or more separate
      * converters (in matrix notation <code>[pair] = [left] x [right]</code>).
+     * 
+     * <p> On first use, the conversion steps are compiled into the shortest
+     *     equivalent sequence of stages: consecutive linear and additive steps
+     *     are folded into a single {@link AffineConverter}, non-linear steps
+     *     (e.g. logarithmic) are kept as is. The structure of the pair
+     *     (left, right, equality) is not affected.</p>
      */
     public static final class Pair extends AbstractConverter {
 
@@ -171,6 +293,11 @@ public abstract class AbstractConverter implements UnitConverter {
          */
         private final UnitConverter right;
 
+        /**
+         * Holds the compiled form of this converter (lazily computed).
+         */
+        private volatile UnitConverter compiled;
+
         /**
          * Creates a compound converter resulting from the combined
          * transformation of the specified converters.
@@ -210,7 +337,85 @@ public abstract class AbstractConverter implements UnitConverter {
 
         @Override
         public double convert(double value) {
-            return left.convert(right.convert(value));
+            return normalize().convert(value);
+        }
+
+        @Override
+        public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            final UnitConverter c = normalize();
+            if (c instanceof AbstractConverter) {
+                ((AbstractConverter) c).convert(src, srcOff, dst, dstOff, len);
+            } else {
+                super.convert(src, srcOff, dst, dstOff, len);
+            }
+        }
+
+        @Override
+        public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+            final UnitConverter c = normalize();
+            if (c instanceof AbstractConverter) {
+                ((AbstractConverter) c).convert(src, srcOff, dst, dstOff, len);
+            } else {
+                super.convert(src, srcOff, dst, dstOff, len);
+            }
+        }
+
+        /**
+         * Returns the compiled form of this converter; either the identity,
+         * a single step (typically an {@link AffineConverter}) or a flat
+         * sequence of stages with all linear steps folded together.
+         *
+         * @return a converter equivalent to this pair.
+         */
+        public UnitConverter normalize() {
+            UnitConverter c = compiled;
+            if (c == null) {
+                c = compile(getConversionSteps());
+                compiled = c;
+            }
+            return c;
+        }
+
+        private static UnitConverter compile(List<? extends UnitConverter> steps) {
+            final List<UnitConverter> stages = new ArrayList<UnitConverter>();
+            double scale = 1.0;
+            double offset = 0.0;
+            // Right-most step is applied first.
+            for (int i = steps.size() - 1; i >= 0; i--) {
+                final UnitConverter step = steps.get(i);
+                if (step.isIdentity()) {
+                    continue;
+                }
+                if (step instanceof AffineConverter) {
+                    final AffineConverter affine = (AffineConverter) step;
+                    scale *= affine.getScale();
+                    offset = offset * affine.getScale() + affine.getOffset();
+                } else if (step instanceof AddConverter) {
+                    offset += ((AddConverter) step).getOffset();
+                } else if (step.isLinear()) {
+                    final double factor = step.convert(1.0);
+                    scale *= factor;
+                    offset *= factor;
+                } else {
+                    if ((scale != 1.0) || (offset != 0.0)) {
+                        stages.add(AffineConverter.of(scale, offset));
+                        scale = 1.0;
+                        offset = 0.0;
+                    }
+                    stages.add(step);
+                }
+            }
+            if ((scale != 1.0) || (offset != 0.0)) {
+                stages.add(AffineConverter.of(scale, offset));
+            }
+            switch (stages.size()) {
+            case 0:
+                return IDENTITY;
+            case 1:
+                return stages.get(0);
+            default:
+                return new Chain(stages.toArray(new UnitConverter[stages.size()]));
+            }
         }
 
         @Override
@@ -234,4 +439,95 @@ public abstract class AbstractConverter implements UnitConverter {
 			return right;
 		}
     }
+
+    /**
+     * This class represents the compiled form of a {@link Pair}; a flat
+     * sequence of stages applied in order (first stage first).
+     */
+    private static final class Chain extends AbstractConverter {
+
+        /**
+         * Holds the stages, in order of application.
+         */
+        private final UnitConverter[] stages;
+
+        private Chain(UnitConverter[] stages) {
+            this.stages = stages;
+        }
+
+        public boolean isLinear() {
+            for (UnitConverter stage : stages) {
+                if (!stage.isLinear()) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public List<UnitConverter> getConversionSteps() {
+            final List<UnitConverter> steps = new ArrayList<UnitConverter>(stages.length);
+            for (int i = stages.length - 1; i >= 0; i--) {
+                steps.add(stages[i]);
+            }
+            return steps;
+        }
+
+        @Override
+        public Chain inverse() {
+            final UnitConverter[] inverses = new UnitConverter[stages.length];
+            for (int i = 0; i < stages.length; i++) {
+                inverses[stages.length - 1 - i] = stages[i].inverse();
+            }
+            return new Chain(inverses);
+        }
+
+        @Override
+        public double convert(double value) {
+            final UnitConverter[] s = stages;
+            for (int i = 0; i < s.length; i++) {
+                value = s[i].convert(value);
+            }
+            return value;
+        }
+
+        @Override
+        public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            checkRange(src.length, srcOff, len);
+            checkRange(dst.length, dstOff, len);
+            // First stage from source to destination, then in place.
+            for (int i = 0; i < stages.length; i++) {
+                final UnitConverter stage = stages[i];
+                final double[] from = (i == 0) ? src : dst;
+                final int fromOff = (i == 0) ? srcOff : dstOff;
+                if (stage instanceof AbstractConverter) {
+                    ((AbstractConverter) stage).convert(from, fromOff, dst, dstOff, len);
+                } else {
+                    for (int j = 0; j < len; j++) {
+                        dst[dstOff + j] = stage.convert(from[fromOff + j]);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+            // Intermediate results must not be rounded to float precision.
+            checkRange(src.length, srcOff, len);
+            checkRange(dst.length, dstOff, len);
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] = (float) convert((double) src[srcOff + i]);
+            }
+        }
+
+        @Override
+        public boolean equals(Object cvtr) {
+            if (this == cvtr) return true;
+            if (!(cvtr instanceof Chain)) return false;
+            return Arrays.equals(stages, ((Chain) cvtr).stages);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(stages);
+        }
+    }
 }
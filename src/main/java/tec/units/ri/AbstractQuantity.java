@@ -29,14 +29,11 @@
  */
 package tec.units.ri;
 
-import java.util.Comparator;
-
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.quantity.Dimensionless;
 
 import tec.units.ri.format.QuantityFormat;
-import tec.units.ri.function.NaturalOrder;
 import tec.units.ri.quantity.NumberQuantity;
 import tec.uom.lib.common.function.UnitSupplier;
 import tec.uom.lib.common.function.ValueSupplier;
@@ -191,11 +188,10 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements
 	 * @return a negative integer, zero, or a positive integer as this measure
 	 *         is less than, equal to, or greater than the specified Measurement
 	 *         quantity.
-     * @see {@link NaturalOrder}
+     * @see tec.units.ri.function.NaturalOrder
      */
 	public int compareTo(Quantity<Q> that) {
-        final Comparator<Quantity<Q>> comparator = new NaturalOrder<Q>();
-        return comparator.compare(this, that);
+        return Double.compare(doubleValue(), convertedValueOf(that));
 	}
 
 	/**
@@ -287,6 +283,51 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements
 
 	public abstract double doubleValue(Unit<Q> unit) throws ArithmeticException;
 
+	/**
+	 * Returns the value of this quantity as a <code>double</code> stated in
+	 * this quantity's unit. The default implementation returns
+	 * <code>getValue().doubleValue()</code>; quantities holding a primitive
+	 * value override this method to avoid boxing.
+	 *
+	 * @return the numeric value of this quantity as a <code>double</code>.
+	 */
+	public double doubleValue() {
+		return getValue().doubleValue();
+	}
+
+	/**
+	 * Returns the numeric value of the specified quantity as a
+	 * <code>double</code> (no conversion is performed). No boxing occurs if
+	 * the quantity is an {@link AbstractQuantity}.
+	 *
+	 * @param quantity
+	 *            the quantity.
+	 * @return the numeric value of the quantity stated in its own unit.
+	 */
+	public static double doubleValueOf(Quantity<?> quantity) {
+		return (quantity instanceof AbstractQuantity) ? ((AbstractQuantity<?>) quantity)
+				.doubleValue() : quantity.getValue().doubleValue();
+	}
+
+	/**
+	 * Returns the value of the specified quantity stated in this quantity's
+	 * unit. The (cached) unit converter is used only if the units differ, and
+	 * no intermediate quantity is created.
+	 *
+	 * @param that
+	 *            the quantity.
+	 * @return the numeric value of that quantity stated in this quantity's
+	 *         unit.
+	 */
+	protected final double convertedValueOf(Quantity<Q> that) {
+		final Unit<Q> thatUnit = that.getUnit();
+		final double value = doubleValueOf(that);
+		if ((thatUnit == unit) || thatUnit.equals(unit)) {
+			return value;
+		}
+		return thatUnit.getConverterTo(unit).convert(value);
+	}
+
 	protected long longValue(Unit<Q> unit) throws ArithmeticException {
 		double result = doubleValue(unit);
 		if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
@@ -41,6 +41,8 @@ import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.spi.SystemOfUnits;
 
+import tec.units.ri.internal.UnitRegistry;
+
 /**
  * <p>An abstract base class for unit systems.</p>
  *
@@ -52,9 +54,14 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
 			.getName());
 	
     /**
-     * Holds the units.
+     * Holds the units, indexed by identifier, dimension and symbol.
      */
-    protected final Set<Unit<?>> units = new HashSet<Unit<?>>();
+    private final UnitRegistry registry = new UnitRegistry();
+
+    /**
+     * Holds the units (units added to this set are indexed).
+     */
+    protected final Set<Unit<?>> units = registry;
 
     /**
      * Holds the mapping quantity to unit.
@@ -87,15 +94,47 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
         return units;
     }
 
+    /**
+     * Returns the units of the specified dimension; this is an index lookup.
+     *
+     * @param dimension the dimension of the units.
+     * @return an unmodifiable set (possibly empty).
+     */
     @Override
     public Set<? extends Unit<?>> getUnits(Dimension dimension) {
-        final Set<Unit<?>> set = new HashSet<Unit<?>>();
-        for (Unit<?> unit : this.getUnits()) {
-            if (dimension.equals(unit.getDimension())) {
-                set.add(unit);
-            }
-        }
-        return set;
+        return registry.getUnits(dimension);
+    }
+
+    /**
+     * Returns the first unit added to this system with the specified symbol.
+     *
+     * @param symbol the unit symbol.
+     * @return the corresponding unit or <code>null</code> if none.
+     */
+    public Unit<?> getUnit(String symbol) {
+        return registry.getUnit(symbol);
+    }
+
+    /**
+     * Returns the dense identifier (<code>0 &lt;= id &lt; getUnits().size()</code>)
+     * of a unit of this system; identifiers follow the registration order.
+     *
+     * @param unit the unit.
+     * @return the unit identifier or <code>-1</code> if the unit does not belong to this system.
+     */
+    public int getUnitId(Unit<?> unit) {
+        return registry.getId(unit);
+    }
+
+    /**
+     * Returns the unit of this system having the specified identifier.
+     *
+     * @param id the unit identifier.
+     * @return the corresponding unit.
+     * @throws IndexOutOfBoundsException if <code>id</code> is not a valid identifier.
+     */
+    public Unit<?> getUnit(int id) {
+        return registry.getUnit(id);
     }
     
     @SuppressWarnings("unchecked")
@@ -152,6 +191,10 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
 	protected static class Helper {
 		static Set<Unit<?>> getUnitsOfDimension(final Set<Unit<?>> units, 
 				Dimension dimension) {
+			if (units instanceof UnitRegistry) {
+				return (dimension != null) ? new HashSet<Unit<?>>(
+						((UnitRegistry) units).getUnits(dimension)) : null;
+			}
 			if (dimension != null) {
 				Set<Unit<?>>dimSet = new HashSet<Unit<?>>();
 				for (Unit<?> u : units) {
@@ -43,6 +43,7 @@ import tec.units.ri.format.SimpleUnitFormat;
 import tec.units.ri.function.AddConverter;
 import tec.units.ri.function.MultiplyConverter;
 import tec.units.ri.function.RationalConverter;
+import tec.units.ri.internal.ConverterCache;
 import tec.units.ri.quantity.QuantityDimension;
 import tec.units.ri.spi.DimensionalModel;
 import tec.units.ri.unit.AlternateUnit;
@@ -298,10 +299,26 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q> {
 		this.symbol = s;
 	}
 
+	/**
+	 * Returns a converter of numeric values from this unit to another unit of
+	 * same type. Converters are cached (see {@link ConverterCache}), repeated
+	 * calls for the same units return the same converter instance.
+	 *
+	 * @param that
+	 *            the unit of same type to which to convert the numeric values.
+	 * @return the converter from this unit to <code>that</code> unit.
+	 * @throws UnconvertibleException
+	 *             if the converter cannot be constructed.
+	 */
 	public final UnitConverter getConverterTo(Unit<Q> that)
 			throws UnconvertibleException {
 		if ((this == that) || this.equals(that))
 			return AbstractConverter.IDENTITY; // Shortcut.
+		final ConverterCache cache = ConverterCache.getInstance();
+		UnitConverter converter = cache.get(this, that);
+		if (converter != null)
+			return converter;
+		final int generation = cache.getGeneration();
 		Unit<Q> thisSystemUnit = this.getSystemUnit();
 		Unit<Q> thatSystemUnit = that.getSystemUnit();
 		if (!thisSystemUnit.equals(thatSystemUnit))
@@ -312,12 +329,33 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q> {
 			}
 		UnitConverter thisToSI = this.getSystemConverter();
 		UnitConverter thatToSI = that.getConverterTo(thatSystemUnit);
-		return thatToSI.inverse().concatenate(thisToSI);
+		converter = thatToSI.inverse().concatenate(thisToSI);
+		return cache.put(this, that, converter, generation);
 	}
 
+	/**
+	 * Returns a converter from this unit to the specified unit of type unknown.
+	 * Converters are cached (see {@link ConverterCache}) until the current
+	 * {@link DimensionalModel} changes.
+	 *
+	 * @param that
+	 *            the unit to which to convert the numeric values.
+	 * @return the converter from this unit to <code>that</code> unit.
+	 * @throws IncommensurableException
+	 *             if this unit is not compatible with <code>that</code> unit.
+	 * @throws UnconvertibleException
+	 *             if the converter cannot be constructed.
+	 */
 	@SuppressWarnings("rawtypes")
 	public final UnitConverter getConverterToAny(Unit<?> that)
 			throws IncommensurableException, UnconvertibleException {
+		if (this == that)
+			return AbstractConverter.IDENTITY; // Shortcut.
+		final ConverterCache cache = ConverterCache.getInstance();
+		final UnitConverter converter = cache.get(this, that);
+		if (converter != null)
+			return converter;
+		final int generation = cache.getGeneration();
 		if (!isCompatible(that))
 			throw new IncommensurableException(this
 					+ " is not compatible with " + that);
@@ -334,7 +372,9 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q> {
 		UnitConverter thatToDimension = model.getDimensionalTransform(
 				thatSystemUnit.getDimension()).concatenate(
 				thatAbstr.getSystemConverter());
-		return thatToDimension.inverse().concatenate(thisToDimension);
+		return cache.put(this, that,
+				thatToDimension.inverse().concatenate(thisToDimension),
+				generation);
 	}
 
 	@Override
@@ -477,8 +517,10 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q> {
 	 * @return the result of raising this unit to the exponent.
 	 */
 	public final Unit<?> pow(int n) {
-		if (n > 0)
-			return this.multiply(this.pow(n - 1));
+		if (n == 1)
+			return this;
+		else if (n > 0)
+			return ProductUnit.getPowInstance(this, n);
 		else if (n == 0)
 			return ONE;
 		else
@@ -85,6 +85,12 @@ public abstract class AbstractUnitFormat implements UnitFormat {
 	 *                if the Format cannot format the given object
 	 */
 	public final String format(Unit<?> unit) {
+		return formatToString(unit);
+	}
+
+	// Formats the specified unit to a new string (overridden by the formats
+	// caching their symbols).
+	String formatToString(Unit<?> unit) {
 		if (unit instanceof AbstractUnit) {
 			return format((AbstractUnit<?>) unit, new StringBuilder())
 					.toString();
@@ -0,0 +1,155 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * An immutable snapshot of the labels and aliases of a
+ * {@link SimpleUnitFormat}.
+ * </p>
+ * 
+ * <p>
+ * A format publishes its current registry through a volatile field: readers
+ * (formatting and parsing) never lock, and writers build a new registry from
+ * a {@link Builder} and replace the previous one in a single step, so a
+ * partially registered set of labels is never visible.
+ * </p>
+ *
+ * @version 0.1
+ */
+final class LabelRegistry {
+
+	/**
+	 * Holds the empty registry.
+	 */
+	static final LabelRegistry EMPTY = new LabelRegistry(new HashMap<Unit<?>, String>(), SymbolTrie.EMPTY);
+
+	/**
+	 * Holds the unit to label mapping (never modified once published).
+	 */
+	private final Map<Unit<?>, String> unitToName;
+
+	/**
+	 * Holds the label and alias to unit mapping.
+	 */
+	private final SymbolTrie nameToUnit;
+
+	private LabelRegistry(Map<Unit<?>, String> unitToName, SymbolTrie nameToUnit) {
+		this.unitToName = unitToName;
+		this.nameToUnit = nameToUnit;
+	}
+
+	/**
+	 * Returns the label of the specified unit.
+	 * 
+	 * @param unit
+	 *            the unit.
+	 * @return the label or <code>null</code> if none.
+	 */
+	String nameFor(Unit<?> unit) {
+		return unitToName.get(unit);
+	}
+
+	/**
+	 * Returns the unit for the label or alias held by the characters of
+	 * <code>csq</code> from <code>start</code> (inclusive) to <code>end</code>
+	 * (exclusive).
+	 * 
+	 * @return the corresponding unit or <code>null</code> if none.
+	 */
+	Unit<?> unitFor(CharSequence csq, int start, int end) {
+		return nameToUnit.get(csq, start, end);
+	}
+
+	/**
+	 * Returns the number of labels and aliases in this registry.
+	 * 
+	 * @return the number of names.
+	 */
+	int size() {
+		return nameToUnit.size();
+	}
+
+	/**
+	 * Returns a builder initialized with the content of this registry.
+	 * 
+	 * @return a new builder.
+	 */
+	Builder builder() {
+		return new Builder(this);
+	}
+
+	/**
+	 * Accumulates labels and aliases on top of an existing registry. Builders
+	 * are not thread-safe.
+	 */
+	static final class Builder {
+
+		private final HashMap<Unit<?>, String> unitToName;
+
+		private SymbolTrie nameToUnit;
+
+		private Builder(LabelRegistry base) {
+			this.unitToName = new HashMap<Unit<?>, String>(base.unitToName);
+			this.nameToUnit = base.nameToUnit;
+		}
+
+		/**
+		 * Labels the specified unit; the label becomes the name used for
+		 * formatting that unit.
+		 */
+		Builder label(Unit<?> unit, String label) {
+			unitToName.put(unit, label);
+			nameToUnit = nameToUnit.put(label, unit);
+			return this;
+		}
+
+		/**
+		 * Attaches an alias (used for parsing only) to the specified unit.
+		 */
+		Builder alias(Unit<?> unit, String alias) {
+			nameToUnit = nameToUnit.put(alias, unit);
+			return this;
+		}
+
+		/**
+		 * Returns the registry holding the labels and aliases accumulated so
+		 * far.
+		 */
+		LabelRegistry build() {
+			return new LabelRegistry(new HashMap<Unit<?>, String>(unitToName), nameToUnit);
+		}
+	}
+}
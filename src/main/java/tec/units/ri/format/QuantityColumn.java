@@ -0,0 +1,263 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.util.Arrays;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.units.ri.quantity.NumberQuantity;
+
+/**
+ * <p>
+ * A column of quantities held as a primitive <code>double</code> array, with
+ * their units run-length encoded: consecutive quantities stated in the same
+ * unit form a single run.
+ * </p>
+ * 
+ * <p>
+ * A column is a {@link QuantityStreamParser.Handler}, so it can be filled
+ * directly by a {@link QuantityStreamParser}; invalid records then raise a
+ * {@link javax.measure.format.ParserException}. Instances are not
+ * thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantityColumn extends QuantityStreamParser.Handler {
+
+	private double[] values;
+
+	private int size;
+
+	private Unit<?>[] runUnits = new Unit<?>[4];
+
+	// Holds the index following the last value of each run.
+	private int[] runEnds = new int[4];
+
+	private int runCount;
+
+	/**
+	 * Creates an empty column.
+	 */
+	public QuantityColumn() {
+		this(64);
+	}
+
+	/**
+	 * Creates an empty column with the specified initial capacity.
+	 * 
+	 * @param capacity
+	 *            the initial number of values.
+	 */
+	public QuantityColumn(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Negative capacity: " + capacity);
+		values = new double[capacity];
+	}
+
+	@Override
+	public void quantity(double value, Unit<?> unit) {
+		add(value, unit);
+	}
+
+	/**
+	 * Appends a quantity to this column.
+	 * 
+	 * @param value
+	 *            the value of the quantity.
+	 * @param unit
+	 *            the unit of the quantity.
+	 */
+	public void add(double value, Unit<?> unit) {
+		if (unit == null)
+			throw new NullPointerException();
+		if (size == values.length) {
+			values = Arrays.copyOf(values, Math.max(16, 2 * size));
+		}
+		values[size++] = value;
+		if ((runCount > 0) && ((runUnits[runCount - 1] == unit)
+				|| runUnits[runCount - 1].equals(unit))) {
+			runEnds[runCount - 1] = size;
+			return;
+		}
+		if (runCount == runUnits.length) {
+			runUnits = Arrays.copyOf(runUnits, 2 * runCount);
+			runEnds = Arrays.copyOf(runEnds, 2 * runCount);
+		}
+		runUnits[runCount] = unit;
+		runEnds[runCount++] = size;
+	}
+
+	/**
+	 * Returns the number of quantities in this column.
+	 * 
+	 * @return the number of quantities.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the value of the quantity at the specified index.
+	 * 
+	 * @param index
+	 *            the index of the quantity.
+	 * @return the value of the quantity.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>index</code> is out of range.
+	 */
+	public double getValue(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Returns the unit of the quantity at the specified index.
+	 * 
+	 * @param index
+	 *            the index of the quantity.
+	 * @return the unit of the quantity.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>index</code> is out of range.
+	 */
+	public Unit<?> getUnit(int index) {
+		checkIndex(index);
+		return runUnits[getRun(index)];
+	}
+
+	/**
+	 * Returns the quantity at the specified index.
+	 * 
+	 * @param index
+	 *            the index of the quantity.
+	 * @return the corresponding quantity.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>index</code> is out of range.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Quantity<?> getQuantity(int index) {
+		return NumberQuantity.of(getValue(index), (Unit) getUnit(index));
+	}
+
+	/**
+	 * Returns the number of runs of quantities stated in the same unit.
+	 * 
+	 * @return the number of runs.
+	 */
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * Returns the index of the first quantity of the specified run.
+	 * 
+	 * @param run
+	 *            the index of the run.
+	 * @return the index of its first quantity.
+	 */
+	public int getRunStart(int run) {
+		checkRun(run);
+		return (run == 0) ? 0 : runEnds[run - 1];
+	}
+
+	/**
+	 * Returns the index following the last quantity of the specified run.
+	 * 
+	 * @param run
+	 *            the index of the run.
+	 * @return the index following its last quantity.
+	 */
+	public int getRunEnd(int run) {
+		checkRun(run);
+		return runEnds[run];
+	}
+
+	/**
+	 * Returns the unit of the quantities of the specified run.
+	 * 
+	 * @param run
+	 *            the index of the run.
+	 * @return the unit of the run.
+	 */
+	public Unit<?> getRunUnit(int run) {
+		checkRun(run);
+		return runUnits[run];
+	}
+
+	/**
+	 * Returns a copy of the values of this column.
+	 * 
+	 * @return the values, in order.
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Removes all the quantities of this column (its capacity is kept).
+	 */
+	public void clear() {
+		Arrays.fill(runUnits, 0, runCount, null);
+		size = 0;
+		runCount = 0;
+	}
+
+	// Returns the values without copy (only the first size() are used).
+	double[] getValues() {
+		return values;
+	}
+
+	// Returns the run of the quantity at the specified index.
+	int getRun(int index) {
+		int low = 0;
+		int high = runCount - 1;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (runEnds[mid] <= index) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void checkIndex(int index) {
+		if ((index < 0) || (index >= size))
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+
+	private void checkRun(int run) {
+		if ((run < 0) || (run >= runCount))
+			throw new IndexOutOfBoundsException("Run: " + run + ", Runs: " + runCount);
+	}
+}
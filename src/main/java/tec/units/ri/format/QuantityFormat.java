@@ -38,8 +38,11 @@ import javax.measure.format.UnitFormat;
 
 import tec.units.ri.AbstractQuantity;
 import tec.units.ri.AbstractUnit;
+import tec.units.ri.internal.format.NumberParser;
+import tec.units.ri.internal.format.ShortestDigits;
 import tec.units.ri.internal.format.l10n.DecimalFormat;
-import tec.units.ri.internal.format.l10n.NumberFormat;
+import tec.units.ri.internal.format.l10n.FieldPosition;
+import tec.units.ri.internal.format.l10n.ParsePosition;
 import tec.units.ri.quantity.NumberQuantity;
 import tec.units.ri.unit.Units;
 import tec.uom.lib.common.function.Parser;
@@ -71,13 +74,19 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 	 * Holds the default format instance.
 	 */
 	private static final NumberSpaceUnit DEFAULT = new NumberSpaceUnit(
-			NumberFormat.getInstance(), SimpleUnitFormat.getInstance());
+			SimpleUnitFormat.getInstance(), false);
 	
 	/**
 	 * Holds the default format instance.
 	 */
 	private static final NumberSpaceUnit EBNF = new NumberSpaceUnit(
-			NumberFormat.getInstance(), SimpleUnitFormat.getInstance());
+			SimpleUnitFormat.getInstance(), false);
+
+	/**
+	 * Holds the default format instance writing the shortest digits.
+	 */
+	private static final NumberSpaceUnit SHORTEST = new NumberSpaceUnit(
+			SimpleUnitFormat.getInstance(), true);
 
 	/**
 	 * Holds the standard format instance.
@@ -95,6 +104,22 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 		return DEFAULT;
 	}
 
+	/**
+	 * Returns a quantity format with the same layout as the
+	 * {@link #getInstance() default format}, writing <code>Double</code>,
+	 * <code>Long</code> and <code>Integer</code> values directly from the
+	 * shortest decimal digits which read back to the same value. The output is
+	 * identical to the default format on Java 19 and later; on earlier
+	 * versions, where <code>Double.toString</code> may produce extra digits
+	 * (e.g. <code>9.999999999999999E22</code> for <code>1.0E23</code>), this
+	 * format writes the shorter value.
+	 * 
+	 * @return the default format using shortest round-trip digits.
+	 */
+	public static QuantityFormat getShortestInstance() {
+		return SHORTEST;
+	}
+
 	/**
 	 * Formats the specified quantity into an <code>Appendable</code>.
 	 * 
@@ -249,6 +274,9 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 	}
 
 	static int getFractionDigitsCount(double d) {
+	    if (Double.isNaN(d) || Double.isInfinite(d) || Math.abs(d) >= 0x1p53) {
+	        return 0; // no fraction (counting would never end)
+	    }
 	    if (d >= 1) { //we only need the fraction digits
 	        d = d - (long) d;
 	    }
@@ -263,16 +291,66 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 	    }
 	    return count;
 	}
+
+	/**
+	 * Parses a number followed by an optional unit (separated by whitespaces)
+	 * in a single pass. A literal without fraction nor exponent results in a
+	 * <code>long</code> quantity, any other in a <code>double</code> quantity.
+	 * When the unit format is a {@link AbstractUnitFormat} the unit is parsed
+	 * in place, so that nothing but the quantity is allocated if the unit
+	 * string has already been seen.
+	 */
+	@SuppressWarnings("unchecked")
+	static AbstractQuantity<?> parseQuantity(CharSequence csq,
+			NumberParser numberParser, ParsePosition pos, UnitFormat unitFormat)
+			throws ParserException {
+		final int length = csq.length();
+		int index = pos.getIndex();
+		while ((index < length) && Character.isWhitespace(csq.charAt(index))) {
+			index++;
+		}
+		pos.setIndex(index);
+		if (!numberParser.parse(csq, pos))
+			throw new ParserException("Number cannot be parsed", csq,
+					pos.getErrorIndex());
+		index = pos.getIndex();
+		while ((index < length) && Character.isWhitespace(csq.charAt(index))) {
+			index++;
+		}
+		final Unit unit;
+		if (index == length) {
+			unit = AbstractUnit.ONE;
+		} else if (unitFormat instanceof AbstractUnitFormat) {
+			unit = ((AbstractUnitFormat) unitFormat).parse(csq, index);
+		} else {
+			unit = unitFormat.parse(csq.subSequence(index, length));
+		}
+		pos.setIndex(length);
+		return numberParser.isDouble() ? NumberQuantity.of(
+				numberParser.doubleValue(), unit) : NumberQuantity.of(
+				numberParser.longValue(), unit);
+	}
 	
 	// Holds default implementation.
 	private static final class NumberSpaceUnit extends QuantityFormat {
-		private final DecimalFormat decimalFormat = new DecimalFormat();
-		
+		/**
+		 * Holds the number format of each thread (decimal formats are not
+		 * thread-safe and their fraction digits are set per value).
+		 */
+		private final ThreadLocal<LocalNumberFormat> numberFormat = new ThreadLocal<LocalNumberFormat>() {
+			@Override
+			protected LocalNumberFormat initialValue() {
+				return new LocalNumberFormat();
+			}
+		};
+
 		private final UnitFormat unitFormat;
 
-		private NumberSpaceUnit(NumberFormat numberFormat, UnitFormat unitFormat) {
-			//			decimalFormat.applyPattern("#,#0.0000##");
+		private final boolean shortest;
+
+		private NumberSpaceUnit(UnitFormat unitFormat, boolean shortest) {
 			this.unitFormat = unitFormat;
+			this.shortest = shortest;
 		}
 
 		@Override
@@ -284,14 +362,22 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 			// (CompoundUnit) unit, dest);
 			// else {
 			//dest.append(numberFormat.format(quantity.getValue()));
+			final Number value = quantity.getValue();
 			int fract = 0;
-			if (quantity != null && quantity.getValue() != null) {
-				fract = getFractionDigitsCount(quantity.getValue().doubleValue());
+			if (value != null) {
+				fract = getFractionDigitsCount(value.doubleValue());
 			}
-			if (fract > 1) {
-				decimalFormat.setMaximumFractionDigits(fract + 1);
+			final LocalNumberFormat local = numberFormat.get();
+			final int maximumFractionDigits = (fract > 1) ? fract + 1
+					: local.maximumFractionDigits;
+			if (!shortest
+					|| !local.appendShortest(value, maximumFractionDigits, dest)) {
+				local.decimalFormat.setMaximumFractionDigits(maximumFractionDigits);
+				final StringBuffer buffer = local.buffer;
+				buffer.setLength(0);
+				local.decimalFormat.format(value, buffer, local.position);
+				dest.append(buffer);
 			}
-			dest.append(decimalFormat.format(quantity.getValue()));
 			if (quantity.getUnit().equals(AbstractUnit.ONE))
 				return dest;
 			dest.append(' ');
@@ -299,25 +385,14 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 			// }
 		}
 
-		@SuppressWarnings("unchecked")
 		@Override
 		AbstractQuantity<?> parse(CharSequence csq, int index)
 				throws IllegalArgumentException, ParserException {
-			String str = csq.toString();
-//			Number number = parseFormat.parse(str); // TODO combine with NumberFormat
-			Number number = null; //FIXME
-			if (number == null)
-				throw new IllegalArgumentException("Number cannot be parsed");
-			Unit unit = unitFormat.parse(csq);
-			if (number instanceof Long)
-				return NumberQuantity.of(number.longValue(), unit);
-			else if (number instanceof Double)
-				return NumberQuantity.of(number.doubleValue(), unit);
-			else if (number instanceof Integer)
-				return NumberQuantity.of(number.intValue(), unit);
-			else
-				throw new UnsupportedOperationException("Number of type "
-						+ number.getClass() + " are not supported");
+			final LocalNumberFormat local = numberFormat.get();
+			final ParsePosition pos = local.parsePosition;
+			pos.setIndex(index);
+			pos.setErrorIndex(-1);
+			return parseQuantity(csq, local.numberParser, pos, unitFormat);
 		}
 
 		public AbstractQuantity<?> parse(CharSequence csq)
@@ -329,6 +404,62 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 
 	}
 
+	// Holds the number format state confined to one thread.
+	private static final class LocalNumberFormat {
+		final DecimalFormat decimalFormat = new DecimalFormat();
+
+		final int maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+
+		final StringBuffer buffer = new StringBuffer();
+
+		final FieldPosition position = new FieldPosition(0);
+
+		final ShortestDigits digits = new ShortestDigits();
+
+		final StringBuilder builder = new StringBuilder();
+
+		final NumberParser numberParser = new NumberParser(true);
+
+		final ParsePosition parsePosition = new ParsePosition(0);
+
+		/**
+		 * Appends the specified value in the layout of the decimal format,
+		 * using the shortest digits which round-trip for doubles. Returns
+		 * <code>false</code> (nothing appended) for NaN, infinities and
+		 * numbers which are not <code>Double</code>, <code>Long</code> or
+		 * <code>Integer</code>.
+		 */
+		boolean appendShortest(Number value, int maximumFractionDigits,
+				Appendable dest) throws IOException {
+			final boolean isNegative;
+			if (value instanceof Double) {
+				final double d = value.doubleValue();
+				if (Double.isNaN(d) || Double.isInfinite(d))
+					return false;
+				isNegative = (d < 0.0) || ((d == 0.0) && (1 / d < 0.0));
+				digits.set(d).round(maximumFractionDigits);
+			} else if ((value instanceof Long) || (value instanceof Integer)) {
+				final long l = value.longValue();
+				isNegative = l < 0;
+				digits.set(l);
+			} else {
+				return false;
+			}
+			if (dest instanceof StringBuilder) {
+				final StringBuilder sb = (StringBuilder) dest;
+				if (isNegative)
+					sb.append('-');
+				digits.appendTo(sb, true);
+			} else {
+				builder.setLength(0);
+				if (isNegative)
+					builder.append('-');
+				dest.append(digits.appendTo(builder, true));
+			}
+			return true;
+		}
+	}
+
 	// Holds standard implementation.
 	private static final class Standard extends QuantityFormat {
 
@@ -337,6 +468,17 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 		 */
 		// private static final long serialVersionUID = 2758248665095734058L;
 
+		/**
+		 * Holds the number parser of each thread (numbers are formatted
+		 * without grouping).
+		 */
+		private final ThreadLocal<NumberParser> numberParser = new ThreadLocal<NumberParser>() {
+			@Override
+			protected NumberParser initialValue() {
+				return new NumberParser(false);
+			}
+		};
+
 		@Override
 		public Appendable format(Quantity q, Appendable dest)
 				throws IOException {
@@ -361,26 +503,11 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
 			// }
 		}
 
-		@SuppressWarnings("unchecked")
 		@Override
 		AbstractQuantity<?> parse(CharSequence csq, int index)
 				throws ParserException {
-			int startDecimal = index; // cursor.getIndex();
-			while ((startDecimal < csq.length())
-					&& Character.isWhitespace(csq.charAt(startDecimal))) {
-				startDecimal++;
-			}
-			int endDecimal = startDecimal + 1;
-			while ((endDecimal < csq.length())
-					&& !Character.isWhitespace(csq.charAt(endDecimal))) {
-				endDecimal++;
-			}
-			Double decimal = new Double(csq.subSequence(startDecimal,
-					endDecimal).toString());
-			// cursor.setIndex(endDecimal + 1);
-			//Unit unit = EBNFUnitFormat.getInstance().parse(csq, index);
-			Unit unit = SimpleUnitFormat.getInstance().parse(csq, index);
-			return NumberQuantity.of(decimal.doubleValue(), unit);
+			return parseQuantity(csq, numberParser.get(), new ParsePosition(
+					index), SimpleUnitFormat.getInstance());
 		}
 
 		public AbstractQuantity<?> parse(CharSequence csq)
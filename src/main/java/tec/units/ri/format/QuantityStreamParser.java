@@ -0,0 +1,439 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.internal.format.NumberParser;
+import tec.units.ri.internal.format.l10n.ParsePosition;
+
+/**
+ * <p>
+ * Parses a stream of <code>value unit</code> records, one per line, directly
+ * from a {@link Reader}, a {@link CharBuffer} or a (possibly memory-mapped)
+ * {@link ByteBuffer} holding UTF-8 text, without creating a
+ * <code>String</code> per record.
+ * </p>
+ * 
+ * <p>
+ * Each record is a number (see {@link QuantityFormat}, without grouping)
+ * optionally followed by a unit; blank lines are ignored. The values are
+ * passed to a {@link Handler} as primitive <code>double</code>s together with
+ * their unit, for example a {@link QuantityColumn}. A unit is only parsed when
+ * its text differs from the one of the previous record, so runs of records
+ * stated in the same unit share the same unit instance.
+ * </p>
+ * 
+ * <p>
+ * Errors are reported to the handler with their offset from the start of the
+ * input: in bytes for a <code>ByteBuffer</code>, in characters otherwise. By
+ * default the handler throws a {@link ParserException}. Instances are not
+ * thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantityStreamParser {
+
+	/**
+	 * Receives the quantities read by a {@link QuantityStreamParser}.
+	 */
+	public static abstract class Handler {
+
+		/**
+		 * Called for each record successfully parsed.
+		 * 
+		 * @param value
+		 *            the value of the quantity.
+		 * @param unit
+		 *            the unit of the quantity.
+		 */
+		public abstract void quantity(double value, Unit<?> unit);
+
+		/**
+		 * Called for each record which cannot be parsed. The default
+		 * implementation throws a {@link ParserException}; handlers may
+		 * override it to skip or collect invalid records.
+		 * 
+		 * @param message
+		 *            the error message.
+		 * @param offset
+		 *            the offset of the error from the start of the input.
+		 * @throws ParserException
+		 *             to stop parsing.
+		 */
+		public void error(String message, long offset) throws ParserException {
+			throw new ParserException(message + " (at offset " + offset + ")",
+					(int) Math.min(offset, Integer.MAX_VALUE));
+		}
+	}
+
+	private static final int CHUNK_SIZE = 8192;
+
+	// The minimum code point of a valid UTF-8 sequence by continuation bytes.
+	private static final int[] MIN_CODE_POINT = { 0, 0x80, 0x800, 0x10000 };
+
+	private final AbstractUnitFormat unitFormat;
+
+	private final NumberParser numberParser = new NumberParser(false);
+
+	private final ParsePosition pos = new ParsePosition(0);
+
+	// Holds the characters of the current record.
+	private final Record record = new Record();
+
+	// Holds the text and the unit of the previous record.
+	private char[] lastText = new char[16];
+
+	private int lastLength = -1;
+
+	private Unit<?> lastUnit;
+
+	// Set when reading bytes, to convert character indices to byte offsets.
+	private boolean isUtf8;
+
+	/**
+	 * Creates a parser using the {@link SimpleUnitFormat#getInstance() default}
+	 * unit format.
+	 */
+	public QuantityStreamParser() {
+		this(SimpleUnitFormat.getInstance());
+	}
+
+	/**
+	 * Creates a parser using the specified unit format.
+	 * 
+	 * @param unitFormat
+	 *            the unit format.
+	 */
+	public QuantityStreamParser(AbstractUnitFormat unitFormat) {
+		if (unitFormat == null)
+			throw new NullPointerException();
+		this.unitFormat = unitFormat;
+	}
+
+	/**
+	 * Parses all the records of the specified reader (which is not closed).
+	 * 
+	 * @param reader
+	 *            the characters to parse.
+	 * @param handler
+	 *            the handler receiving the quantities and errors.
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 * @throws ParserException
+	 *             if thrown by the handler.
+	 */
+	public void parse(Reader reader, Handler handler) throws IOException,
+			ParserException {
+		reset(false);
+		final char[] chunk = new char[CHUNK_SIZE];
+		long offset = 0;
+		int n;
+		while ((n = reader.read(chunk, 0, chunk.length)) >= 0) {
+			offset = append(chunk, n, offset, handler);
+		}
+		flush(offset, handler);
+	}
+
+	/**
+	 * Parses all the remaining records of the specified buffer. The position
+	 * of the buffer is moved to its limit.
+	 * 
+	 * @param buffer
+	 *            the characters to parse.
+	 * @param handler
+	 *            the handler receiving the quantities and errors.
+	 * @throws ParserException
+	 *             if thrown by the handler.
+	 */
+	public void parse(CharBuffer buffer, Handler handler)
+			throws ParserException {
+		reset(false);
+		final char[] chunk = new char[Math.min(CHUNK_SIZE, buffer.remaining())];
+		long offset = 0;
+		while (buffer.hasRemaining()) {
+			final int n = Math.min(chunk.length, buffer.remaining());
+			buffer.get(chunk, 0, n);
+			offset = append(chunk, n, offset, handler);
+		}
+		flush(offset, handler);
+	}
+
+	/**
+	 * Parses all the remaining records of the specified buffer holding UTF-8
+	 * (or ASCII) text, typically a memory-mapped file. The position of the
+	 * buffer is moved to its limit. Offsets are in bytes from the initial
+	 * position of the buffer.
+	 * 
+	 * @param buffer
+	 *            the bytes to parse.
+	 * @param handler
+	 *            the handler receiving the quantities and errors.
+	 * @throws ParserException
+	 *             if thrown by the handler.
+	 */
+	public void parse(ByteBuffer buffer, Handler handler)
+			throws ParserException {
+		reset(true);
+		final int base = buffer.position();
+		final int limit = buffer.limit();
+		long recordOffset = 0;
+		int malformed = -1; // Index of the first malformed byte of the record.
+		int i = base;
+		while (i < limit) {
+			final int b = buffer.get(i);
+			if (b >= 0) { // ASCII
+				i++;
+				if (b == '\n') {
+					if (malformed >= 0) {
+						handler.error("Malformed UTF-8 input", malformed - base);
+					} else {
+						parseRecord(recordOffset, handler);
+					}
+					record.length = 0;
+					malformed = -1;
+					recordOffset = i - base;
+				} else {
+					record.append((char) b);
+				}
+				continue;
+			}
+			final int start = i;
+			int n; // Number of continuation bytes.
+			int cp;
+			if ((b & 0xE0) == 0xC0) {
+				n = 1;
+				cp = b & 0x1F;
+			} else if ((b & 0xF0) == 0xE0) {
+				n = 2;
+				cp = b & 0x0F;
+			} else if ((b & 0xF8) == 0xF0) {
+				n = 3;
+				cp = b & 0x07;
+			} else {
+				n = -1;
+				cp = 0;
+			}
+			i++;
+			for (int k = 0; k < n; k++) {
+				if ((i >= limit) || ((buffer.get(i) & 0xC0) != 0x80)) {
+					n = -1;
+					break;
+				}
+				cp = (cp << 6) | (buffer.get(i++) & 0x3F);
+			}
+			if ((n < 0) || (cp < MIN_CODE_POINT[n])
+					|| (cp > Character.MAX_CODE_POINT)
+					|| ((cp >= Character.MIN_SURROGATE) && (cp <= Character.MAX_SURROGATE))) {
+				if (malformed < 0) {
+					malformed = start;
+				}
+				continue;
+			}
+			if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+				record.append((char) cp);
+			} else {
+				record.append(Character.highSurrogate(cp));
+				record.append(Character.lowSurrogate(cp));
+			}
+		}
+		buffer.position(limit);
+		if (malformed >= 0) {
+			handler.error("Malformed UTF-8 input", malformed - base);
+		} else {
+			parseRecord(recordOffset, handler);
+		}
+	}
+
+	private void reset(boolean isUtf8) {
+		this.isUtf8 = isUtf8;
+		record.length = 0;
+		lastLength = -1;
+		lastUnit = null;
+	}
+
+	// Appends characters, parsing every complete record; returns the offset
+	// of the current (incomplete) record.
+	private long append(char[] chars, int n, long offset, Handler handler)
+			throws ParserException {
+		final long chunkOffset = offset + record.length;
+		for (int i = 0; i < n; i++) {
+			final char c = chars[i];
+			if (c == '\n') {
+				parseRecord(offset, handler);
+				record.length = 0;
+				offset = chunkOffset + i + 1;
+			} else {
+				record.append(c);
+			}
+		}
+		return offset;
+	}
+
+	private void flush(long offset, Handler handler) throws ParserException {
+		parseRecord(offset, handler);
+		record.length = 0;
+	}
+
+	private void parseRecord(long offset, Handler handler)
+			throws ParserException {
+		final char[] chars = record.chars;
+		int end = record.length;
+		while ((end > 0) && Character.isWhitespace(chars[end - 1])) {
+			end--;
+		}
+		int start = 0;
+		while ((start < end) && Character.isWhitespace(chars[start])) {
+			start++;
+		}
+		if (start == end)
+			return; // Blank line.
+		record.length = end;
+		pos.setIndex(start);
+		pos.setErrorIndex(-1);
+		if (!numberParser.parse(record, pos)) {
+			handler.error("Number cannot be parsed",
+					offset + offsetOf(pos.getErrorIndex()));
+			return;
+		}
+		int unitStart = pos.getIndex();
+		while ((unitStart < end) && Character.isWhitespace(chars[unitStart])) {
+			unitStart++;
+		}
+		final Unit<?> unit = unitFor(unitStart, end);
+		if (unit == null) {
+			handler.error("Unit cannot be parsed", offset + offsetOf(unitStart));
+			return;
+		}
+		handler.quantity(numberParser.doubleValue(), unit);
+	}
+
+	// Returns the unit of the record characters from start to end (the record
+	// length), or null if it cannot be parsed.
+	private Unit<?> unitFor(int start, int end) {
+		final int length = end - start;
+		if (length == lastLength) {
+			final char[] chars = record.chars;
+			int i = 0;
+			while ((i < length) && (chars[start + i] == lastText[i])) {
+				i++;
+			}
+			if (i == length)
+				return lastUnit;
+		}
+		Unit<?> unit;
+		if (length == 0) {
+			unit = AbstractUnit.ONE;
+		} else {
+			try {
+				unit = unitFormat.parse(record, start);
+			} catch (ParserException e) {
+				return null;
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+		if (lastText.length < length) {
+			lastText = new char[Math.max(length, 2 * lastText.length)];
+		}
+		System.arraycopy(record.chars, start, lastText, 0, length);
+		lastLength = length;
+		lastUnit = unit;
+		return unit;
+	}
+
+	// Returns the offset of the specified character of the current record
+	// from the start of the record (in bytes when reading UTF-8).
+	private int offsetOf(int index) {
+		if (!isUtf8)
+			return index;
+		final char[] chars = record.chars;
+		int offset = 0;
+		for (int i = 0; i < index; i++) {
+			final char c = chars[i];
+			if (c < 0x80) {
+				offset += 1;
+			} else if (c < 0x800) {
+				offset += 2;
+			} else if (Character.isSurrogate(c)) {
+				offset += 2; // Four bytes per surrogate pair.
+			} else {
+				offset += 3;
+			}
+		}
+		return offset;
+	}
+
+	// The characters of a record, exposed without copy to the parsers.
+	private static final class Record implements CharSequence {
+
+		char[] chars = new char[128];
+
+		int length;
+
+		void append(char c) {
+			if (length == chars.length) {
+				final char[] tmp = new char[2 * length];
+				System.arraycopy(chars, 0, tmp, 0, length);
+				chars = tmp;
+			}
+			chars[length++] = c;
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			if (index >= length)
+				throw new IndexOutOfBoundsException();
+			return chars[index];
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			if ((start < 0) || (end > length) || (start > end))
+				throw new IndexOutOfBoundsException();
+			return new String(chars, start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, 0, length);
+		}
+	}
+}
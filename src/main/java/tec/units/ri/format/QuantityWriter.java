@@ -0,0 +1,353 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.measure.Unit;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.internal.format.ShortestDigits;
+
+/**
+ * <p>
+ * Writes columns of values stated in a shared unit as <code>value unit</code>
+ * records, one per line, to a {@link Writer}, a {@link CharBuffer} or a
+ * {@link ByteBuffer} (UTF-8).
+ * </p>
+ * 
+ * <p>
+ * Values are written with the shortest digits which read back to the same
+ * <code>double</code>, in plain notation and without grouping, so that the
+ * output can be read by a {@link QuantityStreamParser}. The symbol of the unit
+ * is formatted once per column (or {@link QuantityColumn} run) and copied
+ * after every value; the records are assembled in a reused buffer and
+ * transferred in bulk. Instances are not thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantityWriter {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * The maximum length of a value (<code>-0.</code>, 323 zeros and 17
+	 * digits for the smallest subnormals).
+	 */
+	private static final int MAX_VALUE_LENGTH = 343;
+
+	private final AbstractUnitFormat unitFormat;
+
+	private final ShortestDigits digits = new ShortestDigits();
+
+	// Holds the records not yet transferred.
+	private char[] chars = new char[CHUNK_SIZE];
+
+	private byte[] bytes;
+
+	// Holds the text following each value (unit symbol and line separator).
+	private char[] suffix = new char[16];
+
+	private int suffixLength;
+
+	private byte[] suffixBytes;
+
+	/**
+	 * Creates a writer using the {@link SimpleUnitFormat#getInstance() default}
+	 * unit format.
+	 */
+	public QuantityWriter() {
+		this(SimpleUnitFormat.getInstance());
+	}
+
+	/**
+	 * Creates a writer using the specified unit format.
+	 * 
+	 * @param unitFormat
+	 *            the unit format.
+	 */
+	public QuantityWriter(AbstractUnitFormat unitFormat) {
+		if (unitFormat == null)
+			throw new NullPointerException();
+		this.unitFormat = unitFormat;
+	}
+
+	/**
+	 * Writes the specified values, all stated in the specified unit.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param offset
+	 *            the index of the first value to write.
+	 * @param length
+	 *            the number of values to write.
+	 * @param unit
+	 *            the unit of the values.
+	 * @param out
+	 *            the destination (not flushed).
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void write(double[] values, int offset, int length, Unit<?> unit,
+			Writer out) throws IOException {
+		checkRange(values, offset, length);
+		setUnit(unit);
+		final int end = offset + length;
+		int pos = 0;
+		for (int i = offset; i < end; i++) {
+			if (pos + MAX_VALUE_LENGTH + suffixLength > chars.length) {
+				out.write(chars, 0, pos);
+				pos = 0;
+			}
+			pos = appendRecord(values[i], pos);
+		}
+		out.write(chars, 0, pos);
+	}
+
+	/**
+	 * Writes as many of the specified values as fit in the buffer, all stated
+	 * in the specified unit. Records are never split.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param offset
+	 *            the index of the first value to write.
+	 * @param length
+	 *            the number of values to write.
+	 * @param unit
+	 *            the unit of the values.
+	 * @param out
+	 *            the destination.
+	 * @return the number of values written.
+	 */
+	public int write(double[] values, int offset, int length, Unit<?> unit,
+			CharBuffer out) {
+		checkRange(values, offset, length);
+		setUnit(unit);
+		final int end = offset + length;
+		int room = out.remaining();
+		int pos = 0;
+		int i = offset;
+		for (; i < end; i++) {
+			if (pos + MAX_VALUE_LENGTH + suffixLength > chars.length) {
+				out.put(chars, 0, pos);
+				room -= pos;
+				pos = 0;
+			}
+			final int next = appendRecord(values[i], pos);
+			if (next > room)
+				break;
+			pos = next;
+		}
+		out.put(chars, 0, pos);
+		return i - offset;
+	}
+
+	/**
+	 * Writes as many of the specified values as fit in the buffer, all stated
+	 * in the specified unit, encoded in UTF-8. Records are never split.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param offset
+	 *            the index of the first value to write.
+	 * @param length
+	 *            the number of values to write.
+	 * @param unit
+	 *            the unit of the values.
+	 * @param out
+	 *            the destination (typically a direct buffer).
+	 * @return the number of values written.
+	 */
+	public int write(double[] values, int offset, int length, Unit<?> unit,
+			ByteBuffer out) {
+		checkRange(values, offset, length);
+		setUnit(unit);
+		if (suffixBytes == null) {
+			suffixBytes = new String(suffix, 0, suffixLength)
+					.getBytes(StandardCharsets.UTF_8);
+		}
+		if ((bytes == null) || (bytes.length < chars.length + 2 * suffixBytes.length)) {
+			bytes = new byte[chars.length + 2 * suffixBytes.length];
+		}
+		final int end = offset + length;
+		int room = out.remaining();
+		int pos = 0;
+		int i = offset;
+		for (; i < end; i++) {
+			if (pos + MAX_VALUE_LENGTH + suffixBytes.length > bytes.length) {
+				out.put(bytes, 0, pos);
+				room -= pos;
+				pos = 0;
+			}
+			// Values are ASCII.
+			final int valueEnd = appendValue(values[i], 0);
+			final int next = pos + valueEnd + suffixBytes.length;
+			if (next > room)
+				break;
+			for (int j = 0; j < valueEnd; j++) {
+				bytes[pos++] = (byte) chars[j];
+			}
+			System.arraycopy(suffixBytes, 0, bytes, pos, suffixBytes.length);
+			pos = next;
+		}
+		out.put(bytes, 0, pos);
+		return i - offset;
+	}
+
+	/**
+	 * Writes all the quantities of the specified column.
+	 * 
+	 * @param column
+	 *            the quantities to write.
+	 * @param out
+	 *            the destination (not flushed).
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void write(QuantityColumn column, Writer out) throws IOException {
+		final double[] values = column.getValues();
+		for (int run = 0; run < column.getRunCount(); run++) {
+			final int start = column.getRunStart(run);
+			write(values, start, column.getRunEnd(run) - start,
+					column.getRunUnit(run), out);
+		}
+	}
+
+	/**
+	 * Writes as many quantities of the specified column as fit in the
+	 * buffer, starting at the specified index.
+	 * 
+	 * @param column
+	 *            the quantities to write.
+	 * @param index
+	 *            the index of the first quantity to write.
+	 * @param out
+	 *            the destination.
+	 * @return the index following the last quantity written.
+	 */
+	public int write(QuantityColumn column, int index, CharBuffer out) {
+		final double[] values = column.getValues();
+		for (int run = firstRun(column, index); run < column.getRunCount(); run++) {
+			final int end = column.getRunEnd(run);
+			index += write(values, index, end - index, column.getRunUnit(run), out);
+			if (index < end)
+				break; // Buffer full.
+		}
+		return index;
+	}
+
+	/**
+	 * Writes as many quantities of the specified column as fit in the
+	 * buffer, encoded in UTF-8, starting at the specified index.
+	 * 
+	 * @param column
+	 *            the quantities to write.
+	 * @param index
+	 *            the index of the first quantity to write.
+	 * @param out
+	 *            the destination.
+	 * @return the index following the last quantity written.
+	 */
+	public int write(QuantityColumn column, int index, ByteBuffer out) {
+		final double[] values = column.getValues();
+		for (int run = firstRun(column, index); run < column.getRunCount(); run++) {
+			final int end = column.getRunEnd(run);
+			index += write(values, index, end - index, column.getRunUnit(run), out);
+			if (index < end)
+				break; // Buffer full.
+		}
+		return index;
+	}
+
+	private static int firstRun(QuantityColumn column, int index) {
+		if ((index < 0) || (index > column.size()))
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ column.size());
+		return (index == column.size()) ? column.getRunCount() : column
+				.getRun(index);
+	}
+
+	private static void checkRange(double[] values, int offset, int length) {
+		if ((offset < 0) || (length < 0) || (offset > values.length - length))
+			throw new IndexOutOfBoundsException("Offset: " + offset
+					+ ", Length: " + length + ", Size: " + values.length);
+	}
+
+	// Formats the symbol of the unit, once per column or run.
+	private void setUnit(Unit<?> unit) {
+		if (unit == null)
+			throw new NullPointerException();
+		final StringBuilder sb = new StringBuilder();
+		if (!unit.equals(AbstractUnit.ONE)) {
+			sb.append(' ');
+			sb.append(unitFormat.format(unit));
+		}
+		sb.append('\n');
+		suffixLength = sb.length();
+		if (suffix.length < suffixLength) {
+			suffix = new char[suffixLength];
+		}
+		sb.getChars(0, suffixLength, suffix, 0);
+		suffixBytes = null;
+		if (chars.length < MAX_VALUE_LENGTH + suffixLength) {
+			chars = new char[MAX_VALUE_LENGTH + suffixLength];
+		}
+	}
+
+	private int appendRecord(double value, int pos) {
+		pos = appendValue(value, pos);
+		System.arraycopy(suffix, 0, chars, pos, suffixLength);
+		return pos + suffixLength;
+	}
+
+	private int appendValue(double value, int pos) {
+		if (Double.isNaN(value))
+			return appendText("NaN", pos);
+		if (Double.isInfinite(value))
+			return appendText((value > 0) ? "Infinity" : "-Infinity", pos);
+		if ((value == 0.0) && (1 / value < 0.0))
+			return appendText("-0.0", pos); // Read back as a double.
+		if (value < 0.0) {
+			chars[pos++] = '-';
+		}
+		return digits.set(value).getChars(chars, pos, false);
+	}
+
+	private int appendText(String text, int pos) {
+		text.getChars(0, text.length(), chars, pos);
+		return pos + text.length();
+	}
+}
@@ -34,11 +34,13 @@ import static tec.units.ri.unit.Units.LITRE;
 
 import java.io.IOException;
 import java.lang.CharSequence;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import tec.units.ri.AbstractConverter;
 import tec.units.ri.AbstractUnit;
 import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
 import tec.units.ri.function.MultiplyConverter;
 import tec.units.ri.function.RationalConverter;
 import tec.units.ri.internal.format.l10n.FieldPosition;
@@ -217,6 +219,31 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 	 */
 	public abstract void alias(Unit<?> unit, String alias);
 
+	/**
+	 * Attaches the specified labels and aliases as a single operation. Formats
+	 * supporting concurrent registration make the whole batch visible at once;
+	 * this default implementation calls {@link #label(Unit, String)} and
+	 * {@link #alias(Unit, String)} for each entry.
+	 *
+	 * @param labels
+	 *            the labels, per unit.
+	 * @param aliases
+	 *            the units, per alias.
+	 * @throws IllegalArgumentException
+	 *             if any label or alias is not a
+	 *             {@link SimpleUnitFormat#isValidIdentifier(String)} valid
+	 *             identifier.
+	 */
+	public void register(Map<? extends Unit<?>, String> labels,
+			Map<String, ? extends Unit<?>> aliases) {
+		for (Map.Entry<? extends Unit<?>, String> e : labels.entrySet()) {
+			label(e.getKey(), e.getValue());
+		}
+		for (Map.Entry<String, ? extends Unit<?>> e : aliases.entrySet()) {
+			alias(e.getValue(), e.getKey());
+		}
+	}
+
 	/**
 	 * Indicates if the specified name can be used as unit identifier.
 	 *
@@ -306,34 +333,201 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 	protected static class DefaultFormat extends SimpleUnitFormat {
 
 		/**
-		 * Holds the name to unit mapping.
+		 * Holds the current labels and aliases (replaced, never modified).
 		 */
-		final HashMap<String, Unit<?>> _nameToUnit = new HashMap<String, Unit<?>>();
+		volatile LabelRegistry _registry = LabelRegistry.EMPTY;
 
 		/**
-		 * Holds the unit to name mapping.
+		 * Holds the labels of the prefixed standard units, built per prefix on
+		 * first lookup (<code>null</code> if this format has no such labels).
 		 */
-		final HashMap<Unit<?>, String> _unitToName = new HashMap<Unit<?>, String>();
+		volatile AtomicReferenceArray<LabelRegistry> _prefixed;
+
+		/**
+		 * Holds the recently parsed unit strings.
+		 */
+		final UnitParseCache _parseCache = new UnitParseCache(UnitParseCache.DEFAULT_CAPACITY);
+
+		/**
+		 * Holds the symbols of the recently formatted units.
+		 */
+		final UnitSymbolCache _symbolCache = new UnitSymbolCache();
 
 		@Override
 		public void label(Unit<?> unit, String label) {
-			if (!isValidIdentifier(label))
-				throw new IllegalArgumentException("Label: " + label
-						+ " is not a valid identifier.");
+			checkLabel(label);
 			synchronized (this) {
-				_nameToUnit.put(label, unit);
-				_unitToName.put(unit, label);
+				_registry = _registry.builder().label(unit, label).build();
 			}
+			invalidateCaches();
 		}
 
 		@Override
 		public void alias(Unit<?> unit, String alias) {
+			checkAlias(alias);
+			synchronized (this) {
+				_registry = _registry.builder().alias(unit, alias).build();
+			}
+			invalidateCaches();
+		}
+
+		@Override
+		public void register(Map<? extends Unit<?>, String> labels,
+				Map<String, ? extends Unit<?>> aliases) {
+			for (String label : labels.values()) {
+				checkLabel(label);
+			}
+			for (String alias : aliases.keySet()) {
+				checkAlias(alias);
+			}
+			synchronized (this) {
+				LabelRegistry.Builder builder = _registry.builder();
+				for (Map.Entry<? extends Unit<?>, String> e : labels.entrySet()) {
+					builder.label(e.getKey(), e.getValue());
+				}
+				for (Map.Entry<String, ? extends Unit<?>> e : aliases.entrySet()) {
+					builder.alias(e.getValue(), e.getKey());
+				}
+				_registry = builder.build();
+			}
+			invalidateCaches();
+		}
+
+		private void checkLabel(String label) {
+			if (!isValidIdentifier(label))
+				throw new IllegalArgumentException("Label: " + label
+						+ " is not a valid identifier.");
+		}
+
+		private void checkAlias(String alias) {
 			if (!isValidIdentifier(alias))
 				throw new IllegalArgumentException("Alias: " + alias
 						+ " is not a valid identifier.");
+		}
+
+		// Replaces all labels and aliases (used by the static initializer
+		// to register the standard labels in one step).
+		void setRegistry(LabelRegistry registry) {
 			synchronized (this) {
-				_nameToUnit.put(alias, unit);
+				_registry = registry;
+			}
+			invalidateCaches();
+		}
+
+		// Enables the labels of the prefixed standard units (used by the
+		// static initializer).
+		void setPrefixed() {
+			_prefixed = new AtomicReferenceArray<LabelRegistry>(PREFIXES.length);
+		}
+
+		// Returns the labels generated for the specified prefix, building
+		// them on first use.
+		LabelRegistry prefixedLabels(int prefix) {
+			final AtomicReferenceArray<LabelRegistry> prefixed = _prefixed;
+			LabelRegistry labels = prefixed.get(prefix);
+			if (labels == null) {
+				labels = addPrefixedLabels(prefix,
+						LabelRegistry.EMPTY.builder()).build();
+				if (!prefixed.compareAndSet(prefix, null, labels)) {
+					labels = prefixed.get(prefix);
+				}
+			}
+			return labels;
+		}
+
+		// Adds the labels and aliases of the standard units with the
+		// specified prefix (in the order they used to be registered).
+		LabelRegistry.Builder addPrefixedLabels(int prefix,
+				LabelRegistry.Builder builder) {
+			final UnitConverter converter = CONVERTERS[prefix];
+			for (int i = 0; i < SI_UNITS.length; i++) {
+				Unit<?> si = SI_UNITS[i];
+				String symbol = (si instanceof BaseUnit) ? ((BaseUnit<?>) si)
+						.getSymbol() : ((AlternateUnit<?>) si).getSymbol();
+				builder.label(si.transform(converter), PREFIXES[prefix] + symbol);
+			}
+			// Special case for KILOGRAM.
+			if (converter != KILO.getConverter()) { // kg is already defined.
+				builder.label(
+						Units.KILOGRAM.transform(converter.concatenate(MILLI.getConverter())),
+						PREFIXES[prefix] + "g");
+			}
+			builder.alias(Units.OHM.transform(converter), PREFIXES[prefix]
+					+ "Ohm");
+			builder.label(Units.CELSIUS.transform(converter), PREFIXES[prefix]
+					+ "℃");
+			builder.alias(Units.CELSIUS.transform(converter), PREFIXES[prefix]
+					+ "°C");
+			return builder;
+		}
+
+		// Returns the symbol starting the names generated for the specified
+		// prefix.
+		String prefixSymbol(int prefix) {
+			return PREFIXES[prefix];
+		}
+
+		// Returns the label of the specified unit, or null if none.
+		String labelFor(Unit<?> unit) {
+			String label = _registry.nameFor(unit);
+			if ((label != null) || (_prefixed == null)
+					|| !(unit instanceof TransformedUnit))
+				return label;
+			// Only looks at the prefixes matching the scale of the unit
+			// (gram multiples are relative to the kilogram).
+			double scale = scaleOf(((TransformedUnit<?>) unit).getSystemConverter());
+			if (!(scale > 0) || Double.isInfinite(scale))
+				return null;
+			int exponent = (int) Math.round(Math.log10(scale));
+			for (int j = 0; j < PREFIXES.length; j++) {
+				if ((EXPONENTS[j] == exponent) || (EXPONENTS[j] - 3 == exponent)) {
+					label = prefixedLabels(j).nameFor(unit);
+					if (label != null)
+						return label;
+				}
+			}
+			return null;
+		}
+
+		// Returns the unit labeled by the specified characters, or null if
+		// none.
+		Unit<?> unitForLabel(CharSequence csq, int start, int end) {
+			Unit<?> unit = _registry.unitFor(csq, start, end);
+			if ((unit != null) || (_prefixed == null))
+				return unit;
+			for (int j = 0; j < PREFIXES.length; j++) {
+				if (startsWith(csq, start, end, prefixSymbol(j))) {
+					unit = prefixedLabels(j).unitFor(csq, start, end);
+					if (unit != null)
+						return unit;
+				}
+			}
+			return null;
+		}
+
+		private static boolean startsWith(CharSequence csq, int start,
+				int end, String prefix) {
+			final int length = prefix.length();
+			if (end - start < length)
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (csq.charAt(start + i) != prefix.charAt(i))
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Clears the parse cache of this format, and the one of the ASCII
+		 * format when this is the default format (to which it falls back),
+		 * then the symbols cached by all formats.
+		 */
+		void invalidateCaches() {
+			_parseCache.invalidate();
+			if ((this == DEFAULT) && (ASCII != null)) {
+				ASCII._parseCache.invalidate();
 			}
+			UnitSymbolCache.invalidateAll();
 		}
 
 		@Override
@@ -375,7 +569,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		// Returns the name for the specified unit or null if product unit.
 		public String nameFor(Unit<?> unit) {
 			// Searches label database.
-			String label = _unitToName.get(unit);
+			String label = labelFor(unit);
 			if (label != null)
 				return label;
 			if (unit instanceof BaseUnit)
@@ -386,7 +580,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 				TransformedUnit<?> tfmUnit = (TransformedUnit<?>) unit;
 				Unit<?> baseUnits = tfmUnit.toSystemUnit();
 				UnitConverter cvtr = tfmUnit.getSystemConverter();
-				StringBuffer result = new StringBuffer();
+				StringBuilder result = new StringBuilder();
 				String baseUnitName = baseUnits.toString();
 				if ((baseUnitName.indexOf('·') >= 0)
 						|| (baseUnitName.indexOf('*') >= 0)
@@ -435,11 +629,13 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
 		// Returns the unit for the specified name.
 		public Unit<?> unitFor(String name) {
-			Unit<?> unit = _nameToUnit.get(name);
-			if (unit != null)
-				return unit;
-			unit = SYMBOL_TO_UNIT.get(name);
-			return unit;
+			return unitFor(name, 0, name.length());
+		}
+
+		// Returns the unit for the name held by the specified characters
+		// (without creating a substring).
+		protected Unit<?> unitFor(CharSequence csq, int start, int end) {
+			return unitForLabel(csq, start, end);
 		}
 
 		// //////////////////////////
@@ -449,9 +645,11 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		public Unit<? extends Quantity> parseSingleUnit(CharSequence csq,
 				ParsePosition pos) throws ParserException {
 			int startIndex = pos.getIndex();
-			String name = readIdentifier(csq, pos);
-			Unit unit = unitFor(name);
-			check(unit != null, name + " not recognized", csq, startIndex);
+			int endIndex = readIdentifier(csq, pos);
+			Unit unit = unitFor(csq, startIndex, endIndex);
+			if (unit == null) {
+				check(false, csq.subSequence(startIndex, endIndex) + " not recognized", csq, startIndex);
+			}
 			return unit;
 		}
 
@@ -701,14 +899,14 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 			return Double.parseDouble(csq.subSequence(start, end).toString());
 		}
 
-		private String readIdentifier(CharSequence csq, ParsePosition pos) {
+		// Returns the end index of the identifier.
+		private int readIdentifier(CharSequence csq, ParsePosition pos) {
 			final int length = csq.length();
-			int start = pos.getIndex();
-			int i = start;
+			int i = pos.getIndex();
 			while ((++i < length) && isUnitIdentifierPart(csq.charAt(i))) {
 			}
 			pos.setIndex(i);
-			return csq.subSequence(start, i).toString();
+			return i;
 		}
 
 		// //////////////////////////
@@ -717,9 +915,40 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		@Override
 		public Appendable format(Unit<?> unit, Appendable appendable)
 				throws IOException {
+			return appendable.append(symbolFor(unit));
+		}
+
+		@Override
+		String formatToString(Unit<?> unit) {
+			return symbolFor(unit);
+		}
+
+		// Returns the symbol of the specified unit, formatting it only if it
+		// has not been recently.
+		final String symbolFor(Unit<?> unit) {
+			String symbol = _symbolCache.get(unit);
+			if (symbol != null)
+				return symbol;
+			final int version = _symbolCache.getVersion();
+			final StringBuilder sb = new StringBuilder();
+			try {
+				appendSymbol(unit, sb);
+			} catch (IOException e) {
+				throw new Error(e); // Should never happen.
+			}
+			symbol = sb.toString();
+			_symbolCache.put(unit, symbol, version);
+			return symbol;
+		}
+
+		// Formats the specified unit (without cache).
+		void appendSymbol(Unit<?> unit, Appendable appendable)
+				throws IOException {
 			String name = nameFor(unit);
-			if (name != null)
-				return appendable.append(name);
+			if (name != null) {
+				appendable.append(name);
+				return;
+			}
 			if (!(unit instanceof ProductUnit))
 				throw new IllegalArgumentException(
 						"Cannot format given Object as a Unit");
@@ -771,7 +1000,6 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 					appendable.append(')');
 				}
 			}
-			return appendable;
 		}
 
 		private void append(Appendable appendable, CharSequence symbol,
@@ -804,7 +1032,14 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		@Override
 		protected Unit<?> parse(CharSequence csq, int index)
 				throws ParserException {
-			return parseObject(csq.toString(), new ParsePosition(index));
+			final int end = csq.length();
+			Unit<?> unit = _parseCache.get(csq, index, end);
+			if (unit != null)
+				return unit;
+			final int generation = _parseCache.getGeneration();
+			unit = parseProductUnit(csq, new ParsePosition(index));
+			_parseCache.put(csq, index, end, unit, generation);
+			return unit;
 		}
 	}
 
@@ -816,7 +1051,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		@Override
 		public String nameFor(Unit<?> unit) {
 			// First search if specific ASCII name should be used.
-			String name = _unitToName.get(unit);
+			String name = labelFor(unit);
 			if (name != null)
 				return name;
 			// Else returns default name.
@@ -824,21 +1059,23 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 		}
 
 		@Override
-		public Unit<?> unitFor(String name) {
+		protected Unit<?> unitFor(CharSequence csq, int start, int end) {
 			// First search if specific ASCII name.
-			Unit<?> unit = _nameToUnit.get(name);
+			Unit<?> unit = unitForLabel(csq, start, end);
 			if (unit != null)
 				return unit;
 			// Else returns default mapping.
-			return DEFAULT.unitFor(name);
+			return DEFAULT.unitFor(csq, start, end);
 		}
 
 		@Override
-		public Appendable format(Unit<?> unit, Appendable appendable)
+		void appendSymbol(Unit<?> unit, Appendable appendable)
 				throws IOException {
 			String name = nameFor(unit);
-			if (name != null)
-				return appendable.append(name);
+			if (name != null) {
+				appendable.append(name);
+				return;
+			}
 			if (!(unit instanceof ProductUnit))
 				throw new IllegalArgumentException(
 						"Cannot format given Object as a Unit");
@@ -862,7 +1099,29 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 					}
 				}
 			}
-			return appendable;
+		}
+
+		@Override
+		LabelRegistry.Builder addPrefixedLabels(int prefix,
+				LabelRegistry.Builder builder) {
+			final UnitConverter converter = CONVERTERS[prefix];
+			if (PREFIXES[prefix] == "µ") {
+				for (int i = 0; i < SI_UNITS.length; i++) {
+					builder.label(SI_UNITS[i].transform(converter), "micro"); // + symbol);
+				}
+				builder.label(Units.KILOGRAM.transform(converter
+						.concatenate(MILLI.getConverter())), "microg");
+			}
+			builder.label(Units.OHM.transform(converter),
+					asciiPrefix(PREFIXES[prefix]) + "Ohm");
+			builder.label(Units.CELSIUS.transform(converter),
+					asciiPrefix(PREFIXES[prefix]) + "Celsius");
+			return builder;
+		}
+
+		@Override
+		String prefixSymbol(int prefix) {
+			return asciiPrefix(PREFIXES[prefix]);
 		}
 
 		@Override
@@ -903,11 +1162,6 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 //		private static final long serialVersionUID = 1L;
 	}
 
-	/**
-	 * Holds the unique symbols collection (base units or alternate units).
-	 */
-	private static final Map<String, Unit<?>> SYMBOL_TO_UNIT = new HashMap<String, Unit<?>>();
-
 	// //////////////////////////////////////////////////////////////////////////
 	// Initializes the standard unit database for SI units.
 
@@ -936,85 +1190,82 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 			ZEPTO.getConverter(), YOCTO.getConverter()		
 		};
 
+	/**
+	 * Holds the power of ten of each prefix.
+	 */
+	private static final int[] EXPONENTS = exponents(CONVERTERS);
+
+	private static int[] exponents(UnitConverter[] converters) {
+		int[] exponents = new int[converters.length];
+		for (int i = 0; i < converters.length; i++) {
+			exponents[i] = (int) Math.round(Math.log10(converters[i].convert(1.0)));
+		}
+		return exponents;
+	}
+
+	// Returns the scale factor of the specified converter (ignoring any
+	// offset) or NaN if the converter is not affine.
+	private static double scaleOf(UnitConverter cvtr) {
+		if (cvtr instanceof AbstractConverter.Pair) {
+			cvtr = ((AbstractConverter.Pair) cvtr).normalize();
+		}
+		if (cvtr instanceof AffineConverter)
+			return ((AffineConverter) cvtr).getScale();
+		if (cvtr instanceof AddConverter)
+			return 1.0;
+		return cvtr.isLinear() ? cvtr.convert(1.0) : Double.NaN;
+	}
+
 	private static String asciiPrefix(String prefix) {
 		return prefix == "µ" ? "micro" : prefix;
 	}
 
 	static {
-		for (int i = 0; i < SI_UNITS.length; i++) {
-			for (int j = 0; j < PREFIXES.length; j++) {
-				Unit<?> si = SI_UNITS[i];
-				Unit<?> u = si.transform(CONVERTERS[j]);
-				String symbol = (si instanceof BaseUnit) ? ((BaseUnit<?>) si)
-						.getSymbol() : ((AlternateUnit<?>) si).getSymbol();
-				DEFAULT.label(u, PREFIXES[j] + symbol);
-				if (PREFIXES[j] == "µ") {
-					ASCII.label(u, "micro"); // + symbol);
-				}
-			}
-		}
+		final LabelRegistry.Builder defaults = LabelRegistry.EMPTY.builder();
+		final LabelRegistry.Builder ascii = LabelRegistry.EMPTY.builder();
+		// The prefixed units (e.g. "km", "mΩ", "µg") are labeled per prefix
+		// on first lookup, see DefaultFormat.prefixedLabels(int).
+		DEFAULT.setPrefixed();
+		ASCII.setPrefixed();
 		// Special case for KILOGRAM.
-		DEFAULT.label(Units.GRAM, "g");
-		for (int i = 0; i < PREFIXES.length; i++) {
-			if (CONVERTERS[i] == KILO.getConverter()) // TODO should it better be equals()?
-				continue; // kg is already defined.
-			DEFAULT.label(
-					Units.KILOGRAM.transform(CONVERTERS[i].concatenate(MILLI.getConverter())),
-					PREFIXES[i] + "g");
-			if (PREFIXES[i] == "µ") {
-				ASCII.label(Units.KILOGRAM.transform(CONVERTERS[i]
-						.concatenate(MILLI.getConverter())), "microg");
-			}
-		}
+		defaults.label(Units.GRAM, "g");
 
 		// Alias and ASCIIFormat for Ohm
-		DEFAULT.alias(Units.OHM, "Ohm");
-		ASCII.label(Units.OHM, "Ohm");
-		for (int i = 0; i < PREFIXES.length; i++) {
-			DEFAULT.alias(Units.OHM.transform(CONVERTERS[i]), PREFIXES[i]
-					+ "Ohm");
-			ASCII.label(Units.OHM.transform(CONVERTERS[i]),
-					asciiPrefix(PREFIXES[i]) + "Ohm");
-		}
+		defaults.alias(Units.OHM, "Ohm");
+		ascii.label(Units.OHM, "Ohm");
 
 		// Special case for DEGREE_CElSIUS.
 		//DEFAULT.label(Units.CELSIUS, "°C");
-		DEFAULT.label(Units.CELSIUS, "\u00b0C");
-		DEFAULT.alias(Units.CELSIUS, "℃");
+		defaults.label(Units.CELSIUS, "\u00b0C");
+		defaults.alias(Units.CELSIUS, "℃");
 		//DEFAULT.alias(Units.CELSIUS, "°C");
-		ASCII.label(Units.CELSIUS, "Celsius");
-		for (int i = 0; i < PREFIXES.length; i++) {
-			DEFAULT.label(Units.CELSIUS.transform(CONVERTERS[i]), PREFIXES[i]
-					+ "℃");
-			DEFAULT.alias(Units.CELSIUS.transform(CONVERTERS[i]), PREFIXES[i]
-					+ "°C");
-			ASCII.label(Units.CELSIUS.transform(CONVERTERS[i]),
-					asciiPrefix(PREFIXES[i]) + "Celsius");
-		}
-
-		DEFAULT.label(Units.PERCENT, "%");
-		DEFAULT.label(Units.KILOGRAM, "kg");
-		DEFAULT.label(Units.METRE, "m");
-		DEFAULT.label(Units.SECOND, "s");
-		DEFAULT.label(Units.MINUTE, "min");
-		DEFAULT.label(Units.HOUR, "h");
-		DEFAULT.label(Units.DAY, "day");
-		DEFAULT.label(Units.WEEK, "week");
-		DEFAULT.label(Units.YEAR, "year");
-		DEFAULT.label(Units.KILOMETRES_PER_HOUR, "km/h");
-		DEFAULT.label(Units.CUBIC_METRE, "\u33A5");
-		ASCII.label(Units.CUBIC_METRE, "m3");
-		ASCII.label(LITRE, "l");
-		DEFAULT.label(LITRE, "l");
-		DEFAULT.label(MetricPrefix.NANO(LITRE), "nl");
-		ASCII.label(MetricPrefix.NANO(LITRE), "nl");
-		DEFAULT.label(MetricPrefix.MICRO(LITRE), "µl");
-		ASCII.label(MetricPrefix.MICRO(LITRE), "microL");
-		ASCII.label(MetricPrefix.MILLI(LITRE), "mL");
-		DEFAULT.label(MetricPrefix.MILLI(LITRE), "ml");
-		ASCII.label(MetricPrefix.CENTI(LITRE), "cL");
-		DEFAULT.label(MetricPrefix.CENTI(LITRE), "cl");
-		ASCII.label(MetricPrefix.DECI(LITRE), "dL");
-		DEFAULT.label(MetricPrefix.DECI(LITRE), "dl");
+		ascii.label(Units.CELSIUS, "Celsius");
+
+		defaults.label(Units.PERCENT, "%");
+		defaults.label(Units.KILOGRAM, "kg");
+		defaults.label(Units.METRE, "m");
+		defaults.label(Units.SECOND, "s");
+		defaults.label(Units.MINUTE, "min");
+		defaults.label(Units.HOUR, "h");
+		defaults.label(Units.DAY, "day");
+		defaults.label(Units.WEEK, "week");
+		defaults.label(Units.YEAR, "year");
+		defaults.label(Units.KILOMETRES_PER_HOUR, "km/h");
+		defaults.label(Units.CUBIC_METRE, "\u33A5");
+		ascii.label(Units.CUBIC_METRE, "m3");
+		ascii.label(LITRE, "l");
+		defaults.label(LITRE, "l");
+		defaults.label(MetricPrefix.NANO(LITRE), "nl");
+		ascii.label(MetricPrefix.NANO(LITRE), "nl");
+		defaults.label(MetricPrefix.MICRO(LITRE), "µl");
+		ascii.label(MetricPrefix.MICRO(LITRE), "microL");
+		ascii.label(MetricPrefix.MILLI(LITRE), "mL");
+		defaults.label(MetricPrefix.MILLI(LITRE), "ml");
+		ascii.label(MetricPrefix.CENTI(LITRE), "cL");
+		defaults.label(MetricPrefix.CENTI(LITRE), "cl");
+		ascii.label(MetricPrefix.DECI(LITRE), "dL");
+		defaults.label(MetricPrefix.DECI(LITRE), "dl");
+		DEFAULT.setRegistry(defaults.build());
+		ASCII.setRegistry(ascii.build());
 	}
 }
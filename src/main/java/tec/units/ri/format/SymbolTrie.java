@@ -0,0 +1,194 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * An immutable prefix tree mapping unit labels and aliases to units.
+ * </p>
+ * 
+ * <p>
+ * Lookups match directly on a range of a {@link CharSequence}, so identifiers
+ * can be resolved while parsing without creating substrings. Instances are
+ * persistent: {@link #put(CharSequence, Unit)} returns a new trie sharing all
+ * the nodes not on the path of the new key, which makes tries safe to publish
+ * to concurrent readers.
+ * </p>
+ *
+ * @version 0.1
+ */
+final class SymbolTrie {
+
+	/**
+	 * Holds the empty trie.
+	 */
+	static final SymbolTrie EMPTY = new SymbolTrie(Node.EMPTY, 0);
+
+	private final Node root;
+
+	private final int size;
+
+	private SymbolTrie(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the unit mapped to the specified key.
+	 * 
+	 * @param key
+	 *            the label or alias.
+	 * @return the corresponding unit or <code>null</code> if none.
+	 */
+	Unit<?> get(CharSequence key) {
+		return get(key, 0, key.length());
+	}
+
+	/**
+	 * Returns the unit mapped to the characters of <code>csq</code> from
+	 * <code>start</code> (inclusive) to <code>end</code> (exclusive). This
+	 * method does not allocate.
+	 * 
+	 * @param csq
+	 *            the character sequence.
+	 * @param start
+	 *            the start index.
+	 * @param end
+	 *            the end index.
+	 * @return the corresponding unit or <code>null</code> if none.
+	 */
+	Unit<?> get(CharSequence csq, int start, int end) {
+		Node node = root;
+		for (int i = start; i < end; i++) {
+			node = node.child(csq.charAt(i));
+			if (node == null)
+				return null;
+		}
+		return node.value;
+	}
+
+	/**
+	 * Returns a trie holding the mappings of this trie and the specified one
+	 * (replacing any previous mapping for that key).
+	 * 
+	 * @param key
+	 *            the label or alias.
+	 * @param unit
+	 *            the unit.
+	 * @return the updated trie.
+	 */
+	SymbolTrie put(CharSequence key, Unit<?> unit) {
+		if (unit == null)
+			throw new NullPointerException();
+		final boolean added = get(key) == null;
+		return new SymbolTrie(root.put(key, 0, unit), added ? size + 1 : size);
+	}
+
+	/**
+	 * Returns the number of keys in this trie.
+	 * 
+	 * @return the number of mappings.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * An immutable trie node; children are sorted by character.
+	 */
+	private static final class Node {
+
+		private static final char[] NO_KEYS = new char[0];
+
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		static final Node EMPTY = new Node(NO_KEYS, NO_CHILDREN, null);
+
+		final char[] keys;
+
+		final Node[] children;
+
+		final Unit<?> value;
+
+		Node(char[] keys, Node[] children, Unit<?> value) {
+			this.keys = keys;
+			this.children = children;
+			this.value = value;
+		}
+
+		Node child(char c) {
+			final int i = indexOf(c);
+			return (i >= 0) ? children[i] : null;
+		}
+
+		private int indexOf(char c) {
+			final char[] k = keys;
+			int low = 0;
+			int high = k.length - 1;
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				final char m = k[mid];
+				if (m < c) {
+					low = mid + 1;
+				} else if (m > c) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		Node put(CharSequence key, int index, Unit<?> unit) {
+			if (index == key.length())
+				return new Node(keys, children, unit);
+			final char c = key.charAt(index);
+			final int i = indexOf(c);
+			if (i >= 0) {
+				final Node[] newChildren = children.clone();
+				newChildren[i] = children[i].put(key, index + 1, unit);
+				return new Node(keys, newChildren, value);
+			}
+			final int at = -(i + 1);
+			final int n = keys.length;
+			final char[] newKeys = new char[n + 1];
+			final Node[] newChildren = new Node[n + 1];
+			System.arraycopy(keys, 0, newKeys, 0, at);
+			System.arraycopy(children, 0, newChildren, 0, at);
+			newKeys[at] = c;
+			newChildren[at] = EMPTY.put(key, index + 1, unit);
+			System.arraycopy(keys, at, newKeys, at + 1, n - at);
+			System.arraycopy(children, at, newChildren, at + 1, n - at);
+			return new Node(newKeys, newChildren, value);
+		}
+	}
+}
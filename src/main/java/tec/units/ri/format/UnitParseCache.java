@@ -0,0 +1,172 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * A bounded, direct-mapped cache of parsed unit strings.
+ * </p>
+ * 
+ * <p>
+ * Each string is stored in the slot selected by its hash code, replacing the
+ * previous occupant; lookups compare characters in place and do not allocate.
+ * Entries are immutable, so the cache is safe for concurrent use without
+ * locking. The cache must be {@link #invalidate() invalidated} whenever the
+ * labels or aliases of its format change.
+ * </p>
+ *
+ * @version 0.1
+ */
+final class UnitParseCache {
+
+	/**
+	 * The default number of slots.
+	 */
+	static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Strings longer than this are not cached.
+	 */
+	private static final int MAX_LENGTH = 64;
+
+	private volatile Entry[] entries;
+
+	/**
+	 * Holds the generation, incremented every time the cache is invalidated.
+	 */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Creates a cache with the specified number of slots (rounded up to a
+	 * power of two).
+	 * 
+	 * @param capacity
+	 *            the number of slots.
+	 */
+	UnitParseCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		int n = 1;
+		while (n < capacity) {
+			n <<= 1;
+		}
+		entries = new Entry[n];
+	}
+
+	/**
+	 * Returns the unit cached for the characters of <code>csq</code> from
+	 * <code>start</code> (inclusive) to <code>end</code> (exclusive).
+	 * 
+	 * @return the cached unit or <code>null</code> if none.
+	 */
+	Unit<?> get(CharSequence csq, int start, int end) {
+		if (end - start > MAX_LENGTH)
+			return null;
+		final Entry[] table = entries;
+		final int hash = hash(csq, start, end);
+		final Entry entry = table[hash & (table.length - 1)];
+		if ((entry != null) && (entry.hash == hash) && entry.matches(csq, start, end))
+			return entry.unit;
+		return null;
+	}
+
+	/**
+	 * Returns the current generation of this cache, to be read before parsing
+	 * and passed to {@link #put(CharSequence, int, int, Unit, int)}.
+	 * 
+	 * @return the current generation.
+	 */
+	int getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Caches the unit parsed from the characters of <code>csq</code> from
+	 * <code>start</code> (inclusive) to <code>end</code> (exclusive), unless the
+	 * cache has been invalidated since <code>generation</code> was read.
+	 */
+	void put(CharSequence csq, int start, int end, Unit<?> unit, int generation) {
+		if (end - start > MAX_LENGTH)
+			return;
+		final Entry[] table = entries;
+		if (generation != this.generation.get())
+			return; // Invalidated in the meantime.
+		final int hash = hash(csq, start, end);
+		table[hash & (table.length - 1)] = new Entry(csq.subSequence(start, end).toString(), hash, unit);
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	void invalidate() {
+		synchronized (this) {
+			generation.incrementAndGet();
+			entries = new Entry[entries.length];
+		}
+	}
+
+	private static int hash(CharSequence csq, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + csq.charAt(i);
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private static final class Entry {
+
+		final String text;
+
+		final int hash;
+
+		final Unit<?> unit;
+
+		Entry(String text, int hash, Unit<?> unit) {
+			this.text = text;
+			this.hash = hash;
+			this.unit = unit;
+		}
+
+		boolean matches(CharSequence csq, int start, int end) {
+			final String t = text;
+			if (t.length() != end - start)
+				return false;
+			for (int i = 0; i < t.length(); i++) {
+				if (t.charAt(i) != csq.charAt(start + i))
+					return false;
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * A bounded cache of formatted unit symbols, one per format.
+ * </p>
+ * 
+ * <p>
+ * The symbol of a unit may depend on the labels of several formats (a
+ * transformed unit is written using the default symbol of its system unit),
+ * so all caches share a single version, incremented by
+ * {@link #invalidateAll()} whenever a label or alias changes. A cache whose
+ * entries are from an older version is discarded on next use. When the cache
+ * is full it is cleared, keeping lookups to a single map access.
+ * </p>
+ *
+ * @version 0.1
+ */
+final class UnitSymbolCache {
+
+	/**
+	 * The maximum number of symbols held per format.
+	 */
+	static final int MAX_SIZE = 1024;
+
+	/**
+	 * Holds the version of the labels of all formats.
+	 */
+	private static final AtomicInteger VERSION = new AtomicInteger();
+
+	private volatile Table table = new Table(VERSION.get());
+
+	/**
+	 * Returns the symbol cached for the specified unit.
+	 * 
+	 * @return the cached symbol or <code>null</code> if none.
+	 */
+	String get(Unit<?> unit) {
+		final Table t = table;
+		if (t.version != VERSION.get())
+			return null;
+		return t.symbols.get(unit);
+	}
+
+	/**
+	 * Returns the current version, to be read before formatting and passed to
+	 * {@link #put(Unit, String, int)}.
+	 * 
+	 * @return the current version.
+	 */
+	int getVersion() {
+		return VERSION.get();
+	}
+
+	/**
+	 * Caches the symbol of the specified unit, unless the labels have changed
+	 * since <code>version</code> was read.
+	 */
+	void put(Unit<?> unit, String symbol, int version) {
+		Table t = table;
+		if (t.version != version) {
+			if (version != VERSION.get())
+				return; // Invalidated in the meantime.
+			t = new Table(version);
+			table = t;
+		} else if (t.symbols.size() >= MAX_SIZE) {
+			t.symbols.clear();
+		}
+		t.symbols.put(unit, symbol);
+	}
+
+	/**
+	 * Invalidates the symbols cached by all formats.
+	 */
+	static void invalidateAll() {
+		VERSION.incrementAndGet();
+	}
+
+	private static final class Table {
+
+		final int version;
+
+		final ConcurrentHashMap<Unit<?>, String> symbols = new ConcurrentHashMap<Unit<?>, String>();
+
+		Table(int version) {
+			this.version = version;
+		}
+	}
+}
@@ -0,0 +1,770 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.measure.Dimension;
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.format.ParserException;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
+import tec.units.ri.function.ExpConverter;
+import tec.units.ri.function.LogConverter;
+import tec.units.ri.function.MultiplyConverter;
+import tec.units.ri.function.PiMultiplierConverter;
+import tec.units.ri.function.RationalConverter;
+import tec.units.ri.quantity.NumberQuantity;
+import tec.units.ri.quantity.Quantities;
+import tec.units.ri.quantity.QuantityArray;
+import tec.units.ri.quantity.QuantityDimension;
+import tec.units.ri.unit.AlternateUnit;
+import tec.units.ri.unit.AnnotatedUnit;
+import tec.units.ri.unit.BaseUnit;
+import tec.units.ri.unit.ProductUnit;
+import tec.units.ri.unit.TransformedUnit;
+
+/**
+ * <p>
+ * Encodes units and quantities to a compact binary form, and decodes them,
+ * directly to and from a {@link ByteBuffer}.
+ * </p>
+ * 
+ * <p>
+ * A standard unit of {@link tec.units.ri.unit.Units Units}, possibly with a
+ * {@link tec.units.ri.unit.MetricPrefix MetricPrefix}, is encoded as a
+ * stable identifier (one or two bytes); other units are encoded from their
+ * structure: the elements of a {@link ProductUnit}, the parent and
+ * converter of a {@link TransformedUnit}, and so on. Integer values are
+ * encoded as variable length integers and floating point values in IEEE 754
+ * form. A column of values sharing the same unit is encoded with the unit
+ * written once.
+ * </p>
+ * 
+ * <p>
+ * Multi-byte values are big-endian whatever the order of the buffer. On
+ * encoding, an exception (such as {@link BufferOverflowException}) leaves the
+ * position of the buffer unchanged. On decoding, units and converters nested
+ * more than 32 levels deep are rejected. Instances are thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantityCodec {
+
+	// Kinds of units encoded from their structure.
+	private static final int PRODUCT = 0;
+	private static final int TRANSFORMED = 1;
+	private static final int ALTERNATE = 2;
+	private static final int BASE = 3;
+	private static final int ANNOTATED = 4;
+
+	// Kinds of converters.
+	private static final byte IDENTITY = 0;
+	private static final byte RATIONAL = 1;
+	private static final byte BIG_RATIONAL = 2;
+	private static final byte MULTIPLY = 3;
+	private static final byte ADD = 4;
+	private static final byte AFFINE = 5;
+	private static final byte EXP = 6;
+	private static final byte LOG = 7;
+	private static final byte PI_MULTIPLIER = 8;
+	private static final byte PI_DIVISOR = 9;
+	private static final byte PAIR = 10;
+	private static final byte STEPS = 11;
+
+	// Kinds of values.
+	private static final byte LONG = 0;
+	private static final byte INTEGER = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte FLOAT = 3;
+	private static final byte BIG_INTEGER = 4;
+	private static final byte BIG_DECIMAL = 5;
+
+	/**
+	 * The standard dimensions of base units, by identifier (append only).
+	 */
+	private static final Dimension[] DIMENSIONS = { QuantityDimension.NONE,
+			QuantityDimension.LENGTH, QuantityDimension.MASS,
+			QuantityDimension.TIME, QuantityDimension.ELECTRIC_CURRENT,
+			QuantityDimension.TEMPERATURE,
+			QuantityDimension.AMOUNT_OF_SUBSTANCE,
+			QuantityDimension.LUMINOUS_INTENSITY };
+
+	private static final UnitConverter PI_MULTIPLIER_INVERSE = new PiMultiplierConverter()
+			.inverse();
+
+	// Maximum nesting of units and converters, bounds the decoding recursion.
+	private static final int MAX_DEPTH = 32;
+
+	private static final QuantityCodec INSTANCE = new QuantityCodec();
+
+	private QuantityCodec() {
+	}
+
+	/**
+	 * Returns the quantity codec.
+	 * 
+	 * @return the codec instance.
+	 */
+	public static QuantityCodec getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Writes the specified unit.
+	 * 
+	 * @param unit
+	 *            the unit to encode.
+	 * @param out
+	 *            the destination buffer.
+	 * @throws IllegalArgumentException
+	 *             if the unit (or one of its converters) is not supported.
+	 * @throws BufferOverflowException
+	 *             if the buffer is too small.
+	 */
+	public void encode(Unit<?> unit, ByteBuffer out) {
+		final int start = out.position();
+		final ByteOrder order = out.order();
+		try {
+			out.order(ByteOrder.BIG_ENDIAN);
+			writeUnit(unit, out);
+		} catch (RuntimeException e) {
+			out.position(start);
+			throw e;
+		} finally {
+			out.order(order);
+		}
+	}
+
+	/**
+	 * Writes the specified quantity (value then unit).
+	 * 
+	 * @param quantity
+	 *            the quantity to encode.
+	 * @param out
+	 *            the destination buffer.
+	 * @throws IllegalArgumentException
+	 *             if the value type or the unit is not supported.
+	 * @throws BufferOverflowException
+	 *             if the buffer is too small.
+	 */
+	public void encode(Quantity<?> quantity, ByteBuffer out) {
+		final int start = out.position();
+		final ByteOrder order = out.order();
+		try {
+			out.order(ByteOrder.BIG_ENDIAN);
+			writeValue(quantity.getValue(), out);
+			writeUnit(quantity.getUnit(), out);
+		} catch (RuntimeException e) {
+			out.position(start);
+			throw e;
+		} finally {
+			out.order(order);
+		}
+	}
+
+	/**
+	 * Writes a column of values stated in the same unit; the unit is written
+	 * once, followed by the IEEE 754 form of each value.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param offset
+	 *            the index of the first value to encode.
+	 * @param length
+	 *            the number of values to encode.
+	 * @param unit
+	 *            the unit of all values.
+	 * @param out
+	 *            the destination buffer.
+	 * @throws BufferOverflowException
+	 *             if the buffer is too small.
+	 */
+	public void encode(double[] values, int offset, int length, Unit<?> unit,
+			ByteBuffer out) {
+		checkRange(values.length, offset, length);
+		final int start = out.position();
+		final ByteOrder order = out.order();
+		try {
+			out.order(ByteOrder.BIG_ENDIAN);
+			writeUnit(unit, out);
+			out.put(DOUBLE);
+			writeVarLong(length, out);
+			if (out.remaining() < 8 * length)
+				throw new BufferOverflowException();
+			out.asDoubleBuffer().put(values, offset, length);
+			out.position(out.position() + 8 * length);
+		} catch (RuntimeException e) {
+			out.position(start);
+			throw e;
+		} finally {
+			out.order(order);
+		}
+	}
+
+	/**
+	 * Writes a column of values stated in the same unit; the unit is written
+	 * once, followed by the variable length form of each value.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param offset
+	 *            the index of the first value to encode.
+	 * @param length
+	 *            the number of values to encode.
+	 * @param unit
+	 *            the unit of all values.
+	 * @param out
+	 *            the destination buffer.
+	 * @throws BufferOverflowException
+	 *             if the buffer is too small.
+	 */
+	public void encode(long[] values, int offset, int length, Unit<?> unit,
+			ByteBuffer out) {
+		checkRange(values.length, offset, length);
+		final int start = out.position();
+		final ByteOrder order = out.order();
+		try {
+			out.order(ByteOrder.BIG_ENDIAN);
+			writeUnit(unit, out);
+			out.put(LONG);
+			writeVarLong(length, out);
+			for (int i = offset, end = offset + length; i < end; i++) {
+				writeVarLong(zigZag(values[i]), out);
+			}
+		} catch (RuntimeException e) {
+			out.position(start);
+			throw e;
+		} finally {
+			out.order(order);
+		}
+	}
+
+	/**
+	 * Writes the values of the specified array (see
+	 * {@link #encode(double[], int, int, Unit, ByteBuffer)}).
+	 * 
+	 * @param array
+	 *            the quantities to encode.
+	 * @param out
+	 *            the destination buffer.
+	 * @throws BufferOverflowException
+	 *             if the buffer is too small.
+	 */
+	public void encode(QuantityArray<?> array, ByteBuffer out) {
+		final double[] values = array.toDoubleArray();
+		encode(values, 0, values.length, array.getUnit(), out);
+	}
+
+	/**
+	 * Reads a unit.
+	 * 
+	 * @param in
+	 *            the source buffer.
+	 * @return the decoded unit.
+	 * @throws ParserException
+	 *             if the data is not a valid unit encoding.
+	 * @throws java.nio.BufferUnderflowException
+	 *             if the data is truncated.
+	 */
+	public Unit<?> decodeUnit(ByteBuffer in) throws ParserException {
+		final ByteOrder order = in.order();
+		try {
+			in.order(ByteOrder.BIG_ENDIAN);
+			return readUnit(in, 0);
+		} finally {
+			in.order(order);
+		}
+	}
+
+	/**
+	 * Reads a quantity. Values encoded from a <code>Short</code> or a
+	 * <code>Byte</code> are decoded as <code>Integer</code>.
+	 * 
+	 * @param in
+	 *            the source buffer.
+	 * @return the decoded quantity.
+	 * @throws ParserException
+	 *             if the data is not a valid quantity encoding.
+	 * @throws java.nio.BufferUnderflowException
+	 *             if the data is truncated.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Quantity<?> decodeQuantity(ByteBuffer in) throws ParserException {
+		final ByteOrder order = in.order();
+		try {
+			in.order(ByteOrder.BIG_ENDIAN);
+			final int position = in.position();
+			final byte kind = in.get();
+			switch (kind) {
+			case LONG: {
+				final long value = unZigZag(readVarLong(in));
+				return NumberQuantity.of(value, (Unit) readUnit(in, 0));
+			}
+			case INTEGER: {
+				final long value = unZigZag(readVarLong(in));
+				if ((int) value != value)
+					throw new ParserException("Integer out of range", position);
+				return NumberQuantity.of((int) value, (Unit) readUnit(in, 0));
+			}
+			case DOUBLE: {
+				final double value = in.getDouble();
+				return NumberQuantity.of(value, (Unit) readUnit(in, 0));
+			}
+			case FLOAT: {
+				final float value = in.getFloat();
+				return NumberQuantity.of(value, (Unit) readUnit(in, 0));
+			}
+			case BIG_INTEGER: {
+				final BigInteger value = readBigInteger(in);
+				return Quantities.getQuantity(value, (Unit) readUnit(in, 0));
+			}
+			case BIG_DECIMAL: {
+				final long scale = unZigZag(readVarLong(in));
+				if ((int) scale != scale)
+					throw new ParserException("Scale out of range", position);
+				final BigDecimal value = new BigDecimal(readBigInteger(in),
+						(int) scale);
+				return Quantities.getQuantity(value, (Unit) readUnit(in, 0));
+			}
+			default:
+				throw new ParserException("Unknown value kind " + kind,
+						position);
+			}
+		} finally {
+			in.order(order);
+		}
+	}
+
+	/**
+	 * Reads a column of values written by one of the <code>encode</code>
+	 * methods taking an array.
+	 * 
+	 * @param in
+	 *            the source buffer.
+	 * @return the decoded quantities (<code>double</code> or
+	 *         <code>long</code> based, as encoded).
+	 * @throws ParserException
+	 *             if the data is not a valid column encoding.
+	 * @throws java.nio.BufferUnderflowException
+	 *             if the data is truncated.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public QuantityArray<?> decodeArray(ByteBuffer in) throws ParserException {
+		final ByteOrder order = in.order();
+		try {
+			in.order(ByteOrder.BIG_ENDIAN);
+			final Unit unit = readUnit(in, 0);
+			final int position = in.position();
+			final byte kind = in.get();
+			final long length = readVarLong(in);
+			if ((length < 0) || (length > in.remaining()))
+				throw new ParserException("Invalid column length " + length,
+						position);
+			if (kind == DOUBLE) {
+				final double[] values = new double[(int) length];
+				if (in.remaining() < 8 * values.length)
+					throw new java.nio.BufferUnderflowException();
+				in.asDoubleBuffer().get(values);
+				in.position(in.position() + 8 * values.length);
+				return QuantityArray.of(values, unit);
+			} else if (kind == LONG) {
+				final long[] values = new long[(int) length];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = unZigZag(readVarLong(in));
+				}
+				return QuantityArray.of(values, unit);
+			}
+			throw new ParserException("Unknown column kind " + kind, position);
+		} finally {
+			in.order(order);
+		}
+	}
+
+	// ////////////////
+	// Units.
+
+	private static void writeUnit(Unit<?> unit, ByteBuffer out) {
+		final int code = UnitIds.codeOf(unit);
+		if (code >= 0) {
+			writeVarLong((long) code << 1, out);
+			return;
+		}
+		if (unit instanceof ProductUnit) {
+			final ProductUnit<?> product = (ProductUnit<?>) unit;
+			writeKind(PRODUCT, out);
+			writeVarLong(product.getUnitCount(), out);
+			for (int i = 0; i < product.getUnitCount(); i++) {
+				writeUnit(product.getUnit(i), out);
+				writeVarLong(zigZag(product.getUnitPow(i)), out);
+				writeVarLong(product.getUnitRoot(i), out);
+			}
+		} else if (unit instanceof TransformedUnit) {
+			final TransformedUnit<?> transformed = (TransformedUnit<?>) unit;
+			writeKind(TRANSFORMED, out);
+			writeUnit(transformed.getParentUnit(), out);
+			writeConverter(transformed.getConverter(), out);
+		} else if (unit instanceof AlternateUnit) {
+			final AlternateUnit<?> alternate = (AlternateUnit<?>) unit;
+			writeKind(ALTERNATE, out);
+			writeUnit(alternate.getParentUnit(), out);
+			writeString(alternate.getSymbol(), out);
+		} else if (unit instanceof BaseUnit) {
+			writeKind(BASE, out);
+			writeString(unit.getSymbol(), out);
+			writeDimension(unit, out);
+		} else if (unit instanceof AnnotatedUnit) {
+			final AnnotatedUnit<?> annotated = (AnnotatedUnit<?>) unit;
+			writeKind(ANNOTATED, out);
+			writeUnit(annotated.getActualUnit(), out);
+			writeString(annotated.getAnnotation(), out);
+		} else {
+			throw new IllegalArgumentException("Unsupported unit: " + unit);
+		}
+	}
+
+	private static void writeKind(int kind, ByteBuffer out) {
+		writeVarLong(((long) kind << 1) | 1, out);
+	}
+
+	private static void writeDimension(Unit<?> unit, ByteBuffer out) {
+		final Dimension dimension = unit.getDimension();
+		for (int i = 0; i < DIMENSIONS.length; i++) {
+			if (DIMENSIONS[i].equals(dimension)) {
+				writeVarLong(i, out);
+				return;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported dimension "
+				+ dimension + " of " + unit);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Unit<?> readUnit(ByteBuffer in, int depth)
+			throws ParserException {
+		final int position = in.position();
+		if (depth > MAX_DEPTH)
+			throw new ParserException("Nesting too deep", position);
+		final long header = readVarLong(in);
+		if ((header & 1) == 0) {
+			final Unit<?> unit = UnitIds.unitOf((int) Math.min(header >>> 1,
+					Integer.MAX_VALUE));
+			if (unit == null)
+				throw new ParserException("Unknown unit " + (header >>> 1),
+						position);
+			return unit;
+		}
+		switch ((int) (header >>> 1)) {
+		case PRODUCT: {
+			final long count = readVarLong(in);
+			if ((count < 1) || (count > in.remaining()))
+				throw new ParserException("Invalid product", position);
+			Unit result = AbstractUnit.ONE;
+			for (long i = 0; i < count; i++) {
+				Unit element = readUnit(in, depth + 1);
+				final long pow = unZigZag(readVarLong(in));
+				final long root = readVarLong(in);
+				if ((pow == 0) || ((int) pow != pow) || (root < 1)
+						|| (root > Integer.MAX_VALUE))
+					throw new ParserException("Invalid exponent", position);
+				if (root != 1) {
+					element = element.root((int) root);
+				}
+				if (pow != 1) {
+					element = element.pow((int) pow);
+				}
+				result = result.multiply(element);
+			}
+			return result;
+		}
+		case TRANSFORMED: {
+			final Unit parent = readUnit(in, depth + 1);
+			final UnitConverter converter = readConverter(in, depth + 1);
+			try {
+				return new TransformedUnit(parent, converter);
+			} catch (RuntimeException e) { // Not a system unit.
+				throw new ParserException(e);
+			}
+		}
+		case ALTERNATE: {
+			final Unit parent = readUnit(in, depth + 1);
+			try {
+				return new AlternateUnit(parent, readString(in));
+			} catch (RuntimeException e) { // Not a system unit.
+				throw new ParserException(e);
+			}
+		}
+		case BASE: {
+			final String symbol = readString(in);
+			final long dimension = readVarLong(in);
+			if ((dimension < 0) || (dimension >= DIMENSIONS.length))
+				throw new ParserException("Unknown dimension " + dimension,
+						position);
+			return new BaseUnit(symbol, DIMENSIONS[(int) dimension]);
+		}
+		case ANNOTATED: {
+			final Unit actual = readUnit(in, depth + 1);
+			return new AnnotatedUnit(actual, readString(in));
+		}
+		default:
+			throw new ParserException("Unknown unit kind " + (header >>> 1),
+					position);
+		}
+	}
+
+	// ////////////////
+	// Converters.
+
+	private static void writeConverter(UnitConverter converter, ByteBuffer out) {
+		if (converter.equals(AbstractConverter.IDENTITY)) {
+			out.put(IDENTITY);
+		} else if (converter instanceof RationalConverter) {
+			final RationalConverter rational = (RationalConverter) converter;
+			final BigInteger dividend = rational.getExactDividend();
+			final BigInteger divisor = rational.getExactDivisor();
+			if ((dividend.bitLength() < 64) && (divisor.bitLength() < 64)) {
+				out.put(RATIONAL);
+				writeVarLong(zigZag(dividend.longValue()), out);
+				writeVarLong(divisor.longValue(), out);
+			} else {
+				out.put(BIG_RATIONAL);
+				writeBytes(dividend.toByteArray(), out);
+				writeBytes(divisor.toByteArray(), out);
+			}
+		} else if (converter instanceof MultiplyConverter) {
+			out.put(MULTIPLY);
+			out.putDouble(((MultiplyConverter) converter).getFactor());
+		} else if (converter instanceof AddConverter) {
+			out.put(ADD);
+			out.putDouble(((AddConverter) converter).getOffset());
+		} else if (converter instanceof AffineConverter) {
+			out.put(AFFINE);
+			out.putDouble(((AffineConverter) converter).getScale());
+			out.putDouble(((AffineConverter) converter).getOffset());
+		} else if (converter instanceof ExpConverter) {
+			out.put(EXP);
+			out.putDouble(((ExpConverter) converter).getBase());
+		} else if (converter instanceof LogConverter) {
+			out.put(LOG);
+			out.putDouble(((LogConverter) converter).getBase());
+		} else if (converter instanceof PiMultiplierConverter) {
+			out.put(PI_MULTIPLIER);
+		} else if (converter.equals(PI_MULTIPLIER_INVERSE)) {
+			out.put(PI_DIVISOR);
+		} else if (converter instanceof AbstractConverter.Pair) {
+			out.put(PAIR);
+			writeConverter(((AbstractConverter.Pair) converter).getLeft(), out);
+			writeConverter(((AbstractConverter.Pair) converter).getRight(), out);
+		} else {
+			final List<? extends UnitConverter> steps = converter
+					.getConversionSteps();
+			if ((steps.size() < 2) || steps.contains(converter))
+				throw new IllegalArgumentException("Unsupported converter: "
+						+ converter);
+			out.put(STEPS);
+			writeVarLong(steps.size(), out);
+			for (UnitConverter step : steps) {
+				writeConverter(step, out);
+			}
+		}
+	}
+
+	private static UnitConverter readConverter(ByteBuffer in, int depth)
+			throws ParserException {
+		final int position = in.position();
+		if (depth > MAX_DEPTH)
+			throw new ParserException("Nesting too deep", position);
+		final byte kind = in.get();
+		switch (kind) {
+		case IDENTITY:
+			return AbstractConverter.IDENTITY;
+		case RATIONAL: {
+			final long dividend = unZigZag(readVarLong(in));
+			final long divisor = readVarLong(in);
+			if (divisor <= 0)
+				throw new ParserException("Invalid divisor", position);
+			return RationalConverter.of(dividend, divisor);
+		}
+		case BIG_RATIONAL: {
+			final BigInteger dividend = readBigInteger(in);
+			final BigInteger divisor = readBigInteger(in);
+			if (divisor.signum() <= 0)
+				throw new ParserException("Invalid divisor", position);
+			return RationalConverter.of(dividend, divisor);
+		}
+		case MULTIPLY:
+			return new MultiplyConverter(in.getDouble());
+		case ADD:
+			return new AddConverter(in.getDouble());
+		case AFFINE: {
+			final double scale = in.getDouble();
+			return new AffineConverter(scale, in.getDouble());
+		}
+		case EXP:
+			return new ExpConverter(in.getDouble());
+		case LOG:
+			return new LogConverter(in.getDouble());
+		case PI_MULTIPLIER:
+			return new PiMultiplierConverter();
+		case PI_DIVISOR:
+			return PI_MULTIPLIER_INVERSE;
+		case PAIR: {
+			final UnitConverter left = readConverter(in, depth + 1);
+			return new AbstractConverter.Pair(left, readConverter(in, depth + 1));
+		}
+		case STEPS: {
+			final long count = readVarLong(in);
+			if ((count < 2) || (count > in.remaining()))
+				throw new ParserException("Invalid steps", position);
+			UnitConverter result = readConverter(in, depth + 1);
+			for (long i = 1; i < count; i++) {
+				result = result.concatenate(readConverter(in, depth + 1));
+			}
+			return result;
+		}
+		default:
+			throw new ParserException("Unknown converter kind " + kind,
+					position);
+		}
+	}
+
+	// ////////////////
+	// Values.
+
+	private static void writeValue(Number value, ByteBuffer out) {
+		if (value instanceof Long) {
+			out.put(LONG);
+			writeVarLong(zigZag(value.longValue()), out);
+		} else if ((value instanceof Integer) || (value instanceof Short)
+				|| (value instanceof Byte)) {
+			out.put(INTEGER);
+			writeVarLong(zigZag(value.intValue()), out);
+		} else if (value instanceof Double) {
+			out.put(DOUBLE);
+			out.putDouble(value.doubleValue());
+		} else if (value instanceof Float) {
+			out.put(FLOAT);
+			out.putFloat(value.floatValue());
+		} else if (value instanceof BigInteger) {
+			out.put(BIG_INTEGER);
+			writeBytes(((BigInteger) value).toByteArray(), out);
+		} else if (value instanceof BigDecimal) {
+			final BigDecimal decimal = (BigDecimal) value;
+			out.put(BIG_DECIMAL);
+			writeVarLong(zigZag(decimal.scale()), out);
+			writeBytes(decimal.unscaledValue().toByteArray(), out);
+		} else {
+			throw new IllegalArgumentException("Unsupported value type: "
+					+ ((value == null) ? null : value.getClass()));
+		}
+	}
+
+	// ////////////////
+	// Primitives.
+
+	private static void writeVarLong(long value, ByteBuffer out) {
+		while ((value & ~0x7FL) != 0) {
+			out.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.put((byte) value);
+	}
+
+	private static long readVarLong(ByteBuffer in) throws ParserException {
+		final int position = in.position();
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = in.get();
+			result |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return result;
+		}
+		throw new ParserException("Malformed variable length integer",
+				position);
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeBytes(byte[] bytes, ByteBuffer out) {
+		writeVarLong(bytes.length, out);
+		out.put(bytes);
+	}
+
+	private static byte[] readBytes(ByteBuffer in) throws ParserException {
+		final int position = in.position();
+		final long length = readVarLong(in);
+		if ((length < 0) || (length > in.remaining()))
+			throw new ParserException("Invalid length " + length, position);
+		final byte[] bytes = new byte[(int) length];
+		in.get(bytes);
+		return bytes;
+	}
+
+	private static BigInteger readBigInteger(ByteBuffer in)
+			throws ParserException {
+		final int position = in.position();
+		final byte[] bytes = readBytes(in);
+		if (bytes.length == 0)
+			throw new ParserException("Empty integer", position);
+		return new BigInteger(bytes);
+	}
+
+	private static void writeString(String str, ByteBuffer out) {
+		writeBytes(str.getBytes(StandardCharsets.UTF_8), out);
+	}
+
+	private static String readString(ByteBuffer in) throws ParserException {
+		return new String(readBytes(in), StandardCharsets.UTF_8);
+	}
+
+	private static void checkRange(int size, int offset, int length) {
+		if ((offset < 0) || (length < 0) || (offset > size - length))
+			throw new IndexOutOfBoundsException("Offset: " + offset
+					+ ", Length: " + length + ", Size: " + size);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format.binary;
+
+import static tec.units.ri.unit.MetricPrefix.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.measure.Unit;
+
+import tec.units.ri.unit.MetricPrefix;
+import tec.units.ri.unit.Units;
+
+/**
+ * <p>
+ * The stable identifiers of the standard units and of their metric
+ * prefixed forms.
+ * </p>
+ * 
+ * <p>
+ * The code of a unit is <code>id * 21 + prefix</code>, where
+ * <code>id</code> is the index of the unit in {@link #UNITS} and
+ * <code>prefix</code> is <code>0</code> (no prefix) or one plus the index
+ * of the prefix in {@link #PREFIXES}. Both tables are part of the wire
+ * format: entries may only be appended.
+ * </p>
+ *
+ * @version 0.1
+ */
+final class UnitIds {
+
+	/**
+	 * The standard units, by identifier (append only).
+	 */
+	private static final Unit<?>[] UNITS = { Units.ONE, Units.METRE,
+			Units.KILOGRAM, Units.SECOND, Units.AMPERE, Units.KELVIN,
+			Units.MOLE, Units.CANDELA, Units.GRAM, Units.RADIAN,
+			Units.STERADIAN, Units.HERTZ, Units.NEWTON, Units.PASCAL,
+			Units.JOULE, Units.WATT, Units.COULOMB, Units.VOLT, Units.FARAD,
+			Units.OHM, Units.SIEMENS, Units.WEBER, Units.TESLA, Units.HENRY,
+			Units.CELSIUS, Units.LUMEN, Units.LUX, Units.BECQUEREL,
+			Units.GRAY, Units.SIEVERT, Units.KATAL, Units.METRES_PER_SECOND,
+			Units.METRES_PER_SQUARE_SECOND, Units.SQUARE_METRE,
+			Units.CUBIC_METRE, Units.KILOMETRES_PER_HOUR,
+			Units.AMPERE_PER_METRE, Units.CANDELA_PER_SQUARE_METRE,
+			Units.PERCENT, Units.LITRE, Units.MINUTE, Units.HOUR, Units.DAY,
+			Units.WEEK, Units.YEAR };
+
+	/**
+	 * The metric prefixes, by identifier (append only).
+	 */
+	private static final MetricPrefix[] PREFIXES = { YOTTA, ZETTA, EXA, PETA,
+			TERA, GIGA, MEGA, KILO, HECTO, DEKA, DECI, CENTI, MILLI, MICRO,
+			NANO, PICO, FEMTO, ATTO, ZEPTO, YOCTO };
+
+	private static final int SLOTS = 21; // PREFIXES.length + 1, fixed.
+
+	/**
+	 * Holds the unit of each code.
+	 */
+	private static final Unit<?>[] BY_CODE = new Unit<?>[UNITS.length * SLOTS];
+
+	/**
+	 * Holds the code of each unit (the smallest one if several codes denote
+	 * equal units).
+	 */
+	private static final Map<Unit<?>, Integer> CODES = new HashMap<Unit<?>, Integer>();
+
+	static {
+		for (int id = 0; id < UNITS.length; id++) {
+			BY_CODE[id * SLOTS] = UNITS[id];
+			if (!CODES.containsKey(UNITS[id])) {
+				CODES.put(UNITS[id], id * SLOTS);
+			}
+		}
+		for (int id = 0; id < UNITS.length; id++) {
+			for (int p = 0; p < PREFIXES.length; p++) {
+				final Unit<?> unit = UNITS[id].transform(PREFIXES[p].getConverter());
+				final int code = id * SLOTS + p + 1;
+				BY_CODE[code] = unit;
+				if (!CODES.containsKey(unit)) {
+					CODES.put(unit, code);
+				}
+			}
+		}
+	}
+
+	private UnitIds() {
+	}
+
+	/**
+	 * Returns the code of the specified unit.
+	 * 
+	 * @return the code or <code>-1</code> if the unit is not a standard
+	 *         (prefixed) unit.
+	 */
+	static int codeOf(Unit<?> unit) {
+		final Integer code = CODES.get(unit);
+		return (code == null) ? -1 : code.intValue();
+	}
+
+	/**
+	 * Returns the unit having the specified code.
+	 * 
+	 * @return the unit or <code>null</code> if the code is unknown.
+	 */
+	static Unit<?> unitOf(int code) {
+		return ((code >= 0) && (code < BY_CODE.length)) ? BY_CODE[code] : null;
+	}
+}
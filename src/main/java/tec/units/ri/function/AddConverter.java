@@ -94,6 +94,26 @@ public final class AddConverter extends AbstractConverter implements ValueSuppli
         return value + offset;
     }
 
+    @Override
+    public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double o = offset;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = src[srcOff + i] + o;
+        }
+    }
+
+    @Override
+    public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double o = offset;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (float) (src[srcOff + i] + o);
+        }
+    }
+
 //    @Override
 //    public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
 //        return value.add(BigDecimal.valueOf(offset), ctx);
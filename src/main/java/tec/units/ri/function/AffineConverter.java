@@ -0,0 +1,196 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.uom.lib.common.function.ValueSupplier;
+
+/**
+ * <p>
+ * This class represents an affine converter <code>x -> scale * x + offset</code>
+ * (<code>double</code> based).
+ * </p>
+ * 
+ * <p>
+ * Such converters are typically the result of
+ * {@link tec.units.ri.AbstractConverter.Pair#normalize() normalizing} a chain
+ * of {@link RationalConverter}, {@link MultiplyConverter},
+ * {@link PiMultiplierConverter} and {@link AddConverter} steps, so that the
+ * whole chain costs a single multiply-add per value.
+ * </p>
+ * 
+ * @version 0.1
+ */
+public final class AffineConverter extends AbstractConverter implements
+		ValueSupplier<String> {
+
+	/**
+	 * Holds the scale factor.
+	 */
+	private final double scale;
+
+	/**
+	 * Holds the offset (added after scaling).
+	 */
+	private final double offset;
+
+	/**
+	 * Creates an affine converter with the specified scale factor and offset.
+	 * 
+	 * @param scale
+	 *            the scaling factor.
+	 * @param offset
+	 *            the offset added after scaling.
+	 * @throws IllegalArgumentException
+	 *             if <code>scale == 0</code> (not invertible) or if
+	 *             <code>scale == 1 && offset == 0</code> (would result in
+	 *             identity converter)
+	 */
+	public AffineConverter(double scale, double offset) {
+		if (scale == 0.0)
+			throw new IllegalArgumentException("Scale factor cannot be zero");
+		if ((scale == 1.0) && (offset == 0.0))
+			throw new IllegalArgumentException(
+					"Would result in identity converter");
+		this.scale = scale;
+		this.offset = offset;
+	}
+
+	/**
+	 * Returns the converter <code>x -> scale * x + offset</code>, or the
+	 * identity converter if <code>scale == 1 && offset == 0</code>.
+	 * 
+	 * @param scale
+	 *            the scaling factor.
+	 * @param offset
+	 *            the offset added after scaling.
+	 * @return the corresponding converter.
+	 */
+	public static AbstractConverter of(double scale, double offset) {
+		return ((scale == 1.0) && (offset == 0.0)) ? IDENTITY
+				: new AffineConverter(scale, offset);
+	}
+
+	/**
+	 * Returns the scale factor of this converter.
+	 * 
+	 * @return the scale factor.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Returns the offset of this converter.
+	 * 
+	 * @return the offset added after scaling.
+	 */
+	public double getOffset() {
+		return offset;
+	}
+
+	@Override
+	public UnitConverter concatenate(UnitConverter converter) {
+		if (converter instanceof AffineConverter) {
+			AffineConverter that = (AffineConverter) converter;
+			return of(scale * that.scale, scale * that.offset + offset);
+		}
+		if (converter instanceof AddConverter) {
+			return of(scale, scale * ((AddConverter) converter).getOffset()
+					+ offset);
+		}
+		if (converter.isLinear() && !converter.isIdentity()) {
+			return of(scale * converter.convert(1.0), offset);
+		}
+		return super.concatenate(converter);
+	}
+
+	@Override
+	public AffineConverter inverse() {
+		return new AffineConverter(1.0 / scale, -offset / scale);
+	}
+
+	@Override
+	public double convert(double value) {
+		return value * scale + offset;
+	}
+
+	@Override
+	public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		final double a = scale;
+		final double b = offset;
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = src[srcOff + i] * a + b;
+		}
+	}
+
+	@Override
+	public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		final double a = scale;
+		final double b = offset;
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = (float) (src[srcOff + i] * a + b);
+		}
+	}
+
+	@Override
+	public final String toString() {
+		return "AffineConverter(" + scale + "," + offset + ")";
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof AffineConverter))
+			return false;
+		AffineConverter that = (AffineConverter) obj;
+		return (this.scale == that.scale) && (this.offset == that.offset);
+	}
+
+	@Override
+	public int hashCode() {
+		long bits = Double.doubleToLongBits(scale) * 31
+				+ Double.doubleToLongBits(offset);
+		return (int) (bits ^ (bits >>> 32));
+	}
+
+	public boolean isLinear() {
+		return offset == 0.0;
+	}
+
+	public String getValue() {
+		return toString();
+	}
+}
@@ -116,6 +116,26 @@ public final class ExpConverter extends AbstractConverter
             return MathUtil.exp(logOfBase * amount);
     }
 
+    @Override
+    public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double l = logOfBase;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = MathUtil.exp(l * src[srcOff + i]);
+        }
+    }
+
+    @Override
+    public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double l = logOfBase;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (float) (MathUtil.exp(l * src[srcOff + i]));
+        }
+    }
+
 //    @Override
 //    public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
 //        return BigDecimal.valueOf(convert(value.doubleValue())); // Reverts to double conversion.
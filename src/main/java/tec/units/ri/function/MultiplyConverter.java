@@ -100,6 +100,26 @@ public final class MultiplyConverter extends AbstractConverter implements
 		return value * factor;
 	}
 
+	@Override
+	public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		final double f = factor;
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = src[srcOff + i] * f;
+		}
+	}
+
+	@Override
+	public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		final double f = factor;
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = (float) (src[srcOff + i] * f);
+		}
+	}
+
 	@Override
 	public final String toString() {
 		return "MultiplyConverter(" + factor + ")";
@@ -32,6 +32,9 @@ package tec.units.ri.function;
 import java.util.Comparator;
 
 import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.units.ri.AbstractQuantity;
 
 /**
  * Comparator to sort by natural order, looking both the unit and the value.
@@ -42,16 +45,18 @@ import javax.measure.Quantity;
  * <p>Quantity<Time> minutes = Quantities.getQuantity(15, Units.HOUR);</p>
  * <p>Quantity<Time> seconds = Quantities.getQuantity(100, Units.HOUR);</p>
  * will return: seconds, minutes, hours, day
+ * <p>The second quantity is converted into the unit of the first one through the (cached)
+ * unit converter; no intermediate quantity is created.</p>
+ * @see QuantitySort
  */
 public class NaturalOrder<T extends Quantity<T>> implements Comparator <Quantity<T>> {
 
     @Override
     public int compare(Quantity<T> q1, Quantity<T> q2) {
-        if (q1.getUnit().equals(q2.getUnit())) {
-            return Double.compare(q1.getValue().doubleValue(), q2.getValue()
-                    .doubleValue());
-        }
-        return Double.compare(q1.getValue().doubleValue(), q2.to(q1.getUnit())
-                .getValue().doubleValue());
+        final Unit<T> unit = q1.getUnit();
+        final Unit<T> thatUnit = q2.getUnit();
+        final double value = AbstractQuantity.doubleValueOf(q2);
+        return Double.compare(AbstractQuantity.doubleValueOf(q1), (unit == thatUnit) || unit.equals(thatUnit) ? value
+                : thatUnit.getConverterTo(unit).convert(value));
     }
 }
@@ -56,6 +56,24 @@ public final class PiMultiplierConverter extends AbstractConverter implements
 		return value * PI;
 	}
 
+	@Override
+	public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = src[srcOff + i] * PI;
+		}
+	}
+
+	@Override
+	public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+		checkRange(src.length, srcOff, len);
+		checkRange(dst.length, dstOff, len);
+		for (int i = 0; i < len; i++) {
+			dst[dstOff + i] = (float) (src[srcOff + i] * PI);
+		}
+	}
+
 //	@Override
 //	public BigDecimal convert(BigDecimal value, MathContext ctx)
 //			throws ArithmeticException {
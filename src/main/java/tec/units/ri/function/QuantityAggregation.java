@@ -0,0 +1,313 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.units.ri.quantity.NumberQuantity;
+
+/**
+ * <p>
+ * Aggregates (sum, mean, minimum, maximum, percentiles) of collections of
+ * quantities, computed sequentially or in parallel.
+ * </p>
+ * 
+ * <p>
+ * The parallel methods split a snapshot of the collection into chunks
+ * processed by a {@link ForkJoinPool}; each chunk is normalized to the target
+ * unit through a single cached converter and accumulated into primitive
+ * values ({@link QuantityStatistics}), then partial results are combined. No
+ * intermediate quantity is created per element.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantityAggregation {
+
+	/**
+	 * The default number of elements below which a chunk is processed
+	 * sequentially.
+	 */
+	public static final int DEFAULT_THRESHOLD = 8192;
+
+	private QuantityAggregation() {
+	}
+
+	/**
+	 * Holds the pool used when none is specified (created on first use).
+	 */
+	private static final class DefaultPool {
+		static final ForkJoinPool INSTANCE = new ForkJoinPool();
+	}
+
+	/**
+	 * Returns the statistics of the specified quantities, computed
+	 * sequentially.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the results.
+	 * @return the statistics stated in the specified unit.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the specified unit.
+	 */
+	public static <Q extends Quantity<Q>> QuantityStatistics<Q> statistics(
+			Collection<? extends Quantity<Q>> quantities, Unit<Q> unit) {
+		final QuantityStatistics<Q> statistics = new QuantityStatistics<Q>(unit);
+		for (Quantity<Q> quantity : quantities) {
+			statistics.accept(quantity);
+		}
+		return statistics;
+	}
+
+	/**
+	 * Returns the statistics of the specified quantities, computed in
+	 * parallel by a shared pool.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the results.
+	 * @return the statistics stated in the specified unit.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the specified unit.
+	 */
+	public static <Q extends Quantity<Q>> QuantityStatistics<Q> parallelStatistics(
+			Collection<? extends Quantity<Q>> quantities, Unit<Q> unit) {
+		return parallelStatistics(quantities, unit, DefaultPool.INSTANCE, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Returns the statistics of the specified quantities, computed in
+	 * parallel by the specified pool.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the results.
+	 * @param pool
+	 *            the pool executing the computation.
+	 * @param threshold
+	 *            the number of elements below which a chunk is processed
+	 *            sequentially.
+	 * @return the statistics stated in the specified unit.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the specified unit.
+	 */
+	public static <Q extends Quantity<Q>> QuantityStatistics<Q> parallelStatistics(
+			Collection<? extends Quantity<Q>> quantities, Unit<Q> unit, ForkJoinPool pool, int threshold) {
+		checkThreshold(threshold);
+		final Object[] elements = quantities.toArray();
+		return pool.invoke(new StatisticsTask<Q>(elements, 0, elements.length, unit, threshold));
+	}
+
+	/**
+	 * Returns the sum of the specified quantities (see
+	 * {@link #parallelStatistics(Collection, Unit)}).
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the result.
+	 * @return the compensated sum.
+	 */
+	public static <Q extends Quantity<Q>> Quantity<Q> sum(Collection<? extends Quantity<Q>> quantities,
+			Unit<Q> unit) {
+		return parallelStatistics(quantities, unit).getSum();
+	}
+
+	/**
+	 * Returns the arithmetic mean of the specified quantities (see
+	 * {@link #parallelStatistics(Collection, Unit)}).
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the result.
+	 * @return the mean.
+	 * @throws NoSuchElementException
+	 *             if the collection is empty.
+	 */
+	public static <Q extends Quantity<Q>> Quantity<Q> mean(Collection<? extends Quantity<Q>> quantities,
+			Unit<Q> unit) {
+		if (quantities.isEmpty())
+			throw new NoSuchElementException();
+		return parallelStatistics(quantities, unit).getAverage();
+	}
+
+	/**
+	 * Returns the specified percentile of the quantities, using linear
+	 * interpolation between closest ranks (the 50th percentile is the
+	 * median).
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the result.
+	 * @param percentile
+	 *            the percentile, in <code>[0, 100]</code>.
+	 * @return the percentile stated in the specified unit.
+	 * @throws NoSuchElementException
+	 *             if the collection is empty.
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in <code>[0, 100]</code>.
+	 */
+	public static <Q extends Quantity<Q>> Quantity<Q> percentile(Collection<? extends Quantity<Q>> quantities,
+			Unit<Q> unit, double percentile) {
+		return NumberQuantity.of(percentiles(quantities, unit, percentile)[0], unit);
+	}
+
+	/**
+	 * Returns the specified percentiles of the quantities (see
+	 * {@link #percentile(Collection, Unit, double)}). The values are
+	 * normalized to the specified unit in parallel and sorted once.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the results.
+	 * @param percentiles
+	 *            the percentiles, in <code>[0, 100]</code>.
+	 * @return the values of the percentiles stated in the specified unit.
+	 * @throws NoSuchElementException
+	 *             if the collection is empty.
+	 * @throws IllegalArgumentException
+	 *             if a percentile is not in <code>[0, 100]</code>.
+	 */
+	public static <Q extends Quantity<Q>> double[] percentiles(Collection<? extends Quantity<Q>> quantities,
+			Unit<Q> unit, double... percentiles) {
+		for (double p : percentiles) {
+			if (!(p >= 0 && p <= 100))
+				throw new IllegalArgumentException("Percentile " + p + " not in [0, 100]");
+		}
+		final Object[] elements = quantities.toArray();
+		if (elements.length == 0)
+			throw new NoSuchElementException();
+		final double[] values = new double[elements.length];
+		DefaultPool.INSTANCE.invoke(new NormalizeTask<Q>(elements, values, 0, elements.length, unit,
+				DEFAULT_THRESHOLD));
+		Arrays.sort(values);
+		final double[] results = new double[percentiles.length];
+		for (int i = 0; i < percentiles.length; i++) {
+			final double rank = percentiles[i] / 100 * (values.length - 1);
+			final int lo = (int) rank;
+			final int hi = Math.min(lo + 1, values.length - 1);
+			results[i] = values[lo] + (rank - lo) * (values[hi] - values[lo]);
+		}
+		return results;
+	}
+
+	private static void checkThreshold(int threshold) {
+		if (threshold < 1)
+			throw new IllegalArgumentException("Threshold: " + threshold);
+	}
+
+	/**
+	 * Accumulates a chunk of quantities, splitting it while larger than the
+	 * threshold.
+	 */
+	@SuppressWarnings("serial")
+	private static final class StatisticsTask<Q extends Quantity<Q>> extends RecursiveTask<QuantityStatistics<Q>> {
+		private final Object[] elements;
+		private final int from;
+		private final int to;
+		private final Unit<Q> unit;
+		private final int threshold;
+
+		StatisticsTask(Object[] elements, int from, int to, Unit<Q> unit, int threshold) {
+			this.elements = elements;
+			this.from = from;
+			this.to = to;
+			this.unit = unit;
+			this.threshold = threshold;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected QuantityStatistics<Q> compute() {
+			if (to - from <= threshold) {
+				final QuantityStatistics<Q> statistics = new QuantityStatistics<Q>(unit);
+				for (int i = from; i < to; i++) {
+					statistics.accept((Quantity<Q>) elements[i]);
+				}
+				return statistics;
+			}
+			final int mid = (from + to) >>> 1;
+			final StatisticsTask<Q> right = new StatisticsTask<Q>(elements, mid, to, unit, threshold);
+			right.fork();
+			final QuantityStatistics<Q> left = new StatisticsTask<Q>(elements, from, mid, unit, threshold)
+					.compute();
+			return left.combine(right.join());
+		}
+	}
+
+	/**
+	 * States a chunk of quantities in the target unit, splitting it while
+	 * larger than the threshold.
+	 */
+	@SuppressWarnings("serial")
+	private static final class NormalizeTask<Q extends Quantity<Q>> extends RecursiveAction {
+		private final Object[] elements;
+		private final double[] values;
+		private final int from;
+		private final int to;
+		private final Unit<Q> unit;
+		private final int threshold;
+
+		NormalizeTask(Object[] elements, double[] values, int from, int to, Unit<Q> unit, int threshold) {
+			this.elements = elements;
+			this.values = values;
+			this.from = from;
+			this.to = to;
+			this.unit = unit;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				QuantitySort.toKeys(elements, from, to, unit, values);
+				return;
+			}
+			final int mid = (from + to) >>> 1;
+			invokeAll(new NormalizeTask<Q>(elements, values, from, mid, unit, threshold),
+					new NormalizeTask<Q>(elements, values, mid, to, unit, threshold));
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractQuantity;
+
+/**
+ * <p>
+ * Sorts lists of quantities by magnitude.
+ * </p>
+ * 
+ * <p>
+ * The value of each quantity is first stated in a common unit, once, into a
+ * primitive <code>double</code> key (a unit converter is looked up only when
+ * the unit changes from one element to the next); the keys are then sorted
+ * along with the element positions, and the list is reordered. Unlike
+ * sorting with {@link NaturalOrder}, no conversion is performed during the
+ * sort itself and no object is allocated per comparison. The sort is stable
+ * and orders keys as {@link Double#compare(double, double)}.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class QuantitySort {
+
+	/**
+	 * Sub-arrays of this size or smaller are sorted by insertion.
+	 */
+	private static final int INSERTION_THRESHOLD = 32;
+
+	private QuantitySort() {
+	}
+
+	/**
+	 * Sorts the specified list in ascending order, comparing the values
+	 * stated in the unit of the first element.
+	 * 
+	 * @param list
+	 *            the list to sort.
+	 * @throws UnsupportedOperationException
+	 *             if the list is not modifiable.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the common unit.
+	 */
+	public static <Q extends Quantity<Q>> void sort(List<? extends Quantity<Q>> list) {
+		if (list.size() > 1) {
+			sort(list, list.get(0).getUnit());
+		}
+	}
+
+	/**
+	 * Sorts the specified list in ascending order, comparing the values
+	 * stated in the specified unit.
+	 * 
+	 * @param list
+	 *            the list to sort.
+	 * @param unit
+	 *            the common unit.
+	 * @throws UnsupportedOperationException
+	 *             if the list is not modifiable.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the common unit.
+	 */
+	public static <Q extends Quantity<Q>> void sort(List<? extends Quantity<Q>> list, Unit<Q> unit) {
+		final Object[] elements = list.toArray();
+		final int n = elements.length;
+		if (n < 2)
+			return;
+		final double[] keys = new double[n];
+		final int[] positions = new int[n];
+		toKeys(elements, 0, elements.length, unit, keys);
+		for (int i = 0; i < n; i++) {
+			positions[i] = i;
+		}
+		sort(keys, positions);
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		final List<Object> target = (List) list;
+		if (list instanceof RandomAccess) {
+			for (int i = 0; i < n; i++) {
+				target.set(i, elements[positions[i]]);
+			}
+		} else {
+			final ListIterator<Object> it = target.listIterator();
+			for (int i = 0; i < n; i++) {
+				it.next();
+				it.set(elements[positions[i]]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the values of the specified quantities stated in the specified
+	 * unit.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the common unit.
+	 * @return the values, in iteration order.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if a quantity cannot be stated in the common unit.
+	 */
+	public static <Q extends Quantity<Q>> double[] toDoubleArray(List<? extends Quantity<Q>> quantities,
+			Unit<Q> unit) {
+		final Object[] elements = quantities.toArray();
+		final double[] keys = new double[elements.length];
+		toKeys(elements, 0, elements.length, unit, keys);
+		return keys;
+	}
+
+	/**
+	 * States the quantities at the positions <code>[from, to)</code> in the
+	 * specified unit, storing their values at the same positions of the keys.
+	 * The converter is looked up only when the unit changes.
+	 */
+	@SuppressWarnings("unchecked")
+	static <Q extends Quantity<Q>> void toKeys(Object[] elements, int from, int to, Unit<Q> unit, double[] keys) {
+		Unit<Q> lastUnit = unit;
+		UnitConverter converter = null; // Identity.
+		for (int i = from; i < to; i++) {
+			final Quantity<Q> quantity = (Quantity<Q>) elements[i];
+			final Unit<Q> u = quantity.getUnit();
+			if (u != lastUnit) {
+				converter = u.equals(unit) ? null : u.getConverterTo(unit);
+				lastUnit = u;
+			}
+			final double value = AbstractQuantity.doubleValueOf(quantity);
+			keys[i] = (converter == null) ? value : converter.convert(value);
+		}
+	}
+
+	/**
+	 * Stable merge sort of the specified keys, permuting the positions
+	 * accordingly.
+	 */
+	static void sort(double[] keys, int[] positions) {
+		final int n = keys.length;
+		for (int lo = 0; lo < n; lo += INSERTION_THRESHOLD) {
+			insertionSort(keys, positions, lo, Math.min(lo + INSERTION_THRESHOLD, n));
+		}
+		if (n <= INSERTION_THRESHOLD)
+			return;
+		double[] srcKeys = keys;
+		int[] srcPositions = positions;
+		double[] dstKeys = new double[n];
+		int[] dstPositions = new int[n];
+		for (int width = INSERTION_THRESHOLD; width < n; width *= 2) {
+			for (int lo = 0; lo < n; lo += 2 * width) {
+				final int mid = Math.min(lo + width, n);
+				final int hi = Math.min(lo + 2 * width, n);
+				merge(srcKeys, srcPositions, dstKeys, dstPositions, lo, mid, hi);
+			}
+			final double[] k = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = k;
+			final int[] p = srcPositions;
+			srcPositions = dstPositions;
+			dstPositions = p;
+		}
+		if (srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, 0, n);
+			System.arraycopy(srcPositions, 0, positions, 0, n);
+		}
+	}
+
+	private static void insertionSort(double[] keys, int[] positions, int lo, int hi) {
+		for (int i = lo + 1; i < hi; i++) {
+			final double key = keys[i];
+			final int position = positions[i];
+			int j = i - 1;
+			while ((j >= lo) && (Double.compare(keys[j], key) > 0)) {
+				keys[j + 1] = keys[j];
+				positions[j + 1] = positions[j];
+				j--;
+			}
+			keys[j + 1] = key;
+			positions[j + 1] = position;
+		}
+	}
+
+	private static void merge(double[] srcKeys, int[] srcPositions, double[] dstKeys, int[] dstPositions,
+			int lo, int mid, int hi) {
+		if ((mid >= hi) || (Double.compare(srcKeys[mid - 1], srcKeys[mid]) <= 0)) { // Already ordered.
+			System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo);
+			System.arraycopy(srcPositions, lo, dstPositions, lo, hi - lo);
+			return;
+		}
+		int i = lo;
+		int j = mid;
+		for (int k = lo; k < hi; k++) {
+			if ((j >= hi) || ((i < mid) && (Double.compare(srcKeys[i], srcKeys[j]) <= 0))) {
+				dstKeys[k] = srcKeys[i];
+				dstPositions[k] = srcPositions[i++];
+			} else {
+				dstKeys[k] = srcKeys[j];
+				dstPositions[k] = srcPositions[j++];
+			}
+		}
+	}
+}
@@ -0,0 +1,299 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractQuantity;
+import tec.units.ri.quantity.NumberQuantity;
+
+/**
+ * <p>
+ * A mutable accumulator of count, sum, minimum and maximum of quantities
+ * stated in a common unit.
+ * </p>
+ * 
+ * <p>
+ * Each accepted quantity is converted to the unit of this accumulator (the
+ * converter is looked up only when the unit changes from one quantity to the
+ * next) and accumulated into primitive fields; the sum is compensated
+ * (Kahan-Babuska summation), so that adding many small values to a large
+ * one does not lose them. Partial results, for example computed by separate
+ * threads, are merged with {@link #combine(QuantityStatistics)}.
+ * </p>
+ * 
+ * <p>
+ * The constructor, {@link #accept(Quantity)} and
+ * {@link #combine(QuantityStatistics)} are the supplier, accumulator and
+ * combiner of a mutable reduction; for example with Java 8 streams:
+ * <code>stream.collect(() -> new QuantityStatistics&lt;Q&gt;(unit), QuantityStatistics::accept, QuantityStatistics::combine)</code>.
+ * Instances are not thread-safe.
+ * </p>
+ * 
+ * @param <Q>
+ *            The type of the quantities.
+ * @see QuantityAggregation
+ * @version 0.1
+ */
+public final class QuantityStatistics<Q extends Quantity<Q>> {
+
+	private final Unit<Q> unit;
+	private long count;
+	private double sum;
+	private double compensation;
+	private double simpleSum; // Used if the compensated sum is NaN (infinite values).
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private Unit<Q> lastUnit;
+	private UnitConverter lastConverter; // null for identity
+
+	/**
+	 * Creates an empty accumulator.
+	 * 
+	 * @param unit
+	 *            the unit in which values are accumulated and results are
+	 *            stated.
+	 */
+	public QuantityStatistics(Unit<Q> unit) {
+		if (unit == null)
+			throw new NullPointerException();
+		this.unit = unit;
+		this.lastUnit = unit;
+	}
+
+	/**
+	 * Accumulates the specified quantity.
+	 * 
+	 * @param quantity
+	 *            the quantity.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if the quantity cannot be stated in the unit of this
+	 *             accumulator.
+	 */
+	public void accept(Quantity<Q> quantity) {
+		final Unit<Q> u = quantity.getUnit();
+		if (u != lastUnit) {
+			lastConverter = u.equals(unit) ? null : u.getConverterTo(unit);
+			lastUnit = u;
+		}
+		final double value = AbstractQuantity.doubleValueOf(quantity);
+		accept((lastConverter == null) ? value : lastConverter.convert(value));
+	}
+
+	/**
+	 * Accumulates the specified value, stated in the unit of this
+	 * accumulator.
+	 * 
+	 * @param value
+	 *            the value.
+	 */
+	public void accept(double value) {
+		count++;
+		add(value);
+		simpleSum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Merges the state of another accumulator into this one.
+	 * 
+	 * @param other
+	 *            the other accumulator.
+	 * @return this accumulator.
+	 * @throws javax.measure.UnconvertibleException
+	 *             if the other accumulator has an incompatible unit.
+	 * @throws IllegalArgumentException
+	 *             if the conversion between the units is not affine (e.g.
+	 *             logarithmic).
+	 */
+	public QuantityStatistics<Q> combine(QuantityStatistics<Q> other) {
+		if (other.count == 0)
+			return this;
+		if (other.unit.equals(unit)) {
+			count += other.count;
+			add(other.sum);
+			add(other.compensation);
+			simpleSum += other.simpleSum;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+			return this;
+		}
+		final UnitConverter converter = other.unit.getConverterTo(unit);
+		final double[] affine = toAffine(converter);
+		final double scale = affine[0];
+		final double offset = affine[1] * other.count; // The offset applies to each value.
+		count += other.count;
+		add(scale * other.getSumValue());
+		add(offset);
+		simpleSum += scale * other.simpleSum + offset;
+		final double a = converter.convert(other.min);
+		final double b = converter.convert(other.max);
+		min = Math.min(min, Math.min(a, b)); // Conversion may reverse the order.
+		max = Math.max(max, Math.max(a, b));
+		return this;
+	}
+
+	/**
+	 * Returns the scale and offset of the specified converter.
+	 */
+	private static double[] toAffine(UnitConverter converter) {
+		if (converter instanceof AbstractConverter.Pair) {
+			converter = ((AbstractConverter.Pair) converter).normalize();
+		}
+		if (converter.isLinear())
+			return new double[] { converter.convert(1.0), 0.0 };
+		if (converter instanceof AddConverter)
+			return new double[] { 1.0, ((AddConverter) converter).getOffset() };
+		if (converter instanceof AffineConverter)
+			return new double[] { ((AffineConverter) converter).getScale(),
+					((AffineConverter) converter).getOffset() };
+		throw new IllegalArgumentException("Cannot combine statistics through the non-affine converter "
+				+ converter);
+	}
+
+	/**
+	 * Neumaier variant of Kahan summation.
+	 */
+	private void add(double value) {
+		final double t = sum + value;
+		if (Math.abs(sum) >= Math.abs(value)) {
+			compensation += (sum - t) + value;
+		} else {
+			compensation += (value - t) + sum;
+		}
+		sum = t;
+	}
+
+	/**
+	 * Returns the unit of the results.
+	 * 
+	 * @return the unit in which values are accumulated.
+	 */
+	public Unit<Q> getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the number of quantities accumulated.
+	 * 
+	 * @return the count.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the (compensated) sum of the values.
+	 * 
+	 * @return the sum, or <code>0</code> if no value has been accumulated.
+	 */
+	public double getSumValue() {
+		final double result = sum + compensation;
+		return (Double.isNaN(result) && Double.isInfinite(simpleSum)) ? simpleSum : result;
+	}
+
+	/**
+	 * Returns the arithmetic mean of the values.
+	 * 
+	 * @return the mean, or <code>0</code> if no value has been accumulated.
+	 */
+	public double getAverageValue() {
+		return (count > 0) ? getSumValue() / count : 0.0;
+	}
+
+	/**
+	 * Returns the minimum value.
+	 * 
+	 * @return the minimum, or <code>Double.POSITIVE_INFINITY</code> if no value
+	 *         has been accumulated.
+	 */
+	public double getMinValue() {
+		return min;
+	}
+
+	/**
+	 * Returns the maximum value.
+	 * 
+	 * @return the maximum, or <code>Double.NEGATIVE_INFINITY</code> if no value
+	 *         has been accumulated.
+	 */
+	public double getMaxValue() {
+		return max;
+	}
+
+	/**
+	 * Returns the sum of the quantities.
+	 * 
+	 * @return the sum stated in the unit of this accumulator.
+	 */
+	public Quantity<Q> getSum() {
+		return NumberQuantity.of(getSumValue(), unit);
+	}
+
+	/**
+	 * Returns the arithmetic mean of the quantities.
+	 * 
+	 * @return the mean, or <code>null</code> if no quantity has been
+	 *         accumulated.
+	 */
+	public Quantity<Q> getAverage() {
+		return (count > 0) ? NumberQuantity.of(getAverageValue(), unit) : null;
+	}
+
+	/**
+	 * Returns the smallest quantity.
+	 * 
+	 * @return the minimum, or <code>null</code> if no quantity has been
+	 *         accumulated.
+	 */
+	public Quantity<Q> getMin() {
+		return (count > 0) ? NumberQuantity.of(min, unit) : null;
+	}
+
+	/**
+	 * Returns the largest quantity.
+	 * 
+	 * @return the maximum, or <code>null</code> if no quantity has been
+	 *         accumulated.
+	 */
+	public Quantity<Q> getMax() {
+		return (count > 0) ? NumberQuantity.of(max, unit) : null;
+	}
+
+	@Override
+	public String toString() {
+		return "QuantityStatistics[count=" + count + ", sum=" + getSumValue() + ", min=" + min + ", average="
+				+ getAverageValue() + ", max=" + max + ", unit=" + unit + "]";
+	}
+}
@@ -30,7 +30,11 @@
 package tec.units.ri.function;
 
 import static tec.units.ri.internal.MathUtil.gcd;
-import static tec.units.ri.internal.MathUtil.negateExact;
+import static tec.units.ri.internal.MathUtil.multiplyExact;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 import javax.measure.UnitConverter;
 
@@ -40,11 +44,16 @@ import tec.uom.lib.common.function.ValueSupplier;
 /**
  * <p> This class represents a converter multiplying numeric values by an
  *     exact scaling factor (represented as the quotient of two
- *     <code>double</code> numbers).</p>
+ *     integer numbers).</p>
+ *
+ * <p> The quotient is always kept in canonical form (reduced, positive
+ *     divisor). It is held as <code>long</code> values and falls back to
+ *     {@link BigInteger} only when the reduced terms overflow; hence
+ *     equal factors always yield equal converters.</p>
  *
  * @author  <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 0.7, December 28, 2015
+ * @version 0.8, October 18, 2016
  */
 public final class RationalConverter extends AbstractConverter 
 	implements ValueSupplier<Double> {
@@ -55,26 +64,99 @@ public final class RationalConverter extends AbstractConverter
 //	private static final long serialVersionUID = 1L;
 
 	/**
-     * Holds the converter dividend.
+     * Holds the converter dividend (if it fits in a <code>long</code>).
+     */
+    private final long dividend;
+
+    /**
+     * Holds the converter divisor (always positive, if it fits in a <code>long</code>).
+     */
+    private final long divisor;
+
+    /**
+     * Holds the converter dividend, or <code>null</code> if the terms fit in a <code>long</code>.
+     */
+    private final BigInteger bigDividend;
+
+    /**
+     * Holds the converter divisor, or <code>null</code> if the terms fit in a <code>long</code>.
      */
-    private final double dividend;
+    private final BigInteger bigDivisor;
 
     /**
-     * Holds the converter divisor (always positive).
+     * Holds the scaling factor <code>dividend / divisor</code>.
      */
-    private final double divisor;
+    private final double factor;
+
+    /**
+     * Constructor
+     *
+     * @param dividend the dividend.
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code>
+     */
+    public RationalConverter (long dividend, long divisor) {
+    	this(BigInteger.valueOf(dividend), BigInteger.valueOf(divisor));
+    }
 
     /**
      * Constructor
      *
      * @param dividend the dividend.
-     * @param divisor the positive divisor.
-     * @throws IllegalArgumentException if <code>divisor &lt;= 0</code>
-     * @throws IllegalArgumentException if <code>dividend == divisor</code>
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code>
+     */
+    public RationalConverter (BigInteger dividend, BigInteger divisor) {
+    	if (divisor.signum() == 0)
+    		throw new IllegalArgumentException("Divisor cannot be zero");
+    	if (divisor.signum() < 0) {
+    		dividend = dividend.negate();
+    		divisor = divisor.negate();
+    	}
+    	final BigInteger gcd = dividend.gcd(divisor);
+    	if (!BigInteger.ONE.equals(gcd)) {
+    		dividend = dividend.divide(gcd);
+    		divisor = divisor.divide(gcd);
+    	}
+    	if ((dividend.bitLength() < 64) && (divisor.bitLength() < 64)) {
+    		this.dividend = dividend.longValue();
+    		this.divisor = divisor.longValue();
+    		this.bigDividend = null;
+    		this.bigDivisor = null;
+    		this.factor = (double) this.dividend / (double) this.divisor;
+    	} else {
+    		this.dividend = 0;
+    		this.divisor = 0;
+    		this.bigDividend = dividend;
+    		this.bigDivisor = divisor;
+    		this.factor = new BigDecimal(dividend).divide(new BigDecimal(divisor),
+    				MathContext.DECIMAL128).doubleValue();
+    	}
+    }
+
+    /**
+     * Constructor; the specified <code>double</code> values are converted
+     * exactly (every finite <code>double</code> is a rational number).
+     *
+     * @param dividend the dividend.
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code> or
+     *         if either value is not finite.
      */
     public RationalConverter (double dividend, double divisor) {
+    	this(numerator(dividend).multiply(denominator(divisor)),
+    			denominator(dividend).multiply(numerator(divisor)));
+    }
+
+    /**
+     * Creates a converter from terms already in canonical form.
+     */
+    private RationalConverter(long dividend, long divisor, double factor) {
     	this.dividend = dividend;
     	this.divisor = divisor;
+    	this.bigDividend = null;
+    	this.bigDivisor = null;
+    	this.factor = factor;
     }
 
     /**
@@ -82,34 +164,44 @@ public final class RationalConverter extends AbstractConverter
      * <code>new RationalConverter(dividend, divisor)</code>
      *
      * @param dividend the dividend.
-     * @param divisor the positive divisor.
-     * @throws IllegalArgumentException if <code>divisor &lt;= 0</code>
-     * @throws IllegalArgumentException if <code>dividend == divisor</code>
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code>
      */
     public static final RationalConverter of(long dividend, long divisor) {
-    	return new RationalConverter((double)dividend, (double)divisor);
+    	return new RationalConverter(dividend, divisor);
     }
-    
+
+    /**
+     * Convenience method equivalent to
+     * <code>new RationalConverter(dividend, divisor)</code>
+     *
+     * @param dividend the dividend.
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code>
+     */
+    public static final RationalConverter of(BigInteger dividend, BigInteger divisor) {
+    	return new RationalConverter(dividend, divisor);
+    }
+
     /**
      * Convenience method equivalent to
      * <code>new RationalConverter(dividend, divisor)</code>
      *
      * @param dividend the dividend.
-     * @param divisor the positive divisor.
-     * @throws IllegalArgumentException if <code>divisor &lt;= 0</code>
-     * @throws IllegalArgumentException if <code>dividend == divisor</code>
+     * @param divisor the divisor.
+     * @throws IllegalArgumentException if <code>divisor == 0</code>
      */
     public static final RationalConverter of(double dividend, double divisor) {
     	return new RationalConverter(dividend, divisor);
     }
-    
+
     /**
      * Returns the integer dividend for this rational converter.
      *
      * @return this converter dividend.
      */
     public double getDividend() {
-        return dividend;
+        return (bigDividend == null) ? (double) dividend : bigDividend.doubleValue();
     }
 
     /**
@@ -118,12 +210,50 @@ public final class RationalConverter extends AbstractConverter
      * @return this converter divisor.
      */
     public double getDivisor() {
-        return divisor;
+        return (bigDivisor == null) ? (double) divisor : bigDivisor.doubleValue();
+    }
+
+    /**
+     * Returns the exact integer dividend for this rational converter.
+     *
+     * @return this converter dividend.
+     */
+    public BigInteger getExactDividend() {
+        return (bigDividend == null) ? BigInteger.valueOf(dividend) : bigDividend;
+    }
+
+    /**
+     * Returns the exact integer (positive) divisor for this rational converter.
+     *
+     * @return this converter divisor.
+     */
+    public BigInteger getExactDivisor() {
+        return (bigDivisor == null) ? BigInteger.valueOf(divisor) : bigDivisor;
     }
 
     @Override
     public double convert(double value) {
-        return value * ((double) dividend / (double)divisor);
+        return value * factor;
+    }
+
+    @Override
+    public void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double f = factor;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = src[srcOff + i] * f;
+        }
+    }
+
+    @Override
+    public void convert(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        final double f = factor;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (float) (src[srcOff + i] * f);
+        }
     }
 
     @Override
@@ -131,24 +261,40 @@ public final class RationalConverter extends AbstractConverter
         if (!(converter instanceof RationalConverter))
             return super.concatenate(converter);
         RationalConverter that = (RationalConverter) converter;
-        double newDividend = this.getDividend() * that.getDividend();
-        double newDivisor = this.getDivisor() * that.getDivisor();
-        double gcd = gcd(newDividend,newDivisor);
-        newDividend = newDividend / gcd; // TODO clarify if this works with long
-        newDivisor = newDivisor / gcd;
-        return (newDividend == 1 && newDivisor == 1)
-                ? IDENTITY : new RationalConverter(newDividend, newDivisor);
+        if ((this.bigDividend == null) && (that.bigDividend == null)
+                && (this.dividend != Long.MIN_VALUE) && (that.dividend != Long.MIN_VALUE)) {
+            // Cross-reduction keeps the result canonical without a final gcd.
+            final long g1 = gcd(Math.abs(this.dividend), that.divisor);
+            final long g2 = gcd(Math.abs(that.dividend), this.divisor);
+            try {
+                final long newDividend = multiplyExact(this.dividend / g1, that.dividend / g2);
+                final long newDivisor = multiplyExact(this.divisor / g2, that.divisor / g1);
+                if (newDividend == 1 && newDivisor == 1)
+                    return IDENTITY;
+                return new RationalConverter(newDividend, newDivisor,
+                        (double) newDividend / (double) newDivisor);
+            } catch (ArithmeticException e) {
+                // Overflow, falls back to BigInteger.
+            }
+        }
+        RationalConverter result = new RationalConverter(
+                this.getExactDividend().multiply(that.getExactDividend()),
+                this.getExactDivisor().multiply(that.getExactDivisor()));
+        return (result.bigDividend == null && result.dividend == 1 && result.divisor == 1)
+                ? IDENTITY : result;
     }
 
     @Override
     public RationalConverter inverse() {
-        return Math.signum(dividend) == -1 ? new RationalConverter(negateExact(getDivisor()), negateExact(getDividend()))
-                : new RationalConverter(getDivisor(), getDividend());
+        if ((bigDividend == null) && (dividend > 0)) {
+            return new RationalConverter(divisor, dividend, (double) divisor / (double) dividend);
+        }
+        return new RationalConverter(getExactDivisor(), getExactDividend());
     }
 
     @Override
     public final String toString() {
-        return "RationalConverter(" + dividend + "," + divisor + ")";
+        return "RationalConverter(" + getExactDividend() + "," + getExactDivisor() + ")";
     }
 
     @Override
@@ -156,13 +302,20 @@ public final class RationalConverter extends AbstractConverter
         if (!(obj instanceof RationalConverter))
             return false;
         RationalConverter that = (RationalConverter) obj;
-        return (this.dividend == that.dividend
-                && this.divisor == that.divisor);
+        if (this.bigDividend == null) {
+            return (that.bigDividend == null) && (this.dividend == that.dividend)
+                    && (this.divisor == that.divisor);
+        }
+        return this.bigDividend.equals(that.bigDividend)
+                && this.bigDivisor.equals(that.bigDivisor);
     }
 
     @Override
     public int hashCode() {
-        return Double.valueOf(dividend).hashCode() + Double.valueOf(dividend).hashCode();
+        if (bigDividend == null) {
+            return 31 * (int) (dividend ^ (dividend >>> 32)) + (int) (divisor ^ (divisor >>> 32));
+        }
+        return 31 * bigDividend.hashCode() + bigDivisor.hashCode();
     }
 
     public boolean isLinear() {
@@ -170,10 +323,33 @@ public final class RationalConverter extends AbstractConverter
     }
     
     public double getAsDouble() {
-    	return (double)dividend / (double) divisor;
+    	return factor;
     }
     
 	public Double getValue() {
 		return Double.valueOf(getAsDouble());
 	}
+
+	/**
+	 * Returns the numerator of the exact fraction equal to the specified value.
+	 */
+	private static BigInteger numerator(double value) {
+		final BigDecimal exact = exact(value);
+		return exact.scale() > 0 ? exact.unscaledValue()
+				: exact.unscaledValue().multiply(BigInteger.TEN.pow(-exact.scale()));
+	}
+
+	/**
+	 * Returns the denominator of the exact fraction equal to the specified value.
+	 */
+	private static BigInteger denominator(double value) {
+		final BigDecimal exact = exact(value);
+		return exact.scale() > 0 ? BigInteger.TEN.pow(exact.scale()) : BigInteger.ONE;
+	}
+
+	private static BigDecimal exact(double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value))
+			throw new IllegalArgumentException("Value must be finite: " + value);
+		return new BigDecimal(value);
+	}
 }
@@ -0,0 +1,343 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+/**
+ * <p>
+ * A bounded, thread-safe cache of the converters between two units (
+ * <code>source unit, target unit -> UnitConverter</code>).
+ * </p>
+ * 
+ * <p>
+ * Converters are cached by
+ * {@link tec.units.ri.AbstractUnit#getConverterTo(Unit)} and
+ * {@link tec.units.ri.AbstractUnit#getConverterToAny(Unit)}, so repeated
+ * conversions between the same units no longer rebuild the converter chain.
+ * Lookups do not allocate and never block. When the number of cached
+ * converters exceeds the {@link #getCapacity() capacity}, entries are evicted
+ * until the cache is back to half its capacity.
+ * </p>
+ * 
+ * <p>
+ * The cache is invalidated automatically when the current
+ * {@link tec.units.ri.spi.DimensionalModel} changes. Hit/miss counters are
+ * optional and disabled by default.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class ConverterCache {
+
+	/**
+	 * The default maximum number of cached converters.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Holds the shared instance.
+	 */
+	private static final ConverterCache INSTANCE = new ConverterCache(DEFAULT_CAPACITY);
+
+	/**
+	 * Holds the converters, per source unit and target unit.
+	 */
+	private volatile ConcurrentMap<Unit<?>, ConcurrentMap<Unit<?>, UnitConverter>> converters = new ConcurrentHashMap<Unit<?>, ConcurrentMap<Unit<?>, UnitConverter>>();
+
+	/**
+	 * Holds the (approximate) number of cached converters.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Holds the generation, incremented every time the cache is invalidated.
+	 */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	private volatile int capacity;
+
+	private volatile boolean enabled = true;
+
+	private volatile boolean statisticsEnabled;
+
+	/**
+	 * Creates a cache holding up to the specified number of converters.
+	 * 
+	 * @param capacity
+	 *            the maximum number of converters.
+	 * @throws IllegalArgumentException
+	 *             if <code>capacity &lt; 1</code>
+	 */
+	ConverterCache(int capacity) {
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Returns the converter cache used by the reference implementation.
+	 * 
+	 * @return the shared converter cache.
+	 */
+	public static ConverterCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the cached converter from the source unit to the target unit.
+	 * 
+	 * @param source
+	 *            the source unit.
+	 * @param target
+	 *            the target unit.
+	 * @return the cached converter or <code>null</code> if none.
+	 */
+	public UnitConverter get(Unit<?> source, Unit<?> target) {
+		if (!enabled) {
+			return null;
+		}
+		final ConcurrentMap<Unit<?>, UnitConverter> targets = converters.get(source);
+		final UnitConverter converter = (targets != null) ? targets.get(target) : null;
+		if (statisticsEnabled) {
+			if (converter != null) {
+				hits.incrementAndGet();
+			} else {
+				misses.incrementAndGet();
+			}
+		}
+		return converter;
+	}
+
+	/**
+	 * Returns the current generation of this cache. Callers computing a
+	 * converter should read the generation before starting and pass it to
+	 * {@link #put(Unit, Unit, UnitConverter, int)}, so that a converter computed
+	 * against a model which has been replaced in the meantime is not cached.
+	 * 
+	 * @return the current generation.
+	 */
+	public int getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Caches the converter from the source unit to the target unit.
+	 * 
+	 * @param source
+	 *            the source unit.
+	 * @param target
+	 *            the target unit.
+	 * @param converter
+	 *            the converter from source to target.
+	 * @param generation
+	 *            the {@link #getGeneration() generation} read before the
+	 *            converter was computed.
+	 * @return the converter now cached for these units (<code>converter</code>
+	 *         unless another thread cached one first).
+	 */
+	public UnitConverter put(Unit<?> source, Unit<?> target, UnitConverter converter, int generation) {
+		final ConcurrentMap<Unit<?>, ConcurrentMap<Unit<?>, UnitConverter>> map = converters;
+		if (!enabled || (generation != this.generation.get())) {
+			return converter; // Invalidated in the meantime.
+		}
+		ConcurrentMap<Unit<?>, UnitConverter> targets = map.get(source);
+		if (targets == null) {
+			final ConcurrentMap<Unit<?>, UnitConverter> newTargets = new ConcurrentHashMap<Unit<?>, UnitConverter>(4);
+			targets = map.putIfAbsent(source, newTargets);
+			if (targets == null) {
+				targets = newTargets;
+			}
+		}
+		final UnitConverter previous = targets.putIfAbsent(target, converter);
+		if (previous != null) {
+			return previous;
+		}
+		if (size.incrementAndGet() > capacity) {
+			evict(map);
+		}
+		return converter;
+	}
+
+	/**
+	 * Removes all entries from this cache. This method is called when the
+	 * current {@link tec.units.ri.spi.DimensionalModel} changes.
+	 */
+	public void invalidate() {
+		synchronized (this) {
+			generation.incrementAndGet();
+			converters = new ConcurrentHashMap<Unit<?>, ConcurrentMap<Unit<?>, UnitConverter>>();
+			size.set(0);
+		}
+	}
+
+	private void evict(ConcurrentMap<Unit<?>, ConcurrentMap<Unit<?>, UnitConverter>> map) {
+		synchronized (this) {
+			final int threshold = capacity / 2;
+			final Iterator<ConcurrentMap<Unit<?>, UnitConverter>> it = map.values().iterator();
+			while ((size.get() > threshold) && it.hasNext()) {
+				final int removed = it.next().size();
+				it.remove();
+				size.addAndGet(-removed);
+				evictions.addAndGet(removed);
+			}
+			if (size.get() < 0) {
+				size.set(0);
+			}
+		}
+	}
+
+	/**
+	 * Returns the approximate number of converters in this cache.
+	 * 
+	 * @return the number of cached converters.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Returns the maximum number of converters held by this cache.
+	 * 
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the maximum number of converters held by this cache.
+	 * 
+	 * @param capacity
+	 *            the new capacity.
+	 * @throws IllegalArgumentException
+	 *             if <code>capacity &lt; 1</code>
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Indicates if this cache is enabled (default <code>true</code>).
+	 * 
+	 * @return <code>true</code> if converters are cached.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables this cache. Disabling the cache also invalidates it.
+	 * 
+	 * @param enabled
+	 *            <code>true</code> to cache converters.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Indicates if hits and misses are counted (default <code>false</code>).
+	 * 
+	 * @return <code>true</code> if statistics are enabled.
+	 */
+	public boolean isStatisticsEnabled() {
+		return statisticsEnabled;
+	}
+
+	/**
+	 * Enables or disables hit and miss counting.
+	 * 
+	 * @param statisticsEnabled
+	 *            <code>true</code> to count hits and misses.
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	/**
+	 * Returns the number of lookups which found a cached converter.
+	 * 
+	 * @return the hit count (when statistics are enabled).
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups which did not find a cached converter.
+	 * 
+	 * @return the miss count (when statistics are enabled).
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of converters evicted because the capacity was
+	 * exceeded.
+	 * 
+	 * @return the eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "ConverterCache(size=" + size() + ", capacity=" + capacity + ", hits=" + hits + ", misses=" + misses
+				+ ", evictions=" + evictions + ")";
+	}
+}
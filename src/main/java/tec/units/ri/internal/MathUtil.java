@@ -1124,6 +1124,46 @@ public abstract class MathUtil {
 			return a;
 		return gcd(b, a % b);
 	}
+
+	/**
+	 * Returns the greatest common divisor of two non-negative <code>long</code> values.
+	 */
+	public static long gcd(long a, long b) {
+		while (b != 0) {
+			final long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	/**
+	 * Returns the sum of the arguments, throwing an exception if the result overflows a <code>long</code>.
+	 * (Equivalent of Java 8 <code>Math.addExact</code>)
+	 */
+	public static long addExact(long a, long b) {
+		final long r = a + b;
+		if (((a ^ r) & (b ^ r)) < 0) {
+			throw new ArithmeticException("long overflow");
+		}
+		return r;
+	}
+
+	/**
+	 * Returns the product of the arguments, throwing an exception if the result overflows a <code>long</code>.
+	 * (Equivalent of Java 8 <code>Math.multiplyExact</code>)
+	 */
+	public static long multiplyExact(long a, long b) {
+		final long r = a * b;
+		final long ax = Math.abs(a);
+		final long ay = Math.abs(b);
+		if (((ax | ay) >>> 31 != 0)) {
+			if (((b != 0) && (r / b != a)) || (a == Long.MIN_VALUE && b == -1)) {
+				throw new ArithmeticException("long overflow");
+			}
+		}
+		return r;
+	}
 	
 	private static final double powSqrt(double x, double y)
 	{
@@ -29,13 +29,17 @@
  */
 package tec.units.ri.internal;
 
+import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 import javax.measure.spi.ServiceProvider;
@@ -43,13 +47,20 @@ import javax.measure.spi.ServiceProvider;
 /**
  * This class implements the {@link ServiceProvider} interface and hereby uses the JDK
  * {@link java.util.ServiceLoader} to load the services required.
+ * <p>
+ * Services are discovered once per service type, on first request; threads requesting
+ * a type being discovered wait for that discovery instead of scanning the class path
+ * again. The time taken by each discovery is available from {@link #getDiscoveryNanos(Class)}.
+ * </p>
  *
  * @author Werner Keil
  */
 public class RIServiceProvider implements ServiceProvider {
-    /** List of services loaded, per class. */
+    private static final Logger logger = Logger.getLogger(RIServiceProvider.class.getName());
+
+    /** Services discovered (or being discovered), per class. */
     @SuppressWarnings("rawtypes")
-	private final Map<Class, List<Object>> servicesLoaded = new HashMap<Class, List<Object>>();
+	private final ConcurrentMap<Class, Discovery> servicesLoaded = new ConcurrentHashMap<Class, Discovery>();
     
     @Override
     public int getPriority() {
@@ -63,16 +74,17 @@ public class RIServiceProvider implements ServiceProvider {
      *            The service type.
      * @param <T>
      *            the concrete type.
-     * @return the items found, never {@code null}.
+     * @return the items found (unmodifiable), never {@code null}.
      */
+    @SuppressWarnings("unchecked")
     public <T> List<T> getServices(final Class<T> serviceType) {
-        @SuppressWarnings("unchecked")
-        List<T> found = (List<T>) servicesLoaded.get(serviceType);
-        if (found != null) {
-            return found;
+        Discovery discovery = servicesLoaded.get(serviceType);
+        if (discovery == null) {
+            discovery = new Discovery(serviceType);
+            final Discovery previous = servicesLoaded.putIfAbsent(serviceType, discovery);
+            if (previous != null) discovery = previous;
         }
-
-        return loadServices(serviceType);
+        return (List<T>) discovery.getServices();
     }
 
     public <T> T getService(Class<T> serviceType) {
@@ -84,29 +96,83 @@ public class RIServiceProvider implements ServiceProvider {
     }
 
     /**
-     * Loads and registers services.
+     * Returns the time taken to discover the services of the specified type.
+     *
+     * @param   serviceType  The service type.
+     *
+     * @return  the discovery time in nanoseconds or <code>-1</code> if the services
+     *          of that type have not been discovered yet.
+     */
+    public long getDiscoveryNanos(Class<?> serviceType) {
+        final Discovery discovery = servicesLoaded.get(serviceType);
+        return (discovery != null) ? discovery.nanos : -1;
+    }
+
+    /**
+     * Returns the time taken by every discovery performed so far.
+     *
+     * @return  the discovery times in nanoseconds, per service type (snapshot).
+     */
+    public Map<Class<?>, Long> getDiscoveryNanos() {
+        final Map<Class<?>, Long> times = new HashMap<Class<?>, Long>();
+        for (Discovery discovery : servicesLoaded.values()) {
+            final long nanos = discovery.nanos;
+            if (nanos >= 0) {
+                times.put(discovery.serviceType, nanos);
+            }
+        }
+        return Collections.unmodifiableMap(times);
+    }
+
+    /**
+     * The services of a given type, loaded on first request.
+     */
+    private static final class Discovery {
+        private final Class<?> serviceType;
+        private volatile List<Object> services;
+        private volatile long nanos = -1;
+
+        Discovery(Class<?> serviceType) {
+            this.serviceType = serviceType;
+        }
+
+        List<Object> getServices() {
+            List<Object> result = services;
+            if (result == null) {
+                synchronized (this) {
+                    result = services;
+                    if (result == null) {
+                        final long start = System.nanoTime();
+                        result = Collections.unmodifiableList(loadServices(serviceType));
+                        nanos = System.nanoTime() - start;
+                        services = result;
+                        if (logger.isLoggable(FINE)) {
+                            logger.log(FINE, "Discovered " + result.size() + " service(s) of type "
+                                    + serviceType.getName() + " in " + nanos / 1000 + " us");
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Loads services.
      *
      * @param   serviceType  The service type.
-     * @param   <T>          the concrete type.
      *
      * @return  the items found, never {@code null}.
      */
-    @SuppressWarnings("unchecked")
-	private <T> List<T> loadServices(final Class<T> serviceType) {
-        final List<T> services = new ArrayList<T>();
+	private static List<Object> loadServices(final Class<?> serviceType) {
+        final List<Object> services = new ArrayList<Object>();
         try {
-            for (T t : ServiceLoader.load(serviceType)) {
+            for (Object t : ServiceLoader.load(serviceType)) {
                 services.add(t);
             }
-            if (!servicesLoaded.containsKey(serviceType)) {
-            	final List<T> previousServices = (List<T>) servicesLoaded.put(serviceType, (List<Object>) services);
-            	return (previousServices != null ? previousServices : services);
-            }
-            return services;
         } catch (Exception e) {
-            Logger.getLogger(RIServiceProvider.class.getName()).log(WARNING,
-                                                                         "Error loading services of type " + serviceType, e);
-            return services;
+            logger.log(WARNING, "Error loading services of type " + serviceType, e);
         }
+        return services;
     }
 }
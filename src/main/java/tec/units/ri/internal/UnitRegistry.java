@@ -0,0 +1,213 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.measure.Dimension;
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * An append-only set of units assigning each unit a dense integer identifier
+ * (<code>0, 1, 2...</code> in registration order).
+ * </p>
+ * 
+ * <p>
+ * The dimension and the symbol of a unit are indexed when the unit is added,
+ * so {@link #getUnits(Dimension)}, {@link #getUnit(String)} and
+ * {@link #getId(Unit)} are lookups rather than scans. Units cannot be
+ * removed. Additions are serialized; lookups and iteration never block and
+ * see a consistent snapshot.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class UnitRegistry extends AbstractSet<Unit<?>> {
+
+	/**
+	 * Holds the units, by identifier (only the first {@link #size} entries
+	 * are set).
+	 */
+	private volatile Unit<?>[] units = new Unit<?>[32];
+
+	/**
+	 * Holds the number of units.
+	 */
+	private volatile int size;
+
+	/**
+	 * Holds the unit identifiers.
+	 */
+	private final ConcurrentMap<Unit<?>, Integer> ids = new ConcurrentHashMap<Unit<?>, Integer>();
+
+	/**
+	 * Holds the (unmodifiable) sets of units, per dimension.
+	 */
+	private final ConcurrentMap<Dimension, Set<Unit<?>>> byDimension = new ConcurrentHashMap<Dimension, Set<Unit<?>>>();
+
+	/**
+	 * Holds the first unit registered with a given symbol.
+	 */
+	private final ConcurrentMap<String, Unit<?>> bySymbol = new ConcurrentHashMap<String, Unit<?>>();
+
+	/**
+	 * Adds the specified unit, if not already present.
+	 * 
+	 * @param unit
+	 *            the unit to add.
+	 * @return <code>true</code> if the unit has been added.
+	 */
+	@Override
+	public synchronized boolean add(Unit<?> unit) {
+		if (ids.containsKey(unit))
+			return false;
+		final int id = size;
+		Unit<?>[] array = units;
+		if (id == array.length) {
+			array = Arrays.copyOf(array, id * 2);
+		}
+		array[id] = unit;
+		final Dimension dimension = unit.getDimension();
+		if (dimension != null) {
+			final Set<Unit<?>> previous = byDimension.get(dimension);
+			final Set<Unit<?>> set = (previous == null) ? new LinkedHashSet<Unit<?>>()
+					: new LinkedHashSet<Unit<?>>(previous);
+			set.add(unit);
+			byDimension.put(dimension, Collections.unmodifiableSet(set));
+		}
+		final String symbol = unit.getSymbol();
+		if (symbol != null) {
+			bySymbol.putIfAbsent(symbol, unit);
+		}
+		ids.put(unit, id);
+		units = array;
+		size = id + 1;
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object obj) {
+		return ids.containsKey(obj);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the units in registration order; the iterator does not support
+	 * removal and does not see units added after its creation.
+	 */
+	@Override
+	public Iterator<Unit<?>> iterator() {
+		final int end = size;
+		final Unit<?>[] array = units;
+		return new Iterator<Unit<?>>() {
+			private int index;
+
+			public boolean hasNext() {
+				return index < end;
+			}
+
+			public Unit<?> next() {
+				if (index >= end)
+					throw new NoSuchElementException();
+				return array[index++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException(
+						"Units cannot be removed");
+			}
+		};
+	}
+
+	/**
+	 * Returns the identifier of the specified unit.
+	 * 
+	 * @param unit
+	 *            the unit.
+	 * @return the unit identifier or <code>-1</code> if the unit has not been
+	 *         added.
+	 */
+	public int getId(Unit<?> unit) {
+		final Integer id = ids.get(unit);
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * Returns the unit having the specified identifier.
+	 * 
+	 * @param id
+	 *            the unit identifier.
+	 * @return the corresponding unit.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>id &lt; 0 || id &gt;= size()</code>.
+	 */
+	public Unit<?> getUnit(int id) {
+		final int n = size;
+		if ((id < 0) || (id >= n))
+			throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + n);
+		return units[id];
+	}
+
+	/**
+	 * Returns the first unit added with the specified symbol.
+	 * 
+	 * @param symbol
+	 *            the unit symbol.
+	 * @return the corresponding unit or <code>null</code> if none.
+	 */
+	public Unit<?> getUnit(String symbol) {
+		return bySymbol.get(symbol);
+	}
+
+	/**
+	 * Returns the units of the specified dimension, in registration order.
+	 * 
+	 * @param dimension
+	 *            the dimension.
+	 * @return an unmodifiable set (possibly empty).
+	 */
+	public Set<Unit<?>> getUnits(Dimension dimension) {
+		final Set<Unit<?>> set = byDimension.get(dimension);
+		return (set == null) ? Collections.<Unit<?>> emptySet() : set;
+	}
+}
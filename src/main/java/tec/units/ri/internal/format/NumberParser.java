@@ -0,0 +1,293 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal.format;
+
+import tec.units.ri.internal.format.l10n.ParsePosition;
+
+/**
+ * <p>
+ * Reads a decimal number directly from a <code>CharSequence</code>, without
+ * creating an intermediate <code>String</code>.
+ * </p>
+ * 
+ * <p>
+ * The literal is an optional sign followed by digits, an optional fraction
+ * and an optional exponent (<code>-12.5</code>, <code>6.022E23</code>),
+ * <code>NaN</code> or <code>Infinity</code> (<code>&#x221E;</code>). When
+ * grouping is enabled, commas may separate the digits of the integer part
+ * (<code>1,234.5</code>). A literal without fraction nor exponent whose value
+ * fits in a <code>long</code> is read as a <code>long</code>, any other as a
+ * <code>double</code>. Doubles with at most 15 significant digits and a small
+ * exponent are computed exactly with a single multiplication or division;
+ * the others are delegated to {@link Double#parseDouble(String)}. Instances
+ * are not thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class NumberParser {
+
+	/**
+	 * The largest integer below which all integers are exactly represented as
+	 * <code>double</code>.
+	 */
+	private static final long MAX_EXACT = 1L << 53;
+
+	/**
+	 * The powers of ten exactly represented as <code>double</code>.
+	 */
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5,
+			1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17,
+			1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final boolean grouping;
+
+	private boolean isDouble;
+
+	private long longValue;
+
+	private double doubleValue;
+
+	// Only used for the literals which cannot be computed exactly.
+	private StringBuilder buffer;
+
+	/**
+	 * Creates a number parser.
+	 * 
+	 * @param grouping
+	 *            <code>true</code> if commas are accepted between the digits
+	 *            of the integer part.
+	 */
+	public NumberParser(boolean grouping) {
+		this.grouping = grouping;
+	}
+
+	/**
+	 * Reads the number starting at the index of the specified position. On
+	 * success the index is moved after the last character of the number;
+	 * otherwise the index is left unchanged and the error index is set.
+	 * 
+	 * @param csq
+	 *            the characters to read.
+	 * @param pos
+	 *            the parse position.
+	 * @return <code>true</code> if a number has been read; <code>false</code>
+	 *         otherwise.
+	 */
+	public boolean parse(CharSequence csq, ParsePosition pos) {
+		final int length = csq.length();
+		final int start = pos.getIndex();
+		int i = start;
+		boolean isNegative = false;
+		if (i < length) {
+			final char c = csq.charAt(i);
+			if ((c == '-') || (c == '+')) {
+				isNegative = c == '-';
+				i++;
+			}
+		}
+		if (i >= length) {
+			pos.setErrorIndex(i);
+			return false;
+		}
+		final char first = csq.charAt(i);
+		if ((first < '0' || first > '9') && (first != '.')) {
+			return parseSpecial(csq, i, isNegative, pos);
+		}
+		// Accumulates the significant digits negatively, so that
+		// Long.MIN_VALUE is exact.
+		long m = 0;
+		int exponent = 0; // Of the least significant digit held by m.
+		boolean isTruncated = false;
+		boolean isInteger = true;
+		int digits = 0;
+		for (; i < length; i++) {
+			final char c = csq.charAt(i);
+			if ((c >= '0') && (c <= '9')) {
+				final int d = c - '0';
+				digits++;
+				if (m >= (Long.MIN_VALUE + d) / 10) {
+					m = m * 10 - d;
+				} else {
+					exponent++;
+					isTruncated |= d != 0;
+				}
+			} else if (grouping && (c == ',') && (digits > 0)
+					&& (i + 1 < length) && isDigit(csq.charAt(i + 1))) {
+				continue;
+			} else {
+				break;
+			}
+		}
+		if ((i < length) && (csq.charAt(i) == '.')) {
+			isInteger = false;
+			for (i++; i < length; i++) {
+				final char c = csq.charAt(i);
+				if ((c < '0') || (c > '9'))
+					break;
+				final int d = c - '0';
+				digits++;
+				if (m >= (Long.MIN_VALUE + d) / 10) {
+					m = m * 10 - d;
+					exponent--;
+				} else {
+					isTruncated |= d != 0;
+				}
+			}
+		}
+		if (digits == 0) {
+			pos.setErrorIndex(start);
+			return false;
+		}
+		if ((i < length) && ((csq.charAt(i) == 'e') || (csq.charAt(i) == 'E'))) {
+			int j = i + 1;
+			boolean isExponentNegative = false;
+			if ((j < length) && ((csq.charAt(j) == '-') || (csq.charAt(j) == '+'))) {
+				isExponentNegative = csq.charAt(j) == '-';
+				j++;
+			}
+			if ((j < length) && isDigit(csq.charAt(j))) {
+				int e = 0;
+				for (; (j < length) && isDigit(csq.charAt(j)); j++) {
+					if (e < 100000) { // Beyond any double.
+						e = e * 10 + (csq.charAt(j) - '0');
+					}
+				}
+				exponent += isExponentNegative ? -e : e;
+				isInteger = false;
+				i = j;
+			} // Otherwise the 'e' is not part of the number.
+		}
+		pos.setIndex(i);
+		if (isInteger && !isTruncated && (exponent == 0)
+				&& (isNegative || (m != Long.MIN_VALUE))) {
+			isDouble = false;
+			longValue = isNegative ? m : -m;
+			return true;
+		}
+		isDouble = true;
+		if (m == 0) {
+			doubleValue = isNegative ? -0.0 : 0.0;
+		} else if (!isTruncated && (m >= -MAX_EXACT)
+				&& (exponent >= -22) && (exponent <= 22)) {
+			final double value = -(double) m;
+			doubleValue = isNegative ? -value : value;
+			doubleValue = (exponent < 0) ? doubleValue / POW10[-exponent]
+					: doubleValue * POW10[exponent];
+		} else {
+			doubleValue = parseDouble(csq, start, i);
+		}
+		return true;
+	}
+
+	/**
+	 * Indicates if the last number read is a <code>double</code>.
+	 * 
+	 * @return <code>true</code> if the number is a <code>double</code>;
+	 *         <code>false</code> if it is a <code>long</code>.
+	 */
+	public boolean isDouble() {
+		return isDouble;
+	}
+
+	/**
+	 * Returns the last number read as a <code>long</code>.
+	 * 
+	 * @return the <code>long</code> value (only meaningful if not
+	 *         {@link #isDouble()}).
+	 */
+	public long longValue() {
+		return longValue;
+	}
+
+	/**
+	 * Returns the last number read as a <code>double</code>.
+	 * 
+	 * @return the <code>double</code> value.
+	 */
+	public double doubleValue() {
+		return isDouble ? doubleValue : longValue;
+	}
+
+	private boolean parseSpecial(CharSequence csq, int index,
+			boolean isNegative, ParsePosition pos) {
+		if (regionMatches(csq, index, "NaN")) {
+			if (index == pos.getIndex()) { // No sign allowed.
+				isDouble = true;
+				doubleValue = Double.NaN;
+				pos.setIndex(index + 3);
+				return true;
+			}
+		} else if (regionMatches(csq, index, "Infinity")) {
+			return setInfinity(isNegative, index + 8, pos);
+		} else if (csq.charAt(index) == '\u221E') {
+			return setInfinity(isNegative, index + 1, pos);
+		}
+		pos.setErrorIndex(index);
+		return false;
+	}
+
+	private boolean setInfinity(boolean isNegative, int end, ParsePosition pos) {
+		isDouble = true;
+		doubleValue = isNegative ? Double.NEGATIVE_INFINITY
+				: Double.POSITIVE_INFINITY;
+		pos.setIndex(end);
+		return true;
+	}
+
+	private double parseDouble(CharSequence csq, int start, int end) {
+		if (buffer == null) {
+			buffer = new StringBuilder();
+		}
+		buffer.setLength(0);
+		for (int i = start; i < end; i++) {
+			final char c = csq.charAt(i);
+			if (c != ',') {
+				buffer.append(c);
+			}
+		}
+		return Double.parseDouble(buffer.toString());
+	}
+
+	private static boolean regionMatches(CharSequence csq, int index,
+			String str) {
+		if (csq.length() - index < str.length())
+			return false;
+		for (int i = 0; i < str.length(); i++) {
+			if (csq.charAt(index + i) != str.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return (c >= '0') && (c <= '9');
+	}
+}
@@ -0,0 +1,463 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal.format;
+
+import java.math.BigInteger;
+
+/**
+ * <p>
+ * The shortest decimal digits of a <code>double</code> which round to that
+ * <code>double</code>, computed with the Schubfach algorithm (Raffaello
+ * Giulietti, <i>The Schubfach way to render doubles</i>, 2021).
+ * </p>
+ * 
+ * <p>
+ * The digits are held the same way as by the l10n <code>DigitList</code>: the
+ * value is <code>0.d<sub>0</sub>d<sub>1</sub>...d<sub>count-1</sub> &times;
+ * 10<sup>decimalAt</sup></code>, without trailing zeros. They are written to a
+ * caller supplied {@link StringBuilder} or <code>char[]</code> with the layout
+ * of the default decimal format (<code>#,##0.###</code>), so no intermediate
+ * <code>String</code> is created. Instances are not thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class ShortestDigits {
+
+	/**
+	 * The maximum number of digits of a <code>double</code> or
+	 * <code>long</code> value.
+	 */
+	public static final int MAX_DIGITS = 19;
+
+	private static final int P = 53;
+	private static final int Q_MIN = -1074;
+	private static final long C_MIN = 1L << (P - 1);
+	private static final long C_TINY = 3; // cTiny(Q_MIN)
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final long T_MASK = (1L << (P - 1)) - 1;
+
+	private final char[] digits = new char[MAX_DIGITS];
+	private int count;
+	private int decimalAt;
+
+	/**
+	 * Sets these digits to the shortest decimal representation of the
+	 * absolute value of the specified number.
+	 * 
+	 * @param value
+	 *            a finite value.
+	 * @return this.
+	 * @throws IllegalArgumentException
+	 *             if <code>value</code> is NaN or infinite.
+	 */
+	public ShortestDigits set(double value) {
+		final long bits = Double.doubleToRawLongBits(value);
+		final long t = bits & T_MASK;
+		final int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+		if (bq == 0x7FF)
+			throw new IllegalArgumentException("Not a finite number: " + value);
+		if (bq != 0) {
+			// Normal value: c 2^q with c in [2^52, 2^53).
+			final int mq = -Q_MIN + 1 - bq;
+			final long c = C_MIN | t;
+			if ((0 < mq) && (mq < P)) {
+				final long f = c >> mq;
+				if ((f << mq) == c) { // Integer value.
+					return setDecimal(f, 0);
+				}
+			}
+			return toDecimal(-mq, c, 0);
+		}
+		if (t != 0) { // Subnormal value.
+			return (t < C_TINY) ? toDecimal(Q_MIN, 10 * t, -1) : toDecimal(Q_MIN, t, 0);
+		}
+		count = 0;
+		decimalAt = 0;
+		return this;
+	}
+
+	/**
+	 * Sets these digits to the absolute value of the specified number.
+	 * 
+	 * @param value
+	 *            the value (<code>Long.MIN_VALUE</code> is supported).
+	 * @return this.
+	 */
+	public ShortestDigits set(long value) {
+		count = 0;
+		decimalAt = 0;
+		if (value == 0)
+			return this;
+		// Works on negative values so that Long.MIN_VALUE does not overflow.
+		long v = (value > 0) ? -value : value;
+		int n = 0;
+		while (v != 0) {
+			digits[n++] = (char) ('0' - (int) (v % 10));
+			v /= 10;
+		}
+		reverse(n);
+		decimalAt = n;
+		count = n;
+		stripTrailingZeros();
+		return this;
+	}
+
+	/**
+	 * Returns the number of significant digits (<code>0</code> for zero).
+	 * 
+	 * @return the digit count.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the position of the decimal point relative to the first digit.
+	 * 
+	 * @return the decimal exponent of <code>0.d<sub>0</sub>d<sub>1</sub>...</code>
+	 */
+	public int getDecimalAt() {
+		return decimalAt;
+	}
+
+	/**
+	 * Returns the digit at the specified index.
+	 * 
+	 * @param index
+	 *            the index, from <code>0</code> to <code>count - 1</code>.
+	 * @return the digit character.
+	 */
+	public char getDigit(int index) {
+		if ((index < 0) || (index >= count))
+			throw new IndexOutOfBoundsException("index: " + index);
+		return digits[index];
+	}
+
+	/**
+	 * Rounds these digits (half-even) to the specified number of fraction
+	 * digits, exactly as the l10n <code>DigitList</code> does in fixed-point
+	 * mode.
+	 * 
+	 * @param maximumFractionDigits
+	 *            the maximum number of fraction digits.
+	 * @return this.
+	 */
+	public ShortestDigits round(int maximumFractionDigits) {
+		if (count == 0)
+			return this;
+		if (-decimalAt > maximumFractionDigits) {
+			count = 0; // Underflow to zero.
+			return this;
+		} else if (-decimalAt == maximumFractionDigits) {
+			if (shouldRoundUp(0)) {
+				count = 1;
+				++decimalAt;
+				digits[0] = '1';
+			} else {
+				count = 0;
+			}
+			return this;
+		}
+		int maximumDigits = maximumFractionDigits + decimalAt;
+		if ((maximumDigits >= 0) && (maximumDigits < count)) {
+			if (shouldRoundUp(maximumDigits)) {
+				for (;;) {
+					--maximumDigits;
+					if (maximumDigits < 0) { // All nines.
+						digits[0] = '1';
+						++decimalAt;
+						maximumDigits = 0;
+						break;
+					}
+					++digits[maximumDigits];
+					if (digits[maximumDigits] <= '9')
+						break;
+				}
+				++maximumDigits;
+			}
+			count = maximumDigits;
+			stripTrailingZeros();
+		}
+		return this;
+	}
+
+	/**
+	 * Appends these digits in the layout of the default decimal format
+	 * (grouped integer part, fraction digits only if any, no sign).
+	 * 
+	 * @param dest
+	 *            the destination.
+	 * @param grouping
+	 *            <code>true</code> to separate thousands with
+	 *            <code>','</code>.
+	 * @return <code>dest</code>
+	 */
+	public StringBuilder appendTo(StringBuilder dest, boolean grouping) {
+		final int start = dest.length();
+		dest.setLength(start + length(grouping));
+		write(dest, null, start, grouping);
+		return dest;
+	}
+
+	/**
+	 * Writes these digits in the layout of the default decimal format into
+	 * the specified array.
+	 * 
+	 * @param dest
+	 *            the destination array.
+	 * @param offset
+	 *            the index of the first character to write.
+	 * @param grouping
+	 *            <code>true</code> to separate thousands with
+	 *            <code>','</code>.
+	 * @return the index following the last character written.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the array is too small.
+	 */
+	public int getChars(char[] dest, int offset, boolean grouping) {
+		final int length = length(grouping);
+		if ((offset < 0) || (offset + length > dest.length))
+			throw new ArrayIndexOutOfBoundsException(offset + length);
+		return write(null, dest, offset, grouping);
+	}
+
+	/**
+	 * Returns the number of characters written by
+	 * {@link #appendTo(StringBuilder, boolean)}.
+	 * 
+	 * @param grouping
+	 *            <code>true</code> if thousands are separated.
+	 * @return the number of characters.
+	 */
+	public int length(boolean grouping) {
+		final int integerDigits = Math.max(decimalAt, 1);
+		int length = integerDigits;
+		if (grouping) {
+			length += (integerDigits - 1) / 3;
+		}
+		final int fractionDigits = count - Math.max(decimalAt, 0);
+		if (fractionDigits > 0) {
+			length += 1 + Math.max(-decimalAt, 0) + fractionDigits;
+		}
+		return length;
+	}
+
+	// Writes to either the builder (already sized) or the array.
+	private int write(StringBuilder sb, char[] array, int offset, boolean grouping) {
+		int pos = offset;
+		int digitIndex = 0;
+		final int integerDigits = Math.max(decimalAt, 1);
+		for (int i = integerDigits - 1; i >= 0; --i) {
+			char c = ((i < decimalAt) && (digitIndex < count)) ? digits[digitIndex++] : '0';
+			pos = put(sb, array, pos, c);
+			if (grouping && (i > 0) && (i % 3 == 0)) {
+				pos = put(sb, array, pos, ',');
+			}
+		}
+		if (digitIndex < count) {
+			pos = put(sb, array, pos, '.');
+			for (int i = decimalAt; i < 0; i++) {
+				pos = put(sb, array, pos, '0');
+			}
+			while (digitIndex < count) {
+				pos = put(sb, array, pos, digits[digitIndex++]);
+			}
+		}
+		return pos;
+	}
+
+	private static int put(StringBuilder sb, char[] array, int pos, char c) {
+		if (sb != null) {
+			sb.setCharAt(pos, c);
+		} else {
+			array[pos] = c;
+		}
+		return pos + 1;
+	}
+
+	@Override
+	public String toString() {
+		return appendTo(new StringBuilder(), false).toString();
+	}
+
+	private boolean shouldRoundUp(int maximumDigits) {
+		if (maximumDigits < count) {
+			if (digits[maximumDigits] > '5') {
+				return true;
+			} else if (digits[maximumDigits] == '5') {
+				for (int i = maximumDigits + 1; i < count; ++i) {
+					if (digits[i] != '0') {
+						return true;
+					}
+				}
+				return (maximumDigits > 0) && (digits[maximumDigits - 1] % 2 != 0);
+			}
+		}
+		return false;
+	}
+
+	private void stripTrailingZeros() {
+		while ((count > 1) && (digits[count - 1] == '0')) {
+			--count;
+		}
+	}
+
+	private void reverse(int n) {
+		for (int i = 0, j = n - 1; i < j; i++, j--) {
+			char tmp = digits[i];
+			digits[i] = digits[j];
+			digits[j] = tmp;
+		}
+	}
+
+	// Sets the digits to f 10^e (f > 0).
+	private ShortestDigits setDecimal(long f, int e) {
+		int n = 0;
+		while (f != 0) {
+			digits[n++] = (char) ('0' + (int) (f % 10));
+			f /= 10;
+		}
+		reverse(n);
+		count = n;
+		decimalAt = n + e;
+		stripTrailingZeros();
+		return this;
+	}
+
+	// The value is c 2^q, dk adjusts the exponent of subnormals scaled by 10.
+	private ShortestDigits toDecimal(int q, long c, int dk) {
+		final int out = (int) c & 0x1;
+		final long cb = c << 2;
+		final long cbr = cb + 2;
+		long cbl;
+		int k;
+		if ((c != C_MIN) | (q == Q_MIN)) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		final int h = q + flog2pow10(-k) + 2;
+		final long g1 = Powers.G[2 * (k - K_MIN)];
+		final long g0 = Powers.G[2 * (k - K_MIN) + 1];
+		final long vb = rop(g1, g0, cb << h);
+		final long vbl = rop(g1, g0, cbl << h);
+		final long vbr = rop(g1, g0, cbr << h);
+		final long s = vb >> 2;
+		if (s >= 100) {
+			// Tries one digit less: sp10 = 10 floor(s / 10).
+			final long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+			final long tp10 = sp10 + 10;
+			final boolean upin = vbl + out <= sp10 << 2;
+			final boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return setDecimal(upin ? sp10 : tp10, k);
+			}
+		}
+		final long t = s + 1;
+		final boolean uin = vbl + out <= s << 2;
+		final boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return setDecimal(uin ? s : t, k + dk);
+		}
+		// Both or neither candidate in the rounding interval: closest wins.
+		final long cmp = vb - ((s + t) << 1);
+		return setDecimal(((cmp < 0) || ((cmp == 0) && ((s & 0x1) == 0))) ? s : t, k + dk);
+	}
+
+	private static long rop(long g1, long g0, long cp) {
+		final long x1 = multiplyHigh(g0, cp);
+		final long y0 = g1 * cp;
+		final long y1 = multiplyHigh(g1, cp);
+		final long z = (y0 >>> 1) + x1;
+		final long vbp = y1 + (z >>> 63);
+		return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+	}
+
+	// floor(log10(2^e))
+	private static int flog10pow2(int e) {
+		return (int) ((e * 661971961083L) >> 41);
+	}
+
+	// floor(log10(3/4 2^e))
+	private static int flog10threeQuartersPow2(int e) {
+		return (int) ((e * 661971961083L - 274743187321L) >> 41);
+	}
+
+	// floor(log2(10^e))
+	private static int flog2pow10(int e) {
+		return (int) ((e * 913124641741L) >> 38);
+	}
+
+	// The high 64 bits of the 128-bit product of x and y.
+	private static long multiplyHigh(long x, long y) {
+		final long x1 = x >> 32;
+		final long x2 = x & 0xFFFFFFFFL;
+		final long y1 = y >> 32;
+		final long y2 = y & 0xFFFFFFFFL;
+		final long z2 = x2 * y2;
+		final long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		final long z0 = t >> 32;
+		z1 += x2 * y1;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	/**
+	 * Holds the 126-bit approximations g = g1 2^63 + g0 of the powers of ten:
+	 * for 10<sup>-k</sup> = &beta; 2<sup>r</sup> with 2<sup>125</sup> &le;
+	 * &beta; &lt; 2<sup>126</sup>, g = floor(&beta;) + 1. Computed once, on
+	 * first use.
+	 */
+	private static final class Powers {
+		static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+		static {
+			final BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+			for (int k = K_MIN; k <= K_MAX; k++) {
+				final int r = flog2pow10(-k) - 125;
+				BigInteger g;
+				if (k <= 0) { // 10^-k is an integer.
+					final BigInteger p = BigInteger.TEN.pow(-k);
+					g = (r >= 0) ? p.shiftRight(r) : p.shiftLeft(-r);
+				} else {
+					g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+				}
+				g = g.add(BigInteger.ONE);
+				G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+				G[2 * (k - K_MIN) + 1] = g.and(mask).longValue();
+			}
+		}
+	}
+}
@@ -550,15 +550,13 @@ public class DecimalFormat extends NumberFormat {
 
 		// At this point we are guaranteed a nonnegative finite
 		// number.
-		synchronized (digitList) {
-			digitList.set(number,
-					useExponentialNotation ? getMaximumIntegerDigits()
-							+ getMaximumFractionDigits()
-							: getMaximumFractionDigits(),
-					!useExponentialNotation);
-
-			return subformat(result, delegate, isNegative, false);
-		}
+		digitList.set(number,
+				useExponentialNotation ? getMaximumIntegerDigits()
+						+ getMaximumFractionDigits()
+						: getMaximumFractionDigits(),
+				!useExponentialNotation);
+
+		return subformat(result, delegate, isNegative, false);
 	}
 
 	/**
@@ -625,13 +623,11 @@ public class DecimalFormat extends NumberFormat {
 		}
 
 		number *= multiplier;
-		synchronized (digitList) {
-			digitList.set(number,
-					useExponentialNotation ? getMaximumIntegerDigits()
-							+ getMaximumFractionDigits() : 0);
+		digitList.set(number,
+				useExponentialNotation ? getMaximumIntegerDigits()
+						+ getMaximumFractionDigits() : 0);
 
-			return subformat(result, delegate, isNegative, true);
-		}
+		return subformat(result, delegate, isNegative, true);
 	}
 
 	/**
@@ -28,8 +28,8 @@
  * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 package tec.units.ri.internal.quantity;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.measure.Quantity;
 import javax.measure.spi.QuantityFactory;
@@ -44,7 +44,7 @@ import tec.units.ri.quantity.DefaultQuantityFactory;
  */
 @SuppressWarnings("rawtypes")
 public final class DefaultQuantityFactoryService implements QuantityFactoryService {
-    private final Map<Class, QuantityFactory> INSTANCE = new HashMap<Class, QuantityFactory>();
+    private final ConcurrentMap<Class, QuantityFactory> INSTANCE = new ConcurrentHashMap<Class, QuantityFactory>();
 
     /**
      * Return a factory for this quantity
@@ -56,11 +56,12 @@ public final class DefaultQuantityFactoryService implements QuantityFactoryServi
     public final <Q extends Quantity<Q>>  QuantityFactory<Q> getQuantityFactory(Class<Q> quantity){
         if (quantity == null)
             throw new NullPointerException();
-        if(!INSTANCE.containsKey(quantity)) {
-            synchronized (INSTANCE) {
-                INSTANCE.put(quantity, DefaultQuantityFactory.getInstance(quantity));
-            }
+        QuantityFactory<Q> factory = INSTANCE.get(quantity);
+        if (factory == null) {
+            factory = DefaultQuantityFactory.getInstance(quantity);
+            QuantityFactory<Q> previous = INSTANCE.putIfAbsent(quantity, factory);
+            if (previous != null) factory = previous;
         }
-        return INSTANCE.get(quantity);
+        return factory;
     }
 }
@@ -29,8 +29,8 @@
  */
 package tec.units.ri.quantity;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,10 +57,10 @@ import tec.units.ri.AbstractQuantity;
 abstract class AbstractQuantityFactory<Q extends Quantity<Q>> implements QuantityFactory<Q>  {
 
     /**
-     * Holds the current instances.
+     * Holds the current instances (safely published, lock-free reads).
      */
     @SuppressWarnings("rawtypes")
-    static final Map<Class, QuantityFactory> INSTANCES = new HashMap<Class, QuantityFactory>();
+    static final ConcurrentMap<Class, QuantityFactory> INSTANCES = new ConcurrentHashMap<Class, QuantityFactory>();
 
     static final Logger logger = Logger.getLogger(AbstractQuantityFactory.class.getName());
 
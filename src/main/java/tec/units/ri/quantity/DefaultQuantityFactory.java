@@ -135,7 +135,9 @@ public final class DefaultQuantityFactory<Q extends Quantity<Q>> extends
 	}
 
 	/**
-     * Returns the default instance for the specified quantity type.
+     * Returns the default instance for the specified quantity type. Instances
+     * are created once per type; concurrent callers always get the same
+     * instance.
      *
      * @param <Q> The type of the quantity
      * @param type the quantity type
@@ -143,21 +145,17 @@ public final class DefaultQuantityFactory<Q extends Quantity<Q>> extends
      */
     @SuppressWarnings("unchecked")
 	public static <Q extends Quantity<Q>> QuantityFactory<Q> getInstance(final Class<Q> type) {
-         logger.log(LOG_LEVEL, "Type: " + type + ": " + type.isInterface());
-         QuantityFactory<Q> factory;
-         if (!type.isInterface()) {
-        	 factory = new DefaultQuantityFactory<Q>(type);
-        	 // TODO use instances?
-         } else {
-            factory = INSTANCES.get(type);
-            if (factory != null) return factory;
-            if (!Quantity.class.isAssignableFrom(type))
-                // This exception is not documented because it should never happen if the
-                // user don't try to trick the Java generic types system with unsafe cast.
-                throw new ClassCastException();
-            factory = new DefaultQuantityFactory<Q>(type);
-            INSTANCES.put(type, factory);
-         }
-        return factory;
+        QuantityFactory<Q> factory = INSTANCES.get(type);
+        if (factory != null) return factory;
+        if (logger.isLoggable(LOG_LEVEL)) {
+            logger.log(LOG_LEVEL, "Type: " + type + ": " + type.isInterface());
+        }
+        if (type.isInterface() && !Quantity.class.isAssignableFrom(type))
+            // This exception is not documented because it should never happen if the
+            // user don't try to trick the Java generic types system with unsafe cast.
+            throw new ClassCastException();
+        factory = new DefaultQuantityFactory<Q>(type);
+        QuantityFactory<Q> previous = INSTANCES.putIfAbsent(type, factory);
+        return (previous != null) ? previous : factory;
     }
 }
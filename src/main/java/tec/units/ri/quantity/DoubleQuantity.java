@@ -61,6 +61,11 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
         return value;
     }
 
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
     public double doubleValue(Unit<Q> unit) {
         return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
     }
@@ -75,18 +80,16 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<Q> add(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value + converted.getValue().doubleValue(), getUnit());
+		return new DoubleQuantity<Q>(value + convertedValueOf(that), getUnit());
 	}
 
 	public Quantity<Q> subtract(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value - converted.getValue().doubleValue(), getUnit());
+		return new DoubleQuantity<Q>(value - convertedValueOf(that), getUnit());
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> multiply(Quantity<?> that) {
-		return new DoubleQuantity(value * that.getValue().doubleValue(), getUnit().multiply(that.getUnit()));
+		return new DoubleQuantity(value * doubleValueOf(that), getUnit().multiply(that.getUnit()));
 	}
 
 	public Quantity<Q> multiply(Number that) {
@@ -95,7 +98,7 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> divide(Quantity<?> that) {
-		return new DoubleQuantity(value / that.getValue().doubleValue(), getUnit().divide(that.getUnit()));
+		return new DoubleQuantity(value / doubleValueOf(that), getUnit().divide(that.getUnit()));
 	}
 	
 	public Quantity<Q> divide(Number that) {
@@ -0,0 +1,159 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+/**
+ * A {@link QuantityArray} backed by a <code>double[]</code>.
+ * 
+ * @param <Q>
+ *            The type of the quantities.
+ * @version 0.1
+ */
+final class DoubleQuantityArray<Q extends Quantity<Q>> extends QuantityArray<Q> {
+
+	final double[] values;
+
+	DoubleQuantityArray(double[] values, Unit<Q> unit) {
+		super(unit);
+		this.values = values;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public double doubleValue(int index) {
+		return values[index];
+	}
+
+	@Override
+	public Quantity<Q> get(int index) {
+		return new DoubleQuantity<Q>(values[index], getUnit());
+	}
+
+	@Override
+	public QuantityArray<Q> to(Unit<Q> unit) {
+		if (unit.equals(getUnit())) {
+			return this;
+		}
+		final double[] result = values.clone();
+		convert(result, unit);
+		return new DoubleQuantityArray<Q>(result, unit);
+	}
+
+	@Override
+	public QuantityArray<Q> add(QuantityArray<Q> that) {
+		checkSize(that);
+		final double[] other = that.toDoubleArray();
+		if (!that.getUnit().equals(getUnit())) {
+			that.convert(other, getUnit());
+		}
+		final double[] v = values;
+		for (int i = 0; i < v.length; i++) {
+			other[i] += v[i];
+		}
+		return new DoubleQuantityArray<Q>(other, getUnit());
+	}
+
+	@Override
+	public QuantityArray<Q> scale(double factor) {
+		final double[] v = values;
+		final double[] result = new double[v.length];
+		for (int i = 0; i < v.length; i++) {
+			result[i] = v[i] * factor;
+		}
+		return new DoubleQuantityArray<Q>(result, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> sum() {
+		return new DoubleQuantity<Q>(total(), getUnit());
+	}
+
+	@Override
+	public Quantity<Q> min() {
+		final double[] v = values;
+		if (v.length == 0)
+			throw new NoSuchElementException();
+		double min = v[0];
+		for (int i = 1; i < v.length; i++) {
+			min = Math.min(min, v[i]);
+		}
+		return new DoubleQuantity<Q>(min, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> max() {
+		final double[] v = values;
+		if (v.length == 0)
+			throw new NoSuchElementException();
+		double max = v[0];
+		for (int i = 1; i < v.length; i++) {
+			max = Math.max(max, v[i]);
+		}
+		return new DoubleQuantity<Q>(max, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> mean() {
+		if (values.length == 0)
+			throw new NoSuchElementException();
+		return new DoubleQuantity<Q>(total() / values.length, getUnit());
+	}
+
+	@Override
+	public QuantityArray<Q> sorted() {
+		final double[] result = values.clone();
+		Arrays.sort(result);
+		return new DoubleQuantityArray<Q>(result, getUnit());
+	}
+
+	@Override
+	public double[] toDoubleArray() {
+		return values.clone();
+	}
+
+	private double total() {
+		final double[] v = values;
+		double sum = 0;
+		for (int i = 0; i < v.length; i++) {
+			sum += v[i];
+		}
+		return sum;
+	}
+}
@@ -60,6 +60,11 @@ final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
         return value;
     }
 
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
     // Implements AbstractQuantity
     public double doubleValue(Unit<Q> unit) {
         return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
@@ -74,18 +79,16 @@ final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<Q> add(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value + converted.getValue().floatValue(), getUnit());
+		return new FloatQuantity<Q>(value + (float) convertedValueOf(that), getUnit());
 	}
 
 	public Quantity<Q> subtract(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value - converted.getValue().floatValue(), getUnit());
+		return new FloatQuantity<Q>(value - (float) convertedValueOf(that), getUnit());
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> multiply(Quantity<?> that) {
-		return new FloatQuantity(value * that.getValue().floatValue(), 
+		return new FloatQuantity(value * (float) doubleValueOf(that), 
 				getUnit().multiply(that.getUnit()));
 	}
 
@@ -96,7 +99,7 @@ final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> divide(Quantity<?> that) {
-		return new FloatQuantity(value / that.getValue().floatValue(), getUnit().divide(that.getUnit()));
+		return new FloatQuantity(value / (float) doubleValueOf(that), getUnit().divide(that.getUnit()));
 	}
 
 	@SuppressWarnings("unchecked")
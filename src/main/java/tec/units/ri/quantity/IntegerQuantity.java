@@ -60,6 +60,11 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 		return value;
 	}
 
+	@Override
+	public double doubleValue() {
+		return value;
+	}
+
 	public double doubleValue(Unit<Q> unit) {
 		return (super.getUnit().equals(unit)) ? value : super.getUnit()
 				.getConverterTo(unit).convert(value);
@@ -75,18 +80,16 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<Q> add(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value + converted.getValue().intValue(), getUnit());
+		return new IntegerQuantity<Q>(value + (int) convertedValueOf(that), getUnit());
 	}
 
 	public Quantity<Q> subtract(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value - converted.getValue().intValue(), getUnit());
+		return new IntegerQuantity<Q>(value - (int) convertedValueOf(that), getUnit());
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> multiply(Quantity<?> that) {
-		return new IntegerQuantity(value * that.getValue().intValue(), 
+		return new IntegerQuantity(value * (int) doubleValueOf(that), 
 				getUnit().multiply(that.getUnit()));
 	}
 
@@ -95,7 +98,7 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<?> divide(Quantity<?> that) {
-		return NumberQuantity.of((double) value / that.getValue().doubleValue(), 
+		return NumberQuantity.of((double) value / doubleValueOf(that), 
 				getUnit().divide(that.getUnit()));
 	}
 
@@ -59,6 +59,11 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 		return value;
 	}
 
+	@Override
+	public double doubleValue() {
+		return value;
+	}
+
 	public double doubleValue(Unit<Q> unit) {
 		return (super.getUnit().equals(unit)) ? value : super.getUnit()
 				.getConverterTo(unit).convert(value);
@@ -74,18 +79,22 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<Q> add(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value + converted.getValue().longValue(), getUnit());
+		return new LongQuantity<Q>(value + longValueOf(that), getUnit());
 	}
 
 	public Quantity<Q> subtract(Quantity<Q> that) {
-		final Quantity<Q> converted = that.to(getUnit());
-		return NumberQuantity.of(value - converted.getValue().longValue(), getUnit());
+		return new LongQuantity<Q>(value - longValueOf(that), getUnit());
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> multiply(Quantity<?> that) {
-		return new LongQuantity(value * that.getValue().longValue(), getUnit());
+		final Unit unit = getUnit().multiply(that.getUnit());
+		if (that instanceof LongQuantity)
+			return new LongQuantity(value * ((LongQuantity) that).value, unit);
+		final double factor = doubleValueOf(that);
+		if (factor == (long) factor) // Integral.
+			return new LongQuantity(value * (long) factor, unit);
+		return new DoubleQuantity(value * factor, unit);
 	}
 
 	public Quantity<Q> multiply(Number that) {
@@ -93,7 +102,7 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	}
 
 	public Quantity<?> divide(Quantity<?> that) {
-		return NumberQuantity.of((double) value / that.getValue().doubleValue(), getUnit()
+		return NumberQuantity.of((double) value / doubleValueOf(that), getUnit()
 				.divide(that.getUnit()));
 	}
 
@@ -105,4 +114,21 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	public Quantity<Q> divide(Number that) {
 		return NumberQuantity.of(value / that.doubleValue(), getUnit());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Returns the value of that quantity stated in this quantity's unit,
+	 * truncated to a <code>long</code> (exact for integer quantities stated in
+	 * the same unit).
+	 */
+	private long longValueOf(Quantity<Q> that) {
+		if (that.getUnit().equals(getUnit())) {
+			if (that instanceof LongQuantity) {
+				return ((LongQuantity<Q>) that).value;
+			}
+			if (that instanceof IntegerQuantity) {
+				return ((IntegerQuantity<Q>) that).value;
+			}
+		}
+		return (long) convertedValueOf(that);
+	}
+}
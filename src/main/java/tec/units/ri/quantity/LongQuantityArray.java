@@ -0,0 +1,198 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.units.ri.internal.MathUtil;
+
+/**
+ * A {@link QuantityArray} backed by a <code>long[]</code>. Operations in the
+ * same unit are exact; conversions to other units and scaling produce
+ * <code>double</code> based arrays. A sum which does not fit in a
+ * <code>long</code> is computed exactly and returned as a <code>double</code>;
+ * an addition which overflows produces a <code>double</code> based array.
+ * 
+ * @param <Q>
+ *            The type of the quantities.
+ * @version 0.1
+ */
+final class LongQuantityArray<Q extends Quantity<Q>> extends QuantityArray<Q> {
+
+	final long[] values;
+
+	LongQuantityArray(long[] values, Unit<Q> unit) {
+		super(unit);
+		this.values = values;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public double doubleValue(int index) {
+		return values[index];
+	}
+
+	@Override
+	public Quantity<Q> get(int index) {
+		return new LongQuantity<Q>(values[index], getUnit());
+	}
+
+	@Override
+	public QuantityArray<Q> to(Unit<Q> unit) {
+		if (unit.equals(getUnit())) {
+			return this;
+		}
+		final double[] result = toDoubleArray();
+		convert(result, unit);
+		return new DoubleQuantityArray<Q>(result, unit);
+	}
+
+	@Override
+	public QuantityArray<Q> add(QuantityArray<Q> that) {
+		checkSize(that);
+		if ((that instanceof LongQuantityArray) && that.getUnit().equals(getUnit())) {
+			final long[] v = values;
+			final long[] other = ((LongQuantityArray<Q>) that).values;
+			final long[] result = new long[v.length];
+			try {
+				for (int i = 0; i < v.length; i++) {
+					result[i] = MathUtil.addExact(v[i], other[i]);
+				}
+				return new LongQuantityArray<Q>(result, getUnit());
+			} catch (ArithmeticException e) {
+				// Overflow, adds as doubles.
+			}
+		}
+		return new DoubleQuantityArray<Q>(toDoubleArray(), getUnit()).add(that);
+	}
+
+	@Override
+	public QuantityArray<Q> scale(double factor) {
+		final long[] v = values;
+		final double[] result = new double[v.length];
+		for (int i = 0; i < v.length; i++) {
+			result[i] = v[i] * factor;
+		}
+		return new DoubleQuantityArray<Q>(result, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> sum() {
+		try {
+			return new LongQuantity<Q>(total(), getUnit());
+		} catch (ArithmeticException e) { // Intermediate overflow.
+			final BigInteger total = bigTotal();
+			if (total.bitLength() < 64)
+				return new LongQuantity<Q>(total.longValue(), getUnit());
+			return new DoubleQuantity<Q>(total.doubleValue(), getUnit());
+		}
+	}
+
+	@Override
+	public Quantity<Q> min() {
+		final long[] v = values;
+		if (v.length == 0)
+			throw new NoSuchElementException();
+		long min = v[0];
+		for (int i = 1; i < v.length; i++) {
+			min = Math.min(min, v[i]);
+		}
+		return new LongQuantity<Q>(min, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> max() {
+		final long[] v = values;
+		if (v.length == 0)
+			throw new NoSuchElementException();
+		long max = v[0];
+		for (int i = 1; i < v.length; i++) {
+			max = Math.max(max, v[i]);
+		}
+		return new LongQuantity<Q>(max, getUnit());
+	}
+
+	@Override
+	public Quantity<Q> mean() {
+		if (values.length == 0)
+			throw new NoSuchElementException();
+		double total;
+		try {
+			total = total();
+		} catch (ArithmeticException e) { // Intermediate overflow.
+			total = bigTotal().doubleValue();
+		}
+		return new DoubleQuantity<Q>(total / values.length, getUnit());
+	}
+
+	@Override
+	public QuantityArray<Q> sorted() {
+		final long[] result = values.clone();
+		Arrays.sort(result);
+		return new LongQuantityArray<Q>(result, getUnit());
+	}
+
+	@Override
+	public double[] toDoubleArray() {
+		final long[] v = values;
+		final double[] result = new double[v.length];
+		for (int i = 0; i < v.length; i++) {
+			result[i] = v[i];
+		}
+		return result;
+	}
+
+	private long total() throws ArithmeticException {
+		final long[] v = values;
+		long sum = 0;
+		for (int i = 0; i < v.length; i++) {
+			sum = MathUtil.addExact(sum, v[i]);
+		}
+		return sum;
+	}
+
+	private BigInteger bigTotal() {
+		final long[] v = values;
+		BigInteger sum = BigInteger.ZERO;
+		for (int i = 0; i < v.length; i++) {
+			sum = sum.add(BigInteger.valueOf(v[i]));
+		}
+		return sum;
+	}
+}
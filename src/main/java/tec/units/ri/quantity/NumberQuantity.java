@@ -124,8 +124,11 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 	 */
 	public double doubleValue(Unit<Q> unit) {
 		Unit<Q> myUnit = getUnit();
+		if ((unit == myUnit) || unit.equals(myUnit)) {
+			return getValue().doubleValue();
+		}
 		try {
-			UnitConverter converter = unit.getConverterTo(myUnit);
+			UnitConverter converter = myUnit.getConverterTo(unit);
 			return converter.convert(getValue().doubleValue());
 		} catch (UnconvertibleException e) {
 			throw e;
@@ -208,9 +211,8 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<?> multiply(Quantity<?> that) {
-		final Unit<?> unit = getUnit().multiply(that.getUnit());
-		return new NumberQuantity((getValue().doubleValue() * that.getValue().doubleValue()),
-				unit);
+		final Unit unit = getUnit().multiply(that.getUnit());
+		return NumberQuantity.of(value.doubleValue() * doubleValueOf(that), unit);
 	}
 
 	public NumberQuantity<Q> multiply(Number that) {
@@ -220,9 +222,8 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<Q> divide(Quantity<?> that) {
-		final Unit<?> unit = getUnit().divide(that.getUnit());
-		return new NumberQuantity((getValue().doubleValue() / that.getValue()
-				.doubleValue()), unit);
+		final Unit unit = getUnit().divide(that.getUnit());
+		return NumberQuantity.of(value.doubleValue() / doubleValueOf(that), unit);
 	}
 
 	public Quantity<Q> divide(Number that) {
@@ -236,24 +237,12 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 		return m;
 	}
 
-	@Override
-	public int compareTo(Quantity<Q> o) {
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<Q> subtract(Quantity<Q> that) {
-		final Quantity<Q> thatToUnit = (Quantity<Q>) that.to(getUnit());
-		return new NumberQuantity(this.getValue().doubleValue()
-				- thatToUnit.getValue().doubleValue(), getUnit());
+		return NumberQuantity.of(value.doubleValue() - convertedValueOf(that), getUnit());
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Quantity<Q> add(Quantity<Q> that) {
-		final Quantity<Q> thatToUnit = (Quantity<Q>) that.to(getUnit());
-		return new NumberQuantity(this.getValue().doubleValue()
-				+ thatToUnit.getValue().doubleValue(), getUnit());
+		return NumberQuantity.of(value.doubleValue() + convertedValueOf(that), getUnit());
 	}
 
 	/**
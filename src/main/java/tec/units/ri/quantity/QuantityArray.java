@@ -0,0 +1,302 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractQuantity;
+import tec.uom.lib.common.function.UnitSupplier;
+
+/**
+ * A fixed-size, immutable column of quantities sharing a single {@link Unit},
+ * backed by a primitive value array (<code>double[]</code> or
+ * <code>long[]</code>).
+ * 
+ * <p>
+ * Compared to a <code>List&lt;Quantity&lt;Q&gt;&gt;</code>, no object is held
+ * per element; {@link Quantity} instances are only created on demand by
+ * {@link #get(int)} or through the {@link #asList() list view}. Conversions
+ * apply the (cached) unit converter to the whole column at once.
+ * </p>
+ * 
+ * @param <Q>
+ *            The type of the quantities.
+ * @version 0.1
+ */
+public abstract class QuantityArray<Q extends Quantity<Q>> implements
+		Iterable<Quantity<Q>>, UnitSupplier<Q> {
+
+	/**
+	 * Holds the unit shared by all elements.
+	 */
+	private final Unit<Q> unit;
+
+	QuantityArray(Unit<Q> unit) {
+		if (unit == null)
+			throw new NullPointerException("Unit cannot be null");
+		this.unit = unit;
+	}
+
+	/**
+	 * Returns a quantity array holding a copy of the specified values stated
+	 * in the specified unit.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param unit
+	 *            the unit of all values.
+	 * @return the corresponding quantity array.
+	 */
+	public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values,
+			Unit<Q> unit) {
+		return new DoubleQuantityArray<Q>(values.clone(), unit);
+	}
+
+	/**
+	 * Returns a quantity array holding a copy of the specified values stated
+	 * in the specified unit.
+	 * 
+	 * @param values
+	 *            the values.
+	 * @param unit
+	 *            the unit of all values.
+	 * @return the corresponding quantity array.
+	 */
+	public static <Q extends Quantity<Q>> QuantityArray<Q> of(long[] values,
+			Unit<Q> unit) {
+		return new LongQuantityArray<Q>(values.clone(), unit);
+	}
+
+	/**
+	 * Returns a quantity array holding the values of the specified quantities
+	 * stated in the specified unit.
+	 * 
+	 * @param quantities
+	 *            the quantities.
+	 * @param unit
+	 *            the unit of the array.
+	 * @return the corresponding <code>double</code> based quantity array.
+	 */
+	public static <Q extends Quantity<Q>> QuantityArray<Q> of(
+			List<? extends Quantity<Q>> quantities, Unit<Q> unit) {
+		final double[] values = new double[quantities.size()];
+		int i = 0;
+		for (Quantity<Q> q : quantities) {
+			final Unit<Q> from = q.getUnit();
+			final double value = AbstractQuantity.doubleValueOf(q);
+			values[i++] = from.equals(unit) ? value : from.getConverterTo(unit)
+					.convert(value);
+		}
+		return new DoubleQuantityArray<Q>(values, unit);
+	}
+
+	/**
+	 * Returns the unit of all the elements of this array.
+	 * 
+	 * @return the unit.
+	 */
+	public final Unit<Q> getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the number of elements of this array.
+	 * 
+	 * @return the size of this array.
+	 */
+	public abstract int size();
+
+	/**
+	 * Returns the value of the element at the specified index as a
+	 * <code>double</code> (stated in this array's unit).
+	 * 
+	 * @param index
+	 *            the element index.
+	 * @return the element value.
+	 */
+	public abstract double doubleValue(int index);
+
+	/**
+	 * Returns the element at the specified index as a quantity.
+	 * 
+	 * @param index
+	 *            the element index.
+	 * @return a quantity equivalent to the element.
+	 */
+	public abstract Quantity<Q> get(int index);
+
+	/**
+	 * Returns this array converted to the specified unit. If the unit is the
+	 * same, this array is returned and no conversion is performed.
+	 * 
+	 * @param unit
+	 *            the unit of the returned array.
+	 * @return an array stated in the specified unit.
+	 */
+	public abstract QuantityArray<Q> to(Unit<Q> unit);
+
+	/**
+	 * Returns the element-wise sum of this array and the specified array
+	 * (stated in this array's unit).
+	 * 
+	 * @param that
+	 *            the array to add.
+	 * @return <code>this + that</code>
+	 * @throws IllegalArgumentException
+	 *             if the sizes differ.
+	 */
+	public abstract QuantityArray<Q> add(QuantityArray<Q> that);
+
+	/**
+	 * Returns this array with all values multiplied by the specified factor.
+	 * 
+	 * @param factor
+	 *            the scaling factor.
+	 * @return <code>this * factor</code>
+	 */
+	public abstract QuantityArray<Q> scale(double factor);
+
+	/**
+	 * Returns the sum of all elements.
+	 * 
+	 * @return the sum, stated in this array's unit.
+	 */
+	public abstract Quantity<Q> sum();
+
+	/**
+	 * Returns the smallest element.
+	 * 
+	 * @return the minimum, stated in this array's unit.
+	 * @throws java.util.NoSuchElementException
+	 *             if this array is empty.
+	 */
+	public abstract Quantity<Q> min();
+
+	/**
+	 * Returns the largest element.
+	 * 
+	 * @return the maximum, stated in this array's unit.
+	 * @throws java.util.NoSuchElementException
+	 *             if this array is empty.
+	 */
+	public abstract Quantity<Q> max();
+
+	/**
+	 * Returns the arithmetic mean of all elements.
+	 * 
+	 * @return the mean, stated in this array's unit.
+	 * @throws java.util.NoSuchElementException
+	 *             if this array is empty.
+	 */
+	public abstract Quantity<Q> mean();
+
+	/**
+	 * Returns a copy of this array with its elements in ascending order.
+	 * 
+	 * @return the sorted array.
+	 */
+	public abstract QuantityArray<Q> sorted();
+
+	/**
+	 * Returns a copy of the values of this array.
+	 * 
+	 * @return the values, stated in this array's unit.
+	 */
+	public abstract double[] toDoubleArray();
+
+	/**
+	 * Returns a read-only list view of this array; elements are created on
+	 * access.
+	 * 
+	 * @return the list view.
+	 */
+	public List<Quantity<Q>> asList() {
+		return new AbstractList<Quantity<Q>>() {
+
+			@Override
+			public Quantity<Q> get(int index) {
+				return QuantityArray.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return QuantityArray.this.size();
+			}
+		};
+	}
+
+	public Iterator<Quantity<Q>> iterator() {
+		return asList().iterator();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < size(); i++) {
+			if (i > 0)
+				sb.append(", ");
+			sb.append(doubleValue(i));
+		}
+		return sb.append("] ").append(unit).toString();
+	}
+
+	/**
+	 * Converts the specified values (in place) from this array's unit to the
+	 * specified unit.
+	 */
+	final void convert(double[] values, Unit<Q> target) {
+		final UnitConverter converter = unit.getConverterTo(target);
+		if (converter instanceof AbstractConverter) {
+			((AbstractConverter) converter).convert(values, 0, values, 0,
+					values.length);
+		} else {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = converter.convert(values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Checks that the specified array has the same size as this array.
+	 */
+	final void checkSize(QuantityArray<?> that) {
+		if (that.size() != size())
+			throw new IllegalArgumentException("Size mismatch: " + size()
+					+ " != " + that.size());
+	}
+}
@@ -35,6 +35,7 @@ import javax.measure.Dimension;
 import javax.measure.UnitConverter;
 
 import tec.units.ri.AbstractConverter;
+import tec.units.ri.internal.ConverterCache;
 import tec.units.ri.quantity.QuantityDimension;
 
 /**
@@ -83,7 +84,7 @@ public abstract class DimensionalModel {
     /**
      * Holds the current model.
      */
-    private static DimensionalModel currentModel = new StandardModel();
+    private static volatile DimensionalModel currentModel = new StandardModel();
 
     /**
      * Returns the current dimensional model
@@ -96,13 +97,16 @@ public abstract class DimensionalModel {
     }
 
     /**
-     * Sets the current dimensional model 
+     * Sets the current dimensional model. Cached unit converters are invalidated
+     * since they may depend on the dimensional transforms of the previous model.
      *
      * @param  model the new current model.
      * @see    #current
+     * @see    ConverterCache#invalidate()
      */
     protected static void setCurrent(DimensionalModel model) {
         currentModel = model;
+        ConverterCache.getInstance().invalidate();
     }
 
     /**
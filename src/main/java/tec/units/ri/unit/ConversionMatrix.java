@@ -0,0 +1,391 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.measure.IncommensurableException;
+import javax.measure.UnconvertibleException;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
+import tec.units.ri.function.MultiplyConverter;
+import tec.units.ri.function.RationalConverter;
+
+/**
+ * <p>
+ * Precomputed affine conversions (<code>y = scale * x + offset</code>)
+ * between the units of {@link Units} and their {@link MetricPrefix}
+ * multiples.
+ * </p>
+ * 
+ * <p>
+ * Each of these units has a dense identifier (see {@link #getId(Unit)}).
+ * Units sharing the same system unit form a block, for which the scale
+ * factors and offsets of all pairs are computed on first use, in extended
+ * precision then rounded once (e.g. <code>km -> mm</code> is exactly
+ * <code>1e6</code>). A conversion between two identified units is then an
+ * array lookup, without object allocation.
+ * </p>
+ * 
+ * <p>
+ * The table is built from the units registered with {@link Units} when this
+ * class is initialized; units with non-linear conversions to their system
+ * unit are not included. This class is thread-safe.
+ * </p>
+ *
+ * @version 0.1
+ */
+public final class ConversionMatrix {
+
+	/**
+	 * The number of identifiers per registered unit (the unit itself and its
+	 * 20 prefixed forms).
+	 */
+	private static final int SLOTS = MetricPrefix.values().length + 1;
+
+	private static final MathContext PRECISION = MathContext.DECIMAL128;
+
+	/**
+	 * Holds the units, by identifier (<code>null</code> if not included).
+	 */
+	private static final Unit<?>[] UNITS;
+
+	/**
+	 * Holds the identifiers, per unit.
+	 */
+	private static final Map<Unit<?>, Integer> IDS = new HashMap<Unit<?>, Integer>();
+
+	/**
+	 * Holds the block of each unit, by identifier.
+	 */
+	private static final Block[] BLOCKS;
+
+	/**
+	 * Holds the position of each unit within its block, by identifier.
+	 */
+	private static final int[] POSITIONS;
+
+	static {
+		final List<Unit<?>> registered = new ArrayList<Unit<?>>(Units.getInstance().getUnits());
+		final MetricPrefix[] prefixes = MetricPrefix.values();
+		UNITS = new Unit<?>[registered.size() * SLOTS];
+		BLOCKS = new Block[UNITS.length];
+		POSITIONS = new int[UNITS.length];
+		final BigDecimal[] scales = new BigDecimal[UNITS.length];
+		final BigDecimal[] offsets = new BigDecimal[UNITS.length];
+		final Map<Unit<?>, List<Integer>> members = new HashMap<Unit<?>, List<Integer>>();
+		for (int i = 0; i < registered.size(); i++) {
+			final AbstractUnit<?> unit = (AbstractUnit<?>) registered.get(i);
+			for (int slot = 0; slot < SLOTS; slot++) {
+				final int id = i * SLOTS + slot;
+				try {
+					final AbstractUnit<?> u = (slot == 0) ? unit
+							: unit.transform(prefixes[slot - 1].getConverter());
+					final BigDecimal[] affine = toAffine(u.getSystemConverter());
+					if (affine == null)
+						continue; // Not affine.
+					final Unit<?> system = u.getSystemUnit();
+					List<Integer> ids = members.get(system);
+					if (ids == null) {
+						ids = new ArrayList<Integer>();
+						members.put(system, ids);
+					}
+					ids.add(id);
+					UNITS[id] = u;
+					scales[id] = affine[0];
+					offsets[id] = affine[1];
+					if (!IDS.containsKey(u)) {
+						IDS.put(u, id);
+					}
+				} catch (RuntimeException e) {
+					// Conversion not supported (e.g. fractional exponent), not included.
+				}
+			}
+		}
+		for (List<Integer> ids : members.values()) {
+			final int n = ids.size();
+			final BigDecimal[] blockScales = new BigDecimal[n];
+			final BigDecimal[] blockOffsets = new BigDecimal[n];
+			final Block block = new Block(blockScales, blockOffsets);
+			for (int p = 0; p < n; p++) {
+				final int id = ids.get(p);
+				blockScales[p] = scales[id];
+				blockOffsets[p] = offsets[id];
+				BLOCKS[id] = block;
+				POSITIONS[id] = p;
+			}
+		}
+	}
+
+	private ConversionMatrix() {
+	}
+
+	/**
+	 * Returns the identifier of the specified unit.
+	 * 
+	 * @param unit
+	 *            a unit of {@link Units}, possibly with a {@link MetricPrefix}.
+	 * @return the unit identifier or <code>-1</code> if the unit is not in
+	 *         this table.
+	 */
+	public static int getId(Unit<?> unit) {
+		final Integer id = IDS.get(unit);
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * Returns the unit having the specified identifier.
+	 * 
+	 * @param id
+	 *            the unit identifier.
+	 * @return the corresponding unit.
+	 * @throws IllegalArgumentException
+	 *             if the identifier is not valid.
+	 */
+	public static Unit<?> getUnit(int id) {
+		checkId(id);
+		return UNITS[id];
+	}
+
+	/**
+	 * Indicates if the units having the specified identifiers have the same
+	 * system unit.
+	 * 
+	 * @param fromId
+	 *            the source unit identifier.
+	 * @param toId
+	 *            the target unit identifier.
+	 * @return <code>true</code> if conversions between these units are in
+	 *         this table; <code>false</code> otherwise.
+	 */
+	public static boolean isConvertible(int fromId, int toId) {
+		return (fromId >= 0) && (fromId < BLOCKS.length) && (toId >= 0)
+				&& (toId < BLOCKS.length) && (BLOCKS[fromId] != null)
+				&& (BLOCKS[fromId] == BLOCKS[toId]);
+	}
+
+	/**
+	 * Returns the scale factor of the conversion between the specified units.
+	 * 
+	 * @param fromId
+	 *            the source unit identifier.
+	 * @param toId
+	 *            the target unit identifier.
+	 * @return the scale factor.
+	 * @throws UnconvertibleException
+	 *             if <code>!isConvertible(fromId, toId)</code>
+	 */
+	public static double getScale(int fromId, int toId) {
+		final Block block = blockOf(fromId, toId);
+		return block.scales()[POSITIONS[fromId] * block.size + POSITIONS[toId]];
+	}
+
+	/**
+	 * Returns the offset of the conversion between the specified units.
+	 * 
+	 * @param fromId
+	 *            the source unit identifier.
+	 * @param toId
+	 *            the target unit identifier.
+	 * @return the offset added after scaling.
+	 * @throws UnconvertibleException
+	 *             if <code>!isConvertible(fromId, toId)</code>
+	 */
+	public static double getOffset(int fromId, int toId) {
+		final Block block = blockOf(fromId, toId);
+		final double[] offsets = block.offsets();
+		return (offsets == null) ? 0.0 : offsets[POSITIONS[fromId] * block.size + POSITIONS[toId]];
+	}
+
+	/**
+	 * Converts a value between the specified units.
+	 * 
+	 * @param value
+	 *            the value stated in the source unit.
+	 * @param fromId
+	 *            the source unit identifier.
+	 * @param toId
+	 *            the target unit identifier.
+	 * @return the value stated in the target unit.
+	 * @throws UnconvertibleException
+	 *             if <code>!isConvertible(fromId, toId)</code>
+	 */
+	public static double convert(double value, int fromId, int toId) {
+		final Block block = blockOf(fromId, toId);
+		final int index = POSITIONS[fromId] * block.size + POSITIONS[toId];
+		final double[] offsets = block.offsets();
+		return (offsets == null) ? value * block.scales()[index]
+				: value * block.scales()[index] + offsets[index];
+	}
+
+	/**
+	 * Converts a value between the specified units, through this table if
+	 * both units are in it, through {@link Unit#getConverterToAny(Unit)}
+	 * otherwise.
+	 * 
+	 * @param value
+	 *            the value stated in the source unit.
+	 * @param from
+	 *            the source unit.
+	 * @param to
+	 *            the target unit.
+	 * @return the value stated in the target unit.
+	 * @throws UnconvertibleException
+	 *             if the units are not compatible.
+	 */
+	public static double convert(double value, Unit<?> from, Unit<?> to) {
+		final int fromId = getId(from);
+		final int toId = getId(to);
+		if (isConvertible(fromId, toId))
+			return convert(value, fromId, toId);
+		try {
+			return from.getConverterToAny(to).convert(value);
+		} catch (IncommensurableException e) {
+			throw new UnconvertibleException(e);
+		}
+	}
+
+	private static Block blockOf(int fromId, int toId) {
+		if (!isConvertible(fromId, toId))
+			throw new UnconvertibleException("No conversion from id " + fromId
+					+ " to id " + toId);
+		return BLOCKS[fromId];
+	}
+
+	private static void checkId(int id) {
+		if ((id < 0) || (id >= UNITS.length) || (UNITS[id] == null))
+			throw new IllegalArgumentException("Invalid unit id " + id);
+	}
+
+	/**
+	 * Returns the exact scale and offset of the specified affine converter,
+	 * or <code>null</code> if the converter is not affine.
+	 */
+	private static BigDecimal[] toAffine(UnitConverter converter) {
+		BigDecimal scale = BigDecimal.ONE;
+		BigDecimal offset = BigDecimal.ZERO;
+		final List<? extends UnitConverter> steps = converter.getConversionSteps();
+		for (int i = steps.size() - 1; i >= 0; i--) { // Right-most step is applied first.
+			final UnitConverter step = steps.get(i);
+			BigDecimal s;
+			BigDecimal o = BigDecimal.ZERO;
+			if (step.isIdentity() || step.equals(AbstractConverter.IDENTITY)) {
+				continue;
+			} else if (step instanceof RationalConverter) {
+				final RationalConverter rational = (RationalConverter) step;
+				s = new BigDecimal(rational.getExactDividend()).divide(
+						new BigDecimal(rational.getExactDivisor()), PRECISION);
+			} else if (step instanceof MultiplyConverter) {
+				s = new BigDecimal(((MultiplyConverter) step).getFactor());
+			} else if (step instanceof AddConverter) {
+				s = BigDecimal.ONE;
+				o = new BigDecimal(((AddConverter) step).getOffset());
+			} else if (step instanceof AffineConverter) {
+				s = new BigDecimal(((AffineConverter) step).getScale());
+				o = new BigDecimal(((AffineConverter) step).getOffset());
+			} else if (step.isLinear()) {
+				s = new BigDecimal(step.convert(1.0));
+			} else {
+				return null;
+			}
+			scale = s.multiply(scale, PRECISION);
+			offset = s.multiply(offset, PRECISION).add(o, PRECISION);
+		}
+		return new BigDecimal[] { scale, offset };
+	}
+
+	/**
+	 * The units sharing the same system unit; the conversion factors between
+	 * them (<code>size * size</code> matrices, row-major) are computed on
+	 * first use.
+	 */
+	private static final class Block {
+		private final int size;
+		private final BigDecimal[] toSystemScales;
+		private final BigDecimal[] toSystemOffsets;
+		private volatile double[] scales;
+		private volatile double[] offsets; // null if all offsets are zero
+		private volatile boolean initialized;
+
+		Block(BigDecimal[] toSystemScales, BigDecimal[] toSystemOffsets) {
+			this.size = toSystemScales.length;
+			this.toSystemScales = toSystemScales;
+			this.toSystemOffsets = toSystemOffsets;
+		}
+
+		double[] scales() {
+			if (!initialized) {
+				initialize();
+			}
+			return scales;
+		}
+
+		double[] offsets() {
+			if (!initialized) {
+				initialize();
+			}
+			return offsets;
+		}
+
+		private synchronized void initialize() {
+			if (initialized)
+				return;
+			final double[] s = new double[size * size];
+			double[] o = null;
+			for (int from = 0; from < size; from++) {
+				for (int to = 0; to < size; to++) {
+					// y = (sf * x + of - ot) / st
+					final BigDecimal st = toSystemScales[to];
+					s[from * size + to] = toSystemScales[from].divide(st, PRECISION).doubleValue();
+					final BigDecimal delta = toSystemOffsets[from].subtract(toSystemOffsets[to], PRECISION);
+					if (delta.signum() != 0) {
+						if (o == null) {
+							o = new double[size * size];
+						}
+						o[from * size + to] = delta.divide(st, PRECISION).doubleValue();
+					}
+				}
+			}
+			scales = s;
+			offsets = o;
+			initialized = true;
+		}
+	}
+}
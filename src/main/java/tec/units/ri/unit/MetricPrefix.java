@@ -29,7 +29,8 @@
  */
 package tec.units.ri.unit;
 
-import static tec.units.ri.internal.MathUtil.pow;
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.TEN;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -59,26 +60,26 @@ import tec.uom.lib.common.function.UnitConverterSupplier;
  * @version 0.9, $Date: 2015-12-30 $
  */
 public enum MetricPrefix implements SymbolSupplier, UnitConverterSupplier {
-    YOTTA("Y", RationalConverter.of(1000000000000000000000000d, 1d)),
-    ZETTA("Z", RationalConverter.of(1000000000000000000000d, 1d)),
-    EXA("E", RationalConverter.of(pow(10, 18), 1d)),
-    PETA("P", RationalConverter.of(pow(10, 15), 1d)),
-    TERA("T", RationalConverter.of(pow(10, 12), 1d)),
-    GIGA("G", RationalConverter.of(pow(10, 9), 1d)),
-    MEGA("M", RationalConverter.of(pow(10, 6), 1d)),
-    KILO("k", RationalConverter.of(pow(10, 3), 1d)),
-    HECTO("h", RationalConverter.of(100d, 1d)),
-    DEKA("da", RationalConverter.of(10d, 1d)),
-    DECI("d", RationalConverter.of(1d, 10d)),
-    CENTI("c", RationalConverter.of(1d, 100d)),
-    MILLI("m", RationalConverter.of(1d, 1000d)),
-    MICRO("µ", RationalConverter.of(1d, pow(10, 6))),
-    NANO("n", RationalConverter.of(1d, pow(10, 9))),
-    PICO("p", RationalConverter.of(1d, pow(10, 12))),
-    FEMTO("f", RationalConverter.of(1d, pow(10, 15))),
-    ATTO("a", RationalConverter.of(1d, pow(10, 18))),
-    ZEPTO("z", RationalConverter.of(1d, pow(10, 21))),
-    YOCTO("y", RationalConverter.of(1d, pow(10, 24)));
+    YOTTA("Y", RationalConverter.of(TEN.pow(24), ONE)),
+    ZETTA("Z", RationalConverter.of(TEN.pow(21), ONE)),
+    EXA("E", RationalConverter.of(TEN.pow(18), ONE)),
+    PETA("P", RationalConverter.of(TEN.pow(15), ONE)),
+    TERA("T", RationalConverter.of(TEN.pow(12), ONE)),
+    GIGA("G", RationalConverter.of(TEN.pow(9), ONE)),
+    MEGA("M", RationalConverter.of(TEN.pow(6), ONE)),
+    KILO("k", RationalConverter.of(TEN.pow(3), ONE)),
+    HECTO("h", RationalConverter.of(100, 1)),
+    DEKA("da", RationalConverter.of(10, 1)),
+    DECI("d", RationalConverter.of(1, 10)),
+    CENTI("c", RationalConverter.of(1, 100)),
+    MILLI("m", RationalConverter.of(ONE, TEN.pow(3))),
+    MICRO("µ", RationalConverter.of(ONE, TEN.pow(6))),
+    NANO("n", RationalConverter.of(ONE, TEN.pow(9))),
+    PICO("p", RationalConverter.of(ONE, TEN.pow(12))),
+    FEMTO("f", RationalConverter.of(ONE, TEN.pow(15))),
+    ATTO("a", RationalConverter.of(ONE, TEN.pow(18))),
+    ZEPTO("z", RationalConverter.of(ONE, TEN.pow(21))),
+    YOCTO("y", RationalConverter.of(ONE, TEN.pow(24)));
 
     /**
      * The symbol of this prefix, as returned by {@link
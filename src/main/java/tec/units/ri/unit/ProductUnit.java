@@ -29,8 +29,13 @@
  */
 package tec.units.ri.unit;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.measure.Dimension;
 import javax.measure.Quantity;
@@ -50,6 +55,10 @@ import tec.uom.lib.common.function.UnitSupplier;
  *     after factorization). For example: <code>METRE.pow(2).divide(METRE)</code>
  *     returns <code>METRE</code>.</p>
  *
+ * <p> Product units resulting from unit operations are interned; the same
+ *     product (same elements in the same order) always yields the same
+ *     instance as long as it is referenced.</p>
+ *
  * @param <Q> The type of the quantity measured by this unit.
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
@@ -64,6 +73,21 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 //	private static final long serialVersionUID = 962983585531030093L;
 
 	/**
+     * Holds the interned product units (weakly referenced, keyed by elements).
+     */
+    private static final ConcurrentMap<Key, Ref> INSTANCES = new ConcurrentHashMap<Key, Ref>();
+
+    /**
+     * Holds the references to interned product units no longer in use.
+     */
+    private static final ReferenceQueue<ProductUnit<?>> QUEUE = new ReferenceQueue<ProductUnit<?>>();
+
+    /**
+     * Holds the empty elements array.
+     */
+    private static final Element[] NO_ELEMENTS = new Element[0];
+
+    /**
      * Holds the units composing this product unit.
      */
     private final Element[] elements;
@@ -77,13 +101,28 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      * Holds the symbol for this unit.
      */
     private final String symbol;
+
+    /**
+     * Holds the dimension, computed on first use.
+     */
+    private volatile Dimension dimension;
+
+    /**
+     * Holds the system unit, computed on first use.
+     */
+    private volatile AbstractUnit<Q> systemUnit;
+
+    /**
+     * Holds the converter to the system unit, computed on first use.
+     */
+    private volatile UnitConverter systemConverter;
     
     /**
      * Default constructor (used solely to create <code>ONE</code> instance).
      */
     public ProductUnit() {
     	this.symbol = "";
-        elements = new Element[0];
+        elements = new Element[0]; // Not NO_ELEMENTS, ONE is created during class initialization.
     }
 
     /**
@@ -176,7 +215,7 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             }
         } else
             unitElems = new Element[]{new Element(unit, 1, n)};
-        return getInstance(unitElems, new Element[0]);
+        return getInstance(unitElems, NO_ELEMENTS);
     }
 
     /**
@@ -184,10 +223,10 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      * specified exponent.
      *
      * @param unit the unit.
-     * @param nn the exponent (nn &gt; 0).
+     * @param n the exponent (n &gt; 0).
      * @return <code>unit^n</code>
      */
-    static Unit<?> getPowInstance(AbstractUnit<?> unit, int n) {
+    public static Unit<?> getPowInstance(AbstractUnit<?> unit, int n) {
         Element[] unitElems;
         if (unit instanceof ProductUnit<?>) {
             Element[] elems = ((ProductUnit<?>) unit).elements;
@@ -198,7 +237,7 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             }
         } else
             unitElems = new Element[]{new Element(unit, n, 1)};
-        return getInstance(unitElems, new Element[0]);
+        return getInstance(unitElems, NO_ELEMENTS);
     }
 
     /**
@@ -298,6 +337,9 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     @SuppressWarnings("unchecked")
 	@Override
     public AbstractUnit<Q> toSystemUnit() {
+        AbstractUnit<Q> result = this.systemUnit;
+        if (result != null)
+            return result;
         Unit<?> systemUnit = AbstractUnit.ONE;
         for (Element element : elements) {
             Unit<?> unit = element.unit.getSystemUnit();
@@ -305,10 +347,15 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             unit = unit.root(element.root);
             systemUnit = systemUnit.multiply(unit);
         }
-        return (AbstractUnit<Q>) systemUnit;
+        result = (AbstractUnit<Q>) systemUnit;
+        this.systemUnit = result; // Null while ONE is being initialized.
+        return result;
     }
 
     public UnitConverter getSystemConverter() {
+        UnitConverter result = this.systemConverter;
+        if (result != null)
+            return result;
         UnitConverter converter = AbstractConverter.IDENTITY;
         for (Element e : elements) {
             @SuppressWarnings("rawtypes")
@@ -326,11 +373,16 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
                 converter = converter.concatenate(cvtr);
             }
         }
+        this.systemConverter = converter;
         return converter;
     }
 
     @Override
     public Dimension getDimension() {
+        Dimension result = this.dimension;
+        if (result != null)
+            return result;
+        boolean complete = true;
     	Dimension dimension = QuantityDimension.NONE;
         for (int i = 0; i < this.getUnitCount(); i++) {
             Unit<?> unit = this.getUnit(i);
@@ -341,8 +393,13 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             	} else {
             		dimension = d; // FIXME hackaround
             	}
+            } else {
+            	complete = false;
             }
         }
+        if (complete) { // Element dimensions may be missing during class initialization.
+        	this.dimension = dimension;
+        }
         return dimension;
     }
 
@@ -402,7 +459,44 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         else {
             Element[] elems = new Element[resultIndex];
             System.arraycopy(result, 0, elems, 0, resultIndex);
-            return new ProductUnit(elems);
+            return intern(elems);
+        }
+    }
+
+    /**
+     * Returns the canonical product unit having the specified elements.
+     *
+     * @param elems the product elements (normalized).
+     * @return the unique product unit for these elements.
+     */
+    @SuppressWarnings("rawtypes")
+    private static ProductUnit<?> intern(Element[] elems) {
+        expungeStaleEntries();
+        final Key key = new Key(elems);
+        Ref ref = INSTANCES.get(key);
+        ProductUnit<?> unit = (ref != null) ? ref.get() : null;
+        if (unit != null)
+            return unit;
+        final ProductUnit<?> created = new ProductUnit(elems);
+        final Ref createdRef = new Ref(created, key);
+        while (true) {
+            ref = INSTANCES.putIfAbsent(key, createdRef);
+            if (ref == null)
+                return created;
+            unit = ref.get();
+            if (unit != null)
+                return unit; // Interned concurrently.
+            if (INSTANCES.replace(key, ref, createdRef))
+                return created;
+        }
+    }
+
+    /**
+     * Removes the entries of product units which have been garbage collected.
+     */
+    private static void expungeStaleEntries() {
+        for (Object ref; (ref = QUEUE.poll()) != null;) {
+            INSTANCES.remove(((Ref) ref).key, ref);
         }
     }
 
@@ -488,6 +582,60 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         public int getRoot() {
             return root;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Element))
+                return false;
+            Element that = (Element) obj;
+            return (this.pow == that.pow) && (this.root == that.root)
+                    && this.unit.equals(that.unit);
+        }
+
+        @Override
+        public int hashCode() {
+            return (unit.hashCode() * 31 + pow) * 31 + root;
+        }
+    }
+
+    /**
+     * Key of the intern table; the elements of a product unit (order matters).
+     */
+    private static final class Key {
+
+        private final Element[] elements;
+
+        private final int hashCode;
+
+        private Key(Element[] elements) {
+            this.elements = elements;
+            this.hashCode = Arrays.hashCode(elements);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Key) && Arrays.equals(elements, ((Key) obj).elements);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Weak reference to an interned product unit, remembering its key.
+     */
+    private static final class Ref extends WeakReference<ProductUnit<?>> {
+
+        private final Key key;
+
+        private Ref(ProductUnit<?> unit, Key key) {
+            super(unit, QUEUE);
+            this.key = key;
+        }
     }
 
 	@Override
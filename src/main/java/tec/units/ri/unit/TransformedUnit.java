@@ -83,6 +83,11 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
      */
     private String symbol;
 
+    /**
+     * Holds the converter to the system unit, computed on first use.
+     */
+    private volatile UnitConverter systemConverter;
+
     /**
      * Creates a transformed unit from the specified system unit.
      *
@@ -144,7 +149,12 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
     @Override
     public UnitConverter getSystemConverter() {
-        return parentUnit.getSystemConverter().concatenate(converter);
+        UnitConverter result = systemConverter;
+        if (result == null) {
+            result = parentUnit.getSystemConverter().concatenate(converter);
+            systemConverter = result;
+        }
+        return result;
     }
 
     @Override
@@ -0,0 +1,179 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.measure.Quantity;
+import javax.measure.format.ParserException;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.internal.format.l10n.DecimalFormat;
+import tec.units.ri.quantity.Quantities;
+import tec.units.ri.unit.Units;
+
+public class QuantityFormatTest {
+
+	@Test
+	public void testFormat() {
+		QuantityFormat format = QuantityFormat.getInstance();
+		assertEquals("1,234.5 km", format.format(Quantities.getQuantity(1234.5d, KILO(METRE))));
+		assertEquals("0.125 m", format.format(Quantities.getQuantity(0.125d, METRE)));
+		assertEquals("7 m", format.format(Quantities.getQuantity(7, METRE)));
+	}
+
+	@Test
+	public void testFormatDoesNotDependOnPreviousValue() {
+		QuantityFormat format = QuantityFormat.getInstance();
+		String expected = format.format(Quantities.getQuantity(2.5d, METRE));
+		format.format(Quantities.getQuantity(0.123456d, METRE));
+		assertEquals(expected, format.format(Quantities.getQuantity(2.5d, METRE)));
+	}
+
+	@Test
+	public void testConcurrentFormat() throws Exception {
+		final QuantityFormat format = QuantityFormat.getInstance();
+		final List<Quantity<?>> quantities = new ArrayList<Quantity<?>>();
+		final List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			Quantity<?> q = Quantities.getQuantity(i / 8.0 + i * 1000, METRE);
+			quantities.add(q);
+			expected.add(format.format(q));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 8; t++) {
+				results.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() {
+						for (int n = 0; n < 50; n++) {
+							for (int i = 0; i < quantities.size(); i++) {
+								if (!expected.get(i).equals(format.format(quantities.get(i))))
+									return false;
+							}
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testSameAsDecimalFormat() {
+		QuantityFormat format = QuantityFormat.getInstance();
+		double[] values = { 0, 1, -1, 0.5, 12.75, 1234.5, -98765.4321, 0.001, 0.0001234, 1e15, 123456789.125, 3.0e-7 };
+		for (double value : values) {
+			int fract = QuantityFormat.getFractionDigitsCount(value);
+			DecimalFormat decimalFormat = new DecimalFormat();
+			if (fract > 1) {
+				decimalFormat.setMaximumFractionDigits(fract + 1);
+			}
+			assertEquals(decimalFormat.format(value) + " m", format.format(Quantities.getQuantity(value, METRE)));
+		}
+		assertEquals(new DecimalFormat().format(Long.MIN_VALUE) + " m", format.format(Quantities.getQuantity(Long.MIN_VALUE, METRE)));
+	}
+
+	@Test
+	public void testShortestDigits() {
+		// Double.toString (hence DecimalFormat) gives 9.999999999999999E22 before Java 19.
+		double value = 1.0E23;
+		int fract = QuantityFormat.getFractionDigitsCount(value);
+		DecimalFormat decimalFormat = new DecimalFormat();
+		if (fract > 1) {
+			decimalFormat.setMaximumFractionDigits(fract + 1);
+		}
+		assertEquals(decimalFormat.format(value) + " m", QuantityFormat.getInstance().format(Quantities.getQuantity(value, METRE)));
+		assertEquals("100,000,000,000,000,000,000,000 m", QuantityFormat.getShortestInstance().format(Quantities.getQuantity(value, METRE)));
+		QuantityFormat format = QuantityFormat.getShortestInstance();
+		double[] values = { 0, 1, -1, 0.5, 12.75, 1234.5, -98765.4321, 0.001, 0.0001234, 1e15, 123456789.125, 3.0e-7 };
+		for (double v : values) {
+			assertEquals(QuantityFormat.getInstance().format(Quantities.getQuantity(v, METRE)), format.format(Quantities.getQuantity(v, METRE)));
+		}
+		assertEquals("7 m", format.format(Quantities.getQuantity(7, METRE)));
+		assertEquals("NaN m", format.format(Quantities.getQuantity(Double.NaN, METRE)));
+	}
+
+	@Test
+	public void testFormatNonFinite() {
+		QuantityFormat format = QuantityFormat.getInstance();
+		assertEquals("NaN m", format.format(Quantities.getQuantity(Double.NaN, METRE)));
+		assertEquals(new DecimalFormat().format(Double.POSITIVE_INFINITY) + " m",
+				format.format(Quantities.getQuantity(Double.POSITIVE_INFINITY, METRE)));
+	}
+
+	@Test
+	public void testParse() throws Exception {
+		QuantityFormat format = QuantityFormat.getInstance();
+		Quantity<?> speed = format.parse("12.5 km/h");
+		assertEquals(12.5d, speed.getValue());
+		assertEquals(KILO(METRE).divide(Units.HOUR), speed.getUnit());
+		Quantity<?> length = format.parse(" -7  m");
+		assertEquals(-7L, length.getValue());
+		assertEquals(METRE, length.getUnit());
+		Quantity<?> number = format.parse("42");
+		assertEquals(42L, number.getValue());
+		assertEquals(AbstractUnit.ONE, number.getUnit());
+		assertEquals(6.022e23d, format.parse("6.022E23 m").getValue());
+	}
+
+	@Test
+	public void testParseFormatted() throws Exception {
+		QuantityFormat format = QuantityFormat.getInstance();
+		double[] values = { 0, 1, -1, 0.5, 12.75, 1234.5, -98765.4321, 0.001, 1e15, 123456789.125 };
+		for (double value : values) {
+			Quantity<?> q = Quantities.getQuantity(value, KILO(METRE));
+			Quantity<?> parsed = format.parse(format.format(q));
+			assertEquals(value, parsed.getValue().doubleValue(), 0);
+			assertEquals(KILO(METRE), parsed.getUnit());
+		}
+	}
+
+	@Test(expected = ParserException.class)
+	public void testParseInvalid() throws Exception {
+		QuantityFormat.getInstance().parse("km");
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.CELSIUS;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.unit.Units;
+
+public class QuantityStreamParserTest {
+
+	private static final String RECORDS = "12.5 km/h\r\n 3 m\n\n-4.25e2 m \n7\n1 km";
+
+	private static void assertRecords(QuantityColumn column) {
+		assertEquals(5, column.size());
+		assertArrayEquals(new double[] { 12.5, 3, -425, 7, 1 }, column.toArray(), 0);
+		assertEquals(4, column.getRunCount());
+		assertEquals(KILO(METRE).divide(Units.HOUR), column.getUnit(0));
+		assertEquals(METRE, column.getUnit(1));
+		assertEquals(METRE, column.getUnit(2));
+		assertEquals(AbstractUnit.ONE, column.getUnit(3));
+		assertEquals(KILO(METRE), column.getUnit(4));
+		assertEquals(1, column.getRunStart(1));
+		assertEquals(3, column.getRunEnd(1));
+	}
+
+	@Test
+	public void testReader() throws Exception {
+		QuantityColumn column = new QuantityColumn();
+		new QuantityStreamParser().parse(new StringReader(RECORDS), column);
+		assertRecords(column);
+	}
+
+	@Test
+	public void testCharBuffer() throws Exception {
+		QuantityColumn column = new QuantityColumn();
+		new QuantityStreamParser().parse(CharBuffer.wrap(RECORDS), column);
+		assertRecords(column);
+	}
+
+	@Test
+	public void testByteBuffer() throws Exception {
+		QuantityColumn column = new QuantityColumn();
+		ByteBuffer buffer = ByteBuffer.wrap(RECORDS.getBytes("UTF-8"));
+		new QuantityStreamParser().parse(buffer, column);
+		assertRecords(column);
+		assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testMappedFile() throws Exception {
+		File file = File.createTempFile("quantities", ".txt");
+		file.deleteOnExit();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			sb.append(i).append(i < 5000 ? " m\n" : " °C\n");
+		}
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(sb.toString().getBytes("UTF-8"));
+		} finally {
+			out.close();
+		}
+		QuantityColumn column = new QuantityColumn();
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			new QuantityStreamParser().parse(buffer, column);
+		} finally {
+			raf.close();
+		}
+		assertEquals(10000, column.size());
+		assertEquals(2, column.getRunCount());
+		assertEquals(METRE, column.getRunUnit(0));
+		assertEquals(CELSIUS, column.getRunUnit(1));
+		assertEquals(9999, column.getValue(9999), 0);
+
+		// Same through a reader, across chunk boundaries.
+		column.clear();
+		new QuantityStreamParser().parse(new StringReader(sb.toString()), column);
+		assertEquals(10000, column.size());
+		assertEquals(CELSIUS, column.getUnit(5000));
+	}
+
+	@Test
+	public void testUnitReused() throws Exception {
+		final List<Unit<?>> units = new ArrayList<Unit<?>>();
+		new QuantityStreamParser().parse(CharBuffer.wrap("1 m/s\n2 m/s\n3 m/s"), new QuantityStreamParser.Handler() {
+			@Override
+			public void quantity(double value, Unit<?> unit) {
+				units.add(unit);
+			}
+		});
+		assertEquals(3, units.size());
+		assertSame(units.get(0), units.get(1));
+		assertSame(units.get(0), units.get(2));
+	}
+
+	@Test
+	public void testErrorOffsets() throws Exception {
+		String records = "1 °C\n2 °C\nx m\n4 m\n5 ææ\n6 m";
+		final List<Long> offsets = new ArrayList<Long>();
+		final QuantityColumn column = new QuantityColumn();
+		QuantityStreamParser.Handler handler = new QuantityStreamParser.Handler() {
+			@Override
+			public void quantity(double value, Unit<?> unit) {
+				column.add(value, unit);
+			}
+
+			@Override
+			public void error(String message, long offset) {
+				offsets.add(offset);
+			}
+		};
+		new QuantityStreamParser().parse(ByteBuffer.wrap(records.getBytes("UTF-8")), handler);
+		assertEquals(4, column.size());
+		assertEquals(2, offsets.size());
+		assertEquals(12, offsets.get(0).longValue()); // In bytes.
+		assertEquals(22, offsets.get(1).longValue());
+
+		offsets.clear();
+		column.clear();
+		new QuantityStreamParser().parse(CharBuffer.wrap(records), handler);
+		assertEquals(4, column.size());
+		assertEquals(10, offsets.get(0).longValue()); // In characters.
+		assertEquals(20, offsets.get(1).longValue());
+	}
+
+	@Test
+	public void testMalformed() throws Exception {
+		byte[] bytes = { '1', ' ', 'm', '\n', '2', ' ', (byte) 0xC3, '\n', '3', ' ', 'm' };
+		final List<Long> offsets = new ArrayList<Long>();
+		final QuantityColumn column = new QuantityColumn();
+		new QuantityStreamParser().parse(ByteBuffer.wrap(bytes), new QuantityStreamParser.Handler() {
+			@Override
+			public void quantity(double value, Unit<?> unit) {
+				column.add(value, unit);
+			}
+
+			@Override
+			public void error(String message, long offset) {
+				offsets.add(offset);
+			}
+		});
+		assertEquals(2, column.size());
+		assertEquals(1, offsets.size());
+		assertEquals(6, offsets.get(0).longValue());
+	}
+
+	@Test(expected = ParserException.class)
+	public void testDefaultError() throws Exception {
+		new QuantityStreamParser().parse(CharBuffer.wrap("1 m\nkm"), new QuantityColumn());
+	}
+}
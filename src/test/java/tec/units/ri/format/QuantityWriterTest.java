@@ -0,0 +1,126 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+
+public class QuantityWriterTest {
+
+	@Test
+	public void testWriter() throws Exception {
+		StringWriter out = new StringWriter();
+		new QuantityWriter().write(new double[] { 0, 12.5, -3, 1234567.25, 0.001 }, 1, 3, KILO(METRE), out);
+		assertEquals("12.5 km\n-3 km\n1234567.25 km\n", out.toString());
+	}
+
+	@Test
+	public void testSpecialValues() throws Exception {
+		StringWriter out = new StringWriter();
+		double[] values = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, 1e-7 };
+		new QuantityWriter().write(values, 0, values.length, AbstractUnit.ONE, out);
+		assertEquals("NaN\nInfinity\n-Infinity\n-0.0\n0.0000001\n", out.toString());
+		QuantityColumn column = new QuantityColumn();
+		new QuantityStreamParser().parse(new StringReader(out.toString()), column);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(Double.doubleToLongBits(values[i]), Double.doubleToLongBits(column.getValue(i)));
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Random random = new Random(363);
+		QuantityColumn column = new QuantityColumn();
+		for (int i = 0; i < 20000; i++) {
+			double value = (i % 2 == 0) ? Double.longBitsToDouble(random.nextLong()) : random.nextInt(100000) / 100.0;
+			if (Double.isNaN(value))
+				continue;
+			column.add(value, (i / 1000 % 2 == 0) ? METRE : CELSIUS);
+		}
+		StringWriter out = new StringWriter();
+		new QuantityWriter().write(column, out);
+		QuantityColumn parsed = new QuantityColumn();
+		new QuantityStreamParser().parse(new StringReader(out.toString()), parsed);
+		assertEquals(column.size(), parsed.size());
+		assertArrayEquals(column.toArray(), parsed.toArray(), 0);
+		assertEquals(column.getRunCount(), parsed.getRunCount());
+		assertEquals(CELSIUS, parsed.getRunUnit(1));
+	}
+
+	@Test
+	public void testCharBuffer() {
+		QuantityWriter writer = new QuantityWriter();
+		double[] values = { 1, 22, 333 };
+		CharBuffer out = CharBuffer.allocate(12);
+		assertEquals(2, writer.write(values, 0, 3, METRE, out)); // Records are not split.
+		out.flip();
+		assertEquals("1 m\n22 m\n", out.toString());
+		out.clear();
+		assertEquals(1, writer.write(values, 2, 1, METRE, out));
+		out.flip();
+		assertEquals("333 m\n", out.toString());
+	}
+
+	@Test
+	public void testByteBuffer() throws Exception {
+		QuantityColumn column = new QuantityColumn();
+		for (int i = 0; i < 5000; i++) {
+			column.add(i + 0.5, (i < 2500) ? METRE : CELSIUS);
+		}
+		QuantityWriter writer = new QuantityWriter();
+		ByteBuffer out = ByteBuffer.allocateDirect(4096);
+		StringBuilder sb = new StringBuilder();
+		int index = 0;
+		while (index < column.size()) {
+			out.clear();
+			index = writer.write(column, index, out);
+			out.flip();
+			byte[] bytes = new byte[out.remaining()];
+			out.get(bytes);
+			sb.append(new String(bytes, "UTF-8"));
+		}
+		StringWriter expected = new StringWriter();
+		writer.write(column, expected);
+		assertEquals(expected.toString(), sb.toString());
+		assertTrue(sb.toString().endsWith("4999.5 °C\n"));
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.MINUTE;
+import static tec.units.ri.unit.Units.MOLE;
+
+import org.junit.Test;
+
+public class SymbolTrieTest {
+
+	@Test
+	public void testGet() {
+		SymbolTrie trie = SymbolTrie.EMPTY.put("m", METRE).put("min", MINUTE).put("mol", MOLE);
+		assertEquals(3, trie.size());
+		assertEquals(METRE, trie.get("m"));
+		assertEquals(MINUTE, trie.get("min"));
+		assertEquals(MOLE, trie.get("mol"));
+		assertNull(trie.get("mi"));
+		assertNull(trie.get("mols"));
+		assertNull(trie.get(""));
+	}
+
+	@Test
+	public void testGetRange() {
+		SymbolTrie trie = SymbolTrie.EMPTY.put("min", MINUTE);
+		assertEquals(MINUTE, trie.get("5 min/h", 2, 5));
+		assertNull(trie.get("5 min/h", 2, 4));
+	}
+
+	@Test
+	public void testPersistent() {
+		SymbolTrie first = SymbolTrie.EMPTY.put("m", METRE);
+		SymbolTrie second = first.put("m", MINUTE).put("mol", MOLE);
+		assertEquals(METRE, first.get("m"));
+		assertNull(first.get("mol"));
+		assertEquals(1, first.size());
+		assertEquals(MINUTE, second.get("m"));
+		assertEquals(2, second.size());
+		assertEquals(0, SymbolTrie.EMPTY.size());
+	}
+}
@@ -32,6 +32,7 @@ package tec.units.ri.format;
 import static org.junit.Assert.*;
 import static tec.units.ri.unit.MetricPrefix.*;
 import static tec.units.ri.unit.Units.HERTZ;
+import static tec.units.ri.unit.Units.HOUR;
 import static tec.units.ri.unit.Units.KILOGRAM;
 import static tec.units.ri.unit.Units.METRE;
 import static tec.units.ri.unit.Units.MINUTE;
@@ -40,6 +41,9 @@ import static tec.units.ri.unit.Units.SECOND;
 import static tec.units.ri.unit.Units.STERADIAN;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -192,4 +196,92 @@ public class UnitFormatTest {
 	public void testParseIrregularString() {
 		Unit<?> u = format.parse("bl//^--1a");
 	}
+
+	@Test
+	public void testParsePrefixed() {
+		assertEquals(KILO(METRE), format.parse("km"));
+		assertEquals(MILLI(SECOND), format.parse("ms"));
+		assertEquals(METRE.divide(SECOND), format.parse("m/s"));
+		assertEquals(KILOGRAM.multiply(METRE.pow(2)), format.parse("kg·m²"));
+	}
+
+	@Test
+	public void testParseCached() {
+		Unit<?> u = format.parse("km/s");
+		assertSame(u, format.parse("km/s"));
+		assertSame(u, format.parse(new StringBuilder("km/s")));
+	}
+
+	@Test
+	public void testParseAfterRelabel() {
+		SimpleUnitFormat.DefaultFormat f = new SimpleUnitFormat.DefaultFormat();
+		f.label(METRE, "x");
+		assertEquals(METRE, f.parse("x"));
+		f.label(SECOND, "x");
+		assertEquals(SECOND, f.parse("x"));
+	}
+
+	@Test
+	public void testFormatCached() {
+		SimpleUnitFormat f = SimpleUnitFormat.getInstance();
+		String symbol = f.format(KILO(METRE).divide(HOUR));
+		assertEquals("km/h", symbol);
+		assertSame(symbol, f.format(KILO(METRE).divide(HOUR)));
+		Unit<?> area = METRE.multiply(METRE);
+		assertEquals("m²", f.format(area));
+		assertEquals("m^2", SimpleUnitFormat.getInstance(SimpleUnitFormat.Flavor.ASCII).format(area));
+		assertEquals("m²", f.format(area));
+	}
+
+	@Test
+	public void testFormatAfterRelabel() {
+		SimpleUnitFormat.DefaultFormat f = new SimpleUnitFormat.DefaultFormat();
+		f.label(METRE, "x");
+		assertEquals("x/s", f.format(METRE.divide(SECOND)));
+		f.label(METRE, "y");
+		assertEquals("y/s", f.format(METRE.divide(SECOND)));
+		f.alias(SECOND, "sec");
+		assertEquals("y/s", f.format(METRE.divide(SECOND)));
+	}
+
+	@Test
+	public void testRegister() {
+		SimpleUnitFormat.DefaultFormat f = new SimpleUnitFormat.DefaultFormat();
+		Map<Unit<?>, String> labels = new HashMap<Unit<?>, String>();
+		labels.put(METRE, "m");
+		labels.put(SECOND, "s");
+		Map<String, Unit<?>> aliases = new HashMap<String, Unit<?>>();
+		aliases.put("metre", METRE);
+		f.register(labels, aliases);
+		assertEquals("m/s", f.format(METRE.divide(SECOND)));
+		assertEquals(METRE, f.parse("metre"));
+	}
+
+	@Test
+	public void testRegisterInvalid() {
+		SimpleUnitFormat.DefaultFormat f = new SimpleUnitFormat.DefaultFormat();
+		Map<Unit<?>, String> labels = new HashMap<Unit<?>, String>();
+		labels.put(METRE, "m");
+		labels.put(SECOND, "2s");
+		try {
+			f.register(labels, Collections.<String, Unit<?>> emptyMap());
+			fail("IllegalArgumentException expected");
+		} catch (IllegalArgumentException e) {
+			// Nothing registered.
+			assertNull(f.unitFor("m"));
+		}
+	}
+
+	@Test
+	public void testPrefixedLabels() {
+		assertEquals("mA", format.format(MILLI(Units.AMPERE)));
+		assertEquals("µg", format.format(MICRO(Units.GRAM)));
+		assertEquals(MILLI(Units.CELSIUS), format.parse("m°C"));
+		assertEquals(KILO(Units.OHM), format.parse("kOhm"));
+		UnitFormat ascii = SimpleUnitFormat.getInstance(SimpleUnitFormat.Flavor.ASCII);
+		assertEquals("kOhm", ascii.format(KILO(Units.OHM)));
+		assertEquals("microg", ascii.format(MICRO(Units.GRAM)));
+		assertEquals(KILO(METRE), ascii.parse("km"));
+		assertEquals(MICRO(Units.CELSIUS), ascii.parse("microCelsius"));
+	}
 }
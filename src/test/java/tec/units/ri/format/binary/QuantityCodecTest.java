@@ -0,0 +1,266 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format.binary;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.MetricPrefix.MICRO;
+import static tec.units.ri.unit.MetricPrefix.MILLI;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.GRAM;
+import static tec.units.ri.unit.Units.HOUR;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.MultiplyConverter;
+import tec.units.ri.function.RationalConverter;
+import tec.units.ri.quantity.NumberQuantity;
+import tec.units.ri.quantity.QuantityDimension;
+import tec.units.ri.quantity.Quantities;
+import tec.units.ri.quantity.QuantityArray;
+import tec.units.ri.unit.BaseUnit;
+import tec.units.ri.unit.TransformedUnit;
+
+public class QuantityCodecTest {
+
+	private final QuantityCodec codec = QuantityCodec.getInstance();
+
+	private Unit<?> roundTrip(Unit<?> unit) {
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		codec.encode(unit, buffer);
+		buffer.flip();
+		Unit<?> result = codec.decodeUnit(buffer);
+		assertFalse(buffer.hasRemaining());
+		return result;
+	}
+
+	private Quantity<?> roundTrip(Quantity<?> quantity) {
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		codec.encode(quantity, buffer);
+		buffer.flip();
+		Quantity<?> result = codec.decodeQuantity(buffer);
+		assertFalse(buffer.hasRemaining());
+		return result;
+	}
+
+	@Test
+	public void testRegisteredUnits() {
+		assertEquals(METRE, roundTrip(METRE));
+		assertEquals(KILO(METRE), roundTrip(KILO(METRE)));
+		assertEquals(MICRO(SECOND), roundTrip(MICRO(SECOND)));
+		assertEquals(CELSIUS, roundTrip(CELSIUS));
+		assertEquals(AbstractUnit.ONE, roundTrip(AbstractUnit.ONE));
+	}
+
+	@Test
+	public void testRegisteredUnitsAreCompact() {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		codec.encode(METRE, buffer);
+		assertEquals(1, buffer.position());
+		buffer.clear();
+		codec.encode(KILO(METRE), buffer);
+		assertEquals(1, buffer.position());
+		buffer.clear();
+		codec.encode(MICRO(SECOND), buffer);
+		assertEquals(2, buffer.position());
+	}
+
+	@Test
+	public void testProductUnits() {
+		Unit<?> speed = KILO(METRE).divide(HOUR);
+		assertEquals(speed, roundTrip(speed));
+		Unit<?> area = MILLI(METRE).pow(2);
+		assertEquals(area, roundTrip(area));
+		Unit<?> root = METRE.multiply(SECOND).root(2);
+		assertEquals(root, roundTrip(root));
+	}
+
+	@Test
+	public void testTransformedUnits() {
+		Unit<Length> foot = new TransformedUnit<Length>(METRE, RationalConverter.of(3048, 10000));
+		assertEquals(foot, roundTrip(foot));
+		Unit<Length> scaled = new TransformedUnit<Length>(METRE, new MultiplyConverter(1.5));
+		assertEquals(scaled, roundTrip(scaled));
+		Unit<Length> shifted = new TransformedUnit<Length>(METRE, new AddConverter(2.5));
+		assertEquals(shifted, roundTrip(shifted));
+		Unit<Length> big = new TransformedUnit<Length>(METRE,
+				RationalConverter.of(BigInteger.TEN.pow(30), BigInteger.ONE));
+		assertEquals(big, roundTrip(big));
+	}
+
+	@Test
+	public void testValues() {
+		assertEquals(NumberQuantity.of(-12L, METRE), roundTrip(NumberQuantity.of(-12L, METRE)));
+		assertEquals(NumberQuantity.of(Long.MIN_VALUE, METRE), roundTrip(NumberQuantity.of(Long.MIN_VALUE, METRE)));
+		assertEquals(NumberQuantity.of(42, GRAM), roundTrip(NumberQuantity.of(42, GRAM)));
+		assertEquals(NumberQuantity.of(-0.25d, CELSIUS), roundTrip(NumberQuantity.of(-0.25d, CELSIUS)));
+		assertEquals(NumberQuantity.of(1.5f, SECOND), roundTrip(NumberQuantity.of(1.5f, SECOND)));
+		Quantity<?> bigInteger = Quantities.getQuantity(BigInteger.TEN.pow(25), METRE);
+		assertEquals(bigInteger.getValue(), roundTrip(bigInteger).getValue());
+		Quantity<?> bigDecimal = Quantities.getQuantity(new BigDecimal("-1234.5678"), METRE);
+		assertEquals(bigDecimal.getValue(), roundTrip(bigDecimal).getValue());
+	}
+
+	@Test
+	public void testDoubleColumn() {
+		double[] values = { 0, 1.5, -2.25, Double.NaN, 1e300 };
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		codec.encode(values, 1, 4, KILO(METRE), buffer);
+		assertEquals(1 + 1 + 1 + 4 * 8, buffer.position());
+		buffer.flip();
+		QuantityArray<?> array = codec.decodeArray(buffer);
+		assertEquals(KILO(METRE), array.getUnit());
+		assertEquals(4, array.size());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(Double.doubleToLongBits(values[i + 1]), Double.doubleToLongBits(array.doubleValue(i)));
+		}
+	}
+
+	@Test
+	public void testLongColumn() {
+		long[] values = { 1, -1, 300, Long.MAX_VALUE, Long.MIN_VALUE };
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		codec.encode(values, 0, values.length, SECOND, buffer);
+		buffer.flip();
+		QuantityArray<?> array = codec.decodeArray(buffer);
+		assertEquals(SECOND, array.getUnit());
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(values[i], array.get(i).getValue().longValue());
+		}
+	}
+
+	@Test
+	public void testByteOrderIsIgnored() {
+		ByteBuffer big = ByteBuffer.allocate(32);
+		ByteBuffer little = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+		codec.encode(NumberQuantity.of(3.75d, METRE), big);
+		codec.encode(NumberQuantity.of(3.75d, METRE), little);
+		assertEquals(ByteOrder.LITTLE_ENDIAN, little.order());
+		big.flip();
+		little.flip();
+		assertEquals(big, little);
+		assertEquals(NumberQuantity.of(3.75d, METRE), codec.decodeQuantity(little));
+		assertEquals(ByteOrder.LITTLE_ENDIAN, little.order());
+	}
+
+	@Test
+	public void testOverflowKeepsPosition() {
+		ByteBuffer buffer = ByteBuffer.allocate(20);
+		buffer.put((byte) 7);
+		try {
+			codec.encode(new double[] { 1, 2, 3 }, 0, 3, METRE, buffer);
+			fail("Expected BufferOverflowException");
+		} catch (BufferOverflowException e) {
+			assertEquals(1, buffer.position());
+		}
+	}
+
+	@Test
+	public void testUnsupportedUnitKeepsPosition() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.put((byte) 7);
+		Unit<?> unit = METRE.multiply(new BaseUnit<Length>("x",
+				QuantityDimension.getInstance('Q')));
+		try {
+			codec.encode(unit, buffer);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, buffer.position());
+		}
+	}
+
+	@Test(expected = ParserException.class)
+	public void testDeepNesting() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		while (buffer.hasRemaining()) {
+			buffer.put((byte) 0x03); // Transformed unit of a transformed unit...
+		}
+		buffer.flip();
+		codec.decodeUnit(buffer);
+	}
+
+	@Test(expected = ParserException.class)
+	public void testEmptyBigInteger() {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.put((byte) 4).put((byte) 0); // BIG_INTEGER, no bytes.
+		codec.encode(METRE, buffer);
+		buffer.flip();
+		codec.decodeQuantity(buffer);
+	}
+
+	@Test(expected = ParserException.class)
+	public void testEmptyBigRational() {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.put((byte) 0x03); // Transformed unit.
+		codec.encode(METRE, buffer);
+		buffer.put((byte) 2).put((byte) 0).flip(); // BIG_RATIONAL, no bytes.
+		codec.decodeUnit(buffer);
+	}
+
+	@Test(expected = ParserException.class)
+	public void testBigDecimalScaleOutOfRange() {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		buffer.put((byte) 5); // BIG_DECIMAL
+		buffer.put(new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x20 }); // 2^33
+		buffer.put((byte) 1).put((byte) 1);
+		codec.encode(METRE, buffer);
+		buffer.flip();
+		codec.decodeQuantity(buffer);
+	}
+
+	@Test(expected = ParserException.class)
+	public void testUnknownUnit() {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.put((byte) 0xFE).put((byte) 0x7F).flip();
+		codec.decodeUnit(buffer);
+	}
+
+	@Test(expected = ParserException.class)
+	public void testUnknownValueKind() {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.put((byte) 99).put((byte) 2).flip();
+		codec.decodeQuantity(buffer);
+	}
+}
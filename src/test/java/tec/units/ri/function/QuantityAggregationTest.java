@@ -0,0 +1,170 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.MetricPrefix.MILLI;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.KELVIN;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.Test;
+
+import tec.units.ri.quantity.NumberQuantity;
+
+public class QuantityAggregationTest {
+
+	@SuppressWarnings("unchecked")
+	private static List<Quantity<Length>> lengths() {
+		return Arrays.<Quantity<Length>> asList(NumberQuantity.of(1, KILO(METRE)), NumberQuantity.of(500, METRE),
+				NumberQuantity.of(250000, MILLI(METRE)), NumberQuantity.of(2.0, METRE));
+	}
+
+	@Test
+	public void testStatistics() {
+		QuantityStatistics<Length> statistics = QuantityAggregation.statistics(lengths(), METRE);
+		assertEquals(4, statistics.getCount());
+		assertEquals(1752.0, statistics.getSumValue(), 1e-9);
+		assertEquals(438.0, statistics.getAverageValue(), 1e-9);
+		assertEquals(2.0, statistics.getMinValue(), 0.0);
+		assertEquals(1000.0, statistics.getMaxValue(), 1e-12);
+		assertEquals(METRE, statistics.getSum().getUnit());
+		assertEquals(1.752, QuantityAggregation.sum(lengths(), KILO(METRE)).getValue().doubleValue(), 1e-12);
+	}
+
+	@Test
+	public void testEmpty() {
+		QuantityStatistics<Length> statistics = QuantityAggregation.statistics(
+				Collections.<Quantity<Length>> emptyList(), METRE);
+		assertEquals(0, statistics.getCount());
+		assertEquals(0.0, statistics.getSumValue(), 0.0);
+		assertNull(statistics.getAverage());
+		assertNull(statistics.getMin());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testEmptyMean() {
+		QuantityAggregation.mean(Collections.<Quantity<Length>> emptyList(), METRE);
+	}
+
+	@Test
+	public void testCompensatedSum() {
+		QuantityStatistics<Length> statistics = new QuantityStatistics<Length>(METRE);
+		statistics.accept(1e16);
+		for (int i = 0; i < 1000; i++) {
+			statistics.accept(1.0);
+		}
+		assertEquals(1e16 + 1000, statistics.getSumValue(), 0.0);
+		statistics.accept(Double.POSITIVE_INFINITY);
+		assertEquals(Double.POSITIVE_INFINITY, statistics.getSumValue(), 0.0);
+	}
+
+	@Test
+	public void testCombine() {
+		QuantityStatistics<Length> metres = new QuantityStatistics<Length>(METRE);
+		metres.accept(3.0);
+		QuantityStatistics<Length> kilometres = new QuantityStatistics<Length>(KILO(METRE));
+		kilometres.accept(-1.0);
+		kilometres.accept(2.0);
+		metres.combine(kilometres);
+		assertEquals(3, metres.getCount());
+		assertEquals(1003.0, metres.getSumValue(), 1e-9);
+		assertEquals(-1000.0, metres.getMinValue(), 1e-9);
+		assertEquals(2000.0, metres.getMaxValue(), 1e-9);
+	}
+
+	@Test
+	public void testCombineWithOffset() {
+		QuantityStatistics<Temperature> kelvin = new QuantityStatistics<Temperature>(KELVIN);
+		QuantityStatistics<Temperature> celsius = new QuantityStatistics<Temperature>(CELSIUS);
+		celsius.accept(10.0);
+		celsius.accept(20.0);
+		kelvin.combine(celsius);
+		assertEquals(2, kelvin.getCount());
+		assertEquals(576.3, kelvin.getSumValue(), 1e-9);
+		assertEquals(288.15, kelvin.getAverageValue(), 1e-9);
+		assertEquals(283.15, kelvin.getMinValue(), 1e-9);
+		assertEquals(293.15, kelvin.getMaxValue(), 1e-9);
+		QuantityStatistics<Temperature> back = new QuantityStatistics<Temperature>(CELSIUS).combine(kelvin);
+		assertEquals(30.0, back.getSumValue(), 1e-9);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testParallelMatchesSequential() {
+		Random random = new Random(363);
+		List<Quantity<Length>> quantities = new ArrayList<Quantity<Length>>();
+		for (int i = 0; i < 100000; i++) {
+			double value = random.nextDouble() * 1000;
+			quantities.add((i % 1000 < 500) ? NumberQuantity.of(value, METRE) : NumberQuantity.of(value, KILO(METRE)));
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			QuantityStatistics<Length> sequential = QuantityAggregation.statistics(quantities, METRE);
+			QuantityStatistics<Length> parallel = QuantityAggregation.parallelStatistics(quantities, METRE, pool, 1000);
+			assertEquals(sequential.getCount(), parallel.getCount());
+			assertEquals(sequential.getSumValue(), parallel.getSumValue(), Math.abs(sequential.getSumValue()) * 1e-15);
+			assertEquals(sequential.getMinValue(), parallel.getMinValue(), 0.0);
+			assertEquals(sequential.getMaxValue(), parallel.getMaxValue(), 0.0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		double[] values = QuantityAggregation.percentiles(lengths(), METRE, 0, 50, 100, 25);
+		assertEquals(2.0, values[0], 0.0);
+		assertEquals(375.0, values[1], 1e-9);
+		assertEquals(1000.0, values[2], 1e-9);
+		assertEquals(188.0, values[3], 1e-9);
+		Quantity<Length> median = QuantityAggregation.percentile(lengths(), KILO(METRE), 50);
+		assertEquals(0.375, median.getValue().doubleValue(), 1e-12);
+		assertEquals(KILO(METRE), median.getUnit());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercentile() {
+		QuantityAggregation.percentiles(lengths(), METRE, 101);
+	}
+}
@@ -29,10 +29,16 @@
  */
 package tec.units.ri.function;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
 import javax.measure.quantity.Time;
 import org.junit.Assert;
 import org.junit.Before;
@@ -40,6 +46,7 @@ import org.junit.Test;
 
 import tec.units.ri.AbstractQuantity;
 import tec.units.ri.quantity.NumberQuantity;
+import tec.units.ri.unit.MetricPrefix;
 import tec.units.ri.unit.Units;
 
 public class QuantitySortTest {
@@ -87,4 +94,56 @@ public class QuantitySortTest {
 	private List<AbstractQuantity<Time>> getTimes() {
         return Arrays.asList(day, minutes, hours, week, seconds);
     }
+
+    @Test
+    public void sortComparatorTest() {
+        List<AbstractQuantity<Time>> times = getTimes();
+        Collections.sort(times, new NaturalOrder<Time>());
+        Assert.assertEquals(Arrays.asList(seconds, minutes, hours, day, week), times);
+    }
+
+    @Test
+    public void sortPrimitiveKeysTest() {
+        List<AbstractQuantity<Time>> times = getTimes();
+        QuantitySort.sort(times);
+        Assert.assertEquals(Arrays.asList(seconds, minutes, hours, day, week), times);
+        List<AbstractQuantity<Time>> linked = new LinkedList<AbstractQuantity<Time>>(getTimes());
+        QuantitySort.sort(linked, Units.SECOND);
+        Assert.assertEquals(times, linked);
+        Assert.assertArrayEquals(new double[] { 100, 900, 64800, 86400, 604800 },
+                QuantitySort.toDoubleArray(times, Units.SECOND), 1e-9);
+    }
+
+    @Test
+    public void sortStableTest() {
+        AbstractQuantity<Length> km = NumberQuantity.of(1, MetricPrefix.KILO(Units.METRE));
+        AbstractQuantity<Length> m = NumberQuantity.of(1000, Units.METRE);
+        AbstractQuantity<Length> cm = NumberQuantity.of(5, MetricPrefix.CENTI(Units.METRE));
+        List<AbstractQuantity<Length>> lengths = new ArrayList<AbstractQuantity<Length>>(Arrays.asList(km, m, cm));
+        QuantitySort.sort(lengths);
+        Assert.assertSame(cm, lengths.get(0));
+        Assert.assertSame(km, lengths.get(1));
+        Assert.assertSame(m, lengths.get(2));
+    }
+
+    @Test
+    public void sortLargeTest() {
+        Random random = new Random(363);
+        Unit<Length> km = MetricPrefix.KILO(Units.METRE);
+        List<AbstractQuantity<Length>> lengths = new ArrayList<AbstractQuantity<Length>>();
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(5000);
+            lengths.add((i % 3 == 0) ? NumberQuantity.of(value, km) : NumberQuantity.of(value, Units.METRE));
+        }
+        List<AbstractQuantity<Length>> expected = new ArrayList<AbstractQuantity<Length>>(lengths);
+        Collections.sort(expected, new Comparator<AbstractQuantity<Length>>() {
+            public int compare(AbstractQuantity<Length> q1, AbstractQuantity<Length> q2) {
+                return Double.compare(q1.doubleValue(Units.METRE), q2.doubleValue(Units.METRE));
+            }
+        });
+        QuantitySort.sort(lengths, Units.METRE);
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(expected.get(i), lengths.get(i));
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+import javax.measure.UnitConverter;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractConverter;
+
+public class RationalConverterTest {
+
+	@Test
+	public void testCanonical() {
+		assertEquals(RationalConverter.of(1, 2), RationalConverter.of(2, 4));
+		assertEquals(RationalConverter.of(1, 2), RationalConverter.of(-3, -6));
+		assertEquals(RationalConverter.of(-1, 2), RationalConverter.of(3, -6));
+		assertEquals(RationalConverter.of(1, 2).hashCode(), RationalConverter.of(2, 4).hashCode());
+		assertEquals(RationalConverter.of(1, 1000), RationalConverter.of(0.5d, 500d));
+	}
+
+	@Test
+	public void testHashCodeUsesDivisor() {
+		assertFalse(RationalConverter.of(1, 2).hashCode() == RationalConverter.of(1, 3).hashCode());
+	}
+
+	@Test
+	public void testConcatenateExact() {
+		UnitConverter yottaZepto = RationalConverter.of(BigInteger.TEN.pow(24), BigInteger.ONE)
+				.concatenate(RationalConverter.of(BigInteger.ONE, BigInteger.TEN.pow(21)));
+		assertEquals(RationalConverter.of(1000, 1), yottaZepto);
+		UnitConverter identity = RationalConverter.of(1, 3).concatenate(RationalConverter.of(3, 1));
+		assertEquals(AbstractConverter.IDENTITY, identity);
+	}
+
+	@Test
+	public void testOverflowFallback() {
+		RationalConverter big = RationalConverter.of(Long.MAX_VALUE, 1);
+		UnitConverter squared = big.concatenate(big);
+		BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).pow(2);
+		assertEquals(RationalConverter.of(expected, BigInteger.ONE), squared);
+		assertEquals(expected, ((RationalConverter) squared).getExactDividend());
+		UnitConverter back = squared.concatenate(big.inverse());
+		assertEquals(big, back);
+		assertEquals(2.0 * Long.MAX_VALUE, back.convert(2.0), 0);
+	}
+
+	@Test
+	public void testInverse() {
+		assertEquals(RationalConverter.of(-3, 2), RationalConverter.of(-2, 3).inverse());
+		assertEquals(0.25, RationalConverter.of(1, 4).convert(1.0), 0);
+	}
+}
@@ -33,6 +33,9 @@ import static org.junit.Assert.*;
 import static tec.units.ri.unit.MetricPrefix.*;
 import static tec.units.ri.unit.Units.*;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
@@ -40,6 +43,7 @@ import javax.measure.quantity.Length;
 
 import org.junit.Test;
 
+import tec.units.ri.AbstractConverter;
 import tec.units.ri.quantity.Quantities;
 
 public class UnitConverterTest {
@@ -71,4 +75,93 @@ public class UnitConverterTest {
 		assertEquals(targetUnit, quantResult1.getUnit());
 	}
 
+	@Test
+	public void testPairNormalize() {
+		AbstractConverter.Pair pair = new AbstractConverter.Pair(
+				new AddConverter(273.15), new AbstractConverter.Pair(
+						new RationalConverter(1, 1000), new MultiplyConverter(2.5)));
+		UnitConverter compiled = pair.normalize();
+		assertTrue(compiled instanceof AffineConverter);
+		assertEquals(2.5 / 1000, ((AffineConverter) compiled).getScale(), 1e-18);
+		assertEquals(273.15, ((AffineConverter) compiled).getOffset(), 0);
+		assertEquals(273.15 + 4.0 * 2.5 / 1000, pair.convert(4.0), 1e-12);
+		assertEquals(4.0, pair.inverse().convert(pair.convert(4.0)), 1e-9);
+	}
+
+	@Test
+	public void testPairNormalizeNonLinear() {
+		AbstractConverter.Pair pair = new AbstractConverter.Pair(
+				new MultiplyConverter(2), new AbstractConverter.Pair(
+						new LogConverter(10), new MultiplyConverter(10)));
+		assertEquals(2 * Math.log10(10 * 100.0), pair.convert(100.0), 1e-12);
+		assertEquals(3, pair.normalize().getConversionSteps().size());
+	}
+
+	@Test
+	public void testPairNormalizeIdentity() {
+		AbstractConverter.Pair pair = new AbstractConverter.Pair(
+				new MultiplyConverter(1000), new MultiplyConverter(0.001));
+		assertTrue(pair.normalize().isIdentity());
+	}
+
+	@Test
+	public void testBulkDouble() {
+		AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+		double[] values = { 1.0, 2.5, 4.0, 6.0 };
+		double[] result = new double[5];
+		converter.convert(values, 1, result, 2, 3);
+		assertEquals(0, result[1], 0);
+		assertEquals(250, result[2], 0);
+		assertEquals(600, result[4], 0);
+		converter.convert(values, 0, values, 0, values.length);
+		assertEquals(100, values[0], 0);
+	}
+
+	@Test
+	public void testBulkFloat() {
+		AbstractConverter converter = new AbstractConverter.Pair(new AddConverter(1),
+				new AbstractConverter.Pair(new LogConverter(10), new MultiplyConverter(10)));
+		float[] values = { 1f, 10f };
+		converter.convert(values, 0, values, 0, values.length);
+		assertEquals(2f, values[0], 1e-6f);
+		assertEquals(3f, values[1], 1e-6f);
+	}
+
+	@Test
+	public void testBulkBuffer() {
+		AbstractConverter converter = (AbstractConverter) CENTI(METRE).getConverterTo(KILO(METRE));
+		DoubleBuffer src = DoubleBuffer.wrap(new double[] { 100000, 250000 });
+		DoubleBuffer dst = ByteBuffer.allocateDirect(16).asDoubleBuffer();
+		converter.convert(src, dst);
+		assertFalse(src.hasRemaining());
+		assertEquals(1, dst.get(0), 0);
+		assertEquals(2.5, dst.get(1), 0);
+	}
+
+	@Test
+	public void testBulkBufferInPlace() {
+		AbstractConverter converter = (AbstractConverter) CENTI(METRE).getConverterTo(KILO(METRE));
+		DoubleBuffer heap = DoubleBuffer.wrap(new double[] { 0, 100000, 250000 });
+		heap.position(1);
+		converter.convert(heap, heap);
+		assertEquals(3, heap.position());
+		assertEquals(0, heap.get(0), 0);
+		assertEquals(1, heap.get(1), 0);
+		assertEquals(2.5, heap.get(2), 0);
+		int length = 3000; // More than one chunk.
+		DoubleBuffer direct = ByteBuffer.allocateDirect(8 * length).asDoubleBuffer();
+		for (int i = 0; i < length; i++) {
+			direct.put(i, i * 100000d);
+		}
+		converter.convert(direct, direct);
+		assertEquals(length, direct.position());
+		for (int i = 0; i < length; i++) {
+			assertEquals(i, direct.get(i), 1e-9);
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testBulkOutOfBounds() {
+		new MultiplyConverter(2).convert(new double[2], 1, new double[2], 0, 2);
+	}
 }
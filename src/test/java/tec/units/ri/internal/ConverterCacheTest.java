@@ -0,0 +1,98 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.*;
+import static tec.units.ri.unit.Units.*;
+
+import javax.measure.UnitConverter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConverterCacheTest {
+	private final ConverterCache cache = ConverterCache.getInstance();
+
+	@Before
+	public void init() {
+		cache.invalidate();
+		cache.resetStatistics();
+		cache.setStatisticsEnabled(true);
+	}
+
+	@After
+	public void cleanup() {
+		cache.setStatisticsEnabled(false);
+		cache.setCapacity(ConverterCache.DEFAULT_CAPACITY);
+	}
+
+	@Test
+	public void testCachedConverter() {
+		UnitConverter first = KILO(METRE).getConverterTo(MILLI(METRE));
+		UnitConverter second = KILO(METRE).getConverterTo(MILLI(METRE));
+		assertSame(first, second);
+		assertEquals(1000000d, second.convert(1d), 0);
+		assertTrue(cache.getHitCount() > 0);
+		assertTrue(cache.getMissCount() > 0);
+	}
+
+	@Test
+	public void testInvalidate() {
+		UnitConverter first = KILO(METRE).getConverterTo(METRE);
+		assertTrue(cache.size() > 0);
+		cache.invalidate();
+		assertEquals(0, cache.size());
+		assertNull(cache.get(KILO(METRE), METRE));
+		UnitConverter second = KILO(METRE).getConverterTo(METRE);
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void testEviction() {
+		cache.setCapacity(4);
+		KILO(METRE).getConverterTo(METRE);
+		MILLI(METRE).getConverterTo(METRE);
+		CENTI(METRE).getConverterTo(METRE);
+		MEGA(METRE).getConverterTo(METRE);
+		GIGA(METRE).getConverterTo(METRE);
+		assertTrue(cache.size() <= 4);
+		assertTrue(cache.getEvictionCount() > 0);
+	}
+
+	@Test
+	public void testStaleGeneration() {
+		int generation = cache.getGeneration();
+		cache.invalidate();
+		cache.put(KILO(METRE), METRE, KILO.getConverter(), generation);
+		assertNull(cache.get(KILO(METRE), METRE));
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.measure.spi.SystemOfUnitsService;
+import javax.measure.spi.UnitFormatService;
+
+import org.junit.Test;
+
+public class RIServiceProviderTest {
+
+	@Test
+	public void testServicesAreMemoized() {
+		RIServiceProvider provider = new RIServiceProvider();
+		assertEquals(-1, provider.getDiscoveryNanos(UnitFormatService.class));
+		List<UnitFormatService> services = provider.getServices(UnitFormatService.class);
+		assertFalse(services.isEmpty());
+		assertSame(services, provider.getServices(UnitFormatService.class));
+		assertSame(services.get(0), provider.getService(UnitFormatService.class));
+		assertTrue(provider.getDiscoveryNanos(UnitFormatService.class) >= 0);
+		assertTrue(provider.getDiscoveryNanos().containsKey(UnitFormatService.class));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testServicesAreUnmodifiable() {
+		new RIServiceProvider().getServices(UnitFormatService.class).clear();
+	}
+
+	@Test
+	public void testNoService() {
+		RIServiceProvider provider = new RIServiceProvider();
+		assertTrue(provider.getServices(Runnable.class).isEmpty());
+		assertNull(provider.getService(Runnable.class));
+	}
+
+	@Test
+	public void testConcurrentDiscovery() throws Exception {
+		final RIServiceProvider provider = new RIServiceProvider();
+		final int threads = 8;
+		final CyclicBarrier start = new CyclicBarrier(threads);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		@SuppressWarnings("unchecked")
+		final List<SystemOfUnitsService>[] results = new List[threads];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int id = t;
+			workers[t] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						start.await();
+						results[id] = provider.getServices(SystemOfUnitsService.class);
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		if (failure.get() != null)
+			throw new AssertionError(failure.get());
+		for (int t = 0; t < threads; t++) {
+			assertSame(results[0], results[t]); // A single discovery.
+		}
+		assertEquals(1, provider.getDiscoveryNanos().size());
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.util.Iterator;
+
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+import tec.units.ri.quantity.QuantityDimension;
+
+public class UnitRegistryTest {
+
+	@Test
+	public void testIds() {
+		UnitRegistry registry = new UnitRegistry();
+		for (int i = 0; i < 100; i++) {
+			assertTrue(registry.add(METRE.multiply(i + 2)));
+		}
+		assertFalse(registry.add(METRE.multiply(2)));
+		assertEquals(100, registry.size());
+		for (int i = 0; i < 100; i++) {
+			Unit<?> unit = registry.getUnit(i);
+			assertEquals(METRE.multiply(i + 2), unit);
+			assertEquals(i, registry.getId(unit));
+		}
+		assertEquals(-1, registry.getId(SECOND));
+	}
+
+	@Test
+	public void testIndexes() {
+		UnitRegistry registry = new UnitRegistry();
+		registry.add(METRE);
+		registry.add(SECOND);
+		registry.add(KILO(METRE));
+		assertEquals(2, registry.getUnits(QuantityDimension.LENGTH).size());
+		assertTrue(registry.getUnits(QuantityDimension.LENGTH).contains(KILO(METRE)));
+		assertTrue(registry.getUnits(QuantityDimension.MASS).isEmpty());
+		assertEquals(METRE, registry.getUnit("m"));
+		assertEquals(SECOND, registry.getUnit("s"));
+		assertTrue(registry.contains(SECOND));
+	}
+
+	@Test
+	public void testIteratorSnapshot() {
+		UnitRegistry registry = new UnitRegistry();
+		registry.add(METRE);
+		Iterator<Unit<?>> it = registry.iterator();
+		registry.add(SECOND);
+		assertEquals(METRE, it.next());
+		assertFalse(it.hasNext());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testNoRemoval() {
+		UnitRegistry registry = new UnitRegistry();
+		registry.add(METRE);
+		registry.remove(METRE);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testInvalidId() {
+		new UnitRegistry().getUnit(0);
+	}
+}
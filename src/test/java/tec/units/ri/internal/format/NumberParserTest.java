@@ -0,0 +1,134 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal.format;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import tec.units.ri.internal.format.l10n.ParsePosition;
+
+public class NumberParserTest {
+
+	private static NumberParser parse(String str, boolean grouping) {
+		NumberParser parser = new NumberParser(grouping);
+		ParsePosition pos = new ParsePosition(0);
+		assertTrue(str, parser.parse(str, pos));
+		assertEquals(str, str.length(), pos.getIndex());
+		return parser;
+	}
+
+	private static long parseLong(String str) {
+		NumberParser parser = parse(str, true);
+		assertFalse(str, parser.isDouble());
+		return parser.longValue();
+	}
+
+	private static double parseDouble(String str) {
+		NumberParser parser = parse(str, true);
+		assertTrue(str, parser.isDouble());
+		return parser.doubleValue();
+	}
+
+	@Test
+	public void testLong() {
+		assertEquals(0, parseLong("0"));
+		assertEquals(42, parseLong("+42"));
+		assertEquals(-7, parseLong("-7"));
+		assertEquals(1234567, parseLong("1,234,567"));
+		assertEquals(Long.MAX_VALUE, parseLong("9223372036854775807"));
+		assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808"));
+	}
+
+	@Test
+	public void testDouble() {
+		assertEquals(12.5, parseDouble("12.5"), 0);
+		assertEquals(-0.125, parseDouble("-.125"), 0);
+		assertEquals(1234.5, parseDouble("1,234.5"), 0);
+		assertEquals(6.022e23, parseDouble("6.022E23"), 0);
+		assertEquals(1e-7, parseDouble("1e-7"), 0);
+		assertEquals(5, parseDouble("5."), 0);
+		assertEquals(9223372036854775808.0, parseDouble("9223372036854775808"), 0);
+		assertEquals(Double.MAX_VALUE, parseDouble("1.7976931348623157E308"), 0);
+		assertEquals(Double.MIN_VALUE, parseDouble("4.9E-324"), 0);
+		assertEquals(Double.POSITIVE_INFINITY, parseDouble("1e400"), 0);
+		assertEquals(0.0, parseDouble("1e-400"), 0);
+		assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(parseDouble("-0.0")));
+		assertTrue(Double.isNaN(parseDouble("NaN")));
+		assertEquals(Double.NEGATIVE_INFINITY, parseDouble("-Infinity"), 0);
+		assertEquals(Double.POSITIVE_INFINITY, parseDouble("\u221E"), 0);
+	}
+
+	@Test
+	public void testSameAsParseDouble() {
+		Random random = new Random(363);
+		for (int i = 0; i < 100000; i++) {
+			double value = (i % 2 == 0) ? Double.longBitsToDouble(random.nextLong())
+					: random.nextInt(1000000) / Math.pow(10, random.nextInt(12));
+			if (Double.isNaN(value) || Double.isInfinite(value))
+				continue;
+			String str = Double.toString(value);
+			assertEquals(str, Double.doubleToLongBits(value), Double.doubleToLongBits(parseDouble(str)));
+		}
+	}
+
+	@Test
+	public void testEnd() {
+		NumberParser parser = new NumberParser(false);
+		ParsePosition pos = new ParsePosition(2);
+		assertTrue(parser.parse("x 2.5e3km", pos));
+		assertEquals(7, pos.getIndex());
+		assertEquals(2500, parser.doubleValue(), 0);
+		pos.setIndex(0);
+		assertTrue(parser.parse("3em", pos)); // Not an exponent.
+		assertEquals(1, pos.getIndex());
+		assertEquals(3, parser.longValue());
+		pos.setIndex(0);
+		assertTrue(parser.parse("1,234", pos)); // No grouping.
+		assertEquals(1, pos.getIndex());
+		pos.setIndex(0);
+		assertTrue(new NumberParser(true).parse("1,x", pos));
+		assertEquals(1, pos.getIndex());
+	}
+
+	@Test
+	public void testInvalid() {
+		NumberParser parser = new NumberParser(true);
+		String[] invalid = { "", "-", ".", "km", ",1", "-NaN", "+.e5" };
+		for (String str : invalid) {
+			ParsePosition pos = new ParsePosition(0);
+			assertFalse(str, parser.parse(str, pos));
+			assertEquals(str, 0, pos.getIndex());
+			assertTrue(str, pos.getErrorIndex() >= 0);
+		}
+	}
+}
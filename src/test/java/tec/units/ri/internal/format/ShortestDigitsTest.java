@@ -0,0 +1,117 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal.format;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ShortestDigitsTest {
+
+	private static String plain(double value) {
+		return new ShortestDigits().set(value).toString();
+	}
+
+	@Test
+	public void testShortest() {
+		assertEquals("0.1", plain(0.1));
+		assertEquals("0.3", plain(0.3));
+		assertEquals("0.30000000000000004", plain(0.1 + 0.2));
+		assertEquals("1234.5", plain(1234.5));
+		assertEquals("100000000000000000000000", plain(1e23));
+		assertEquals("0", plain(0.0));
+		assertEquals("1.5", plain(-1.5));
+		assertEquals(17, new ShortestDigits().set(Double.MAX_VALUE).getCount()); // 1.7976931348623157E308
+		assertEquals(309, new ShortestDigits().set(Double.MAX_VALUE).getDecimalAt());
+		assertEquals(-323, new ShortestDigits().set(Double.MIN_VALUE).getDecimalAt());
+	}
+
+	@Test
+	public void testDigits() {
+		ShortestDigits digits = new ShortestDigits().set(0.00125);
+		assertEquals(3, digits.getCount());
+		assertEquals(-2, digits.getDecimalAt());
+		assertEquals('1', digits.getDigit(0));
+		assertEquals('5', digits.getDigit(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNaN() {
+		new ShortestDigits().set(Double.NaN);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		Random random = new Random(1);
+		ShortestDigits digits = new ShortestDigits();
+		for (int i = 0; i < 100000; i++) {
+			double value = Double.longBitsToDouble(random.nextLong());
+			if (Double.isNaN(value) || Double.isInfinite(value))
+				continue;
+			digits.set(value);
+			StringBuilder sb = new StringBuilder("0.");
+			for (int j = 0; j < digits.getCount(); j++) {
+				sb.append(digits.getDigit(j));
+			}
+			sb.append('E').append(digits.getDecimalAt());
+			assertEquals(Math.abs(value), Double.parseDouble(sb.toString()), 0);
+			assertTrue(digits.getCount() <= 17);
+		}
+	}
+
+	@Test
+	public void testLong() {
+		assertEquals("9223372036854775808", new ShortestDigits().set(Long.MIN_VALUE).toString());
+		assertEquals("1200", new ShortestDigits().set(1200L).toString());
+		assertEquals("0", new ShortestDigits().set(0L).toString());
+	}
+
+	@Test
+	public void testRound() {
+		assertEquals("0.124", new ShortestDigits().set(0.1235).round(3).toString()); // half-even on digits
+		assertEquals("0.001", new ShortestDigits().set(0.0009).round(3).toString());
+		assertEquals("0", new ShortestDigits().set(0.0004).round(3).toString());
+		assertEquals("10", new ShortestDigits().set(9.9996).round(3).toString());
+		assertEquals("2.5", new ShortestDigits().set(2.5).round(3).toString());
+	}
+
+	@Test
+	public void testLayout() {
+		ShortestDigits digits = new ShortestDigits().set(1234567.25);
+		assertEquals("1,234,567.25", digits.appendTo(new StringBuilder(), true).toString());
+		assertEquals(12, digits.length(true));
+		char[] chars = new char[16];
+		int end = digits.getChars(chars, 2, false);
+		assertEquals("1234567.25", new String(chars, 2, end - 2));
+		assertEquals("0.000012", new ShortestDigits().set(0.000012).appendTo(new StringBuilder(), true).toString());
+	}
+}
@@ -30,7 +30,9 @@
 package tec.units.ri.quantity;
 
 import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
 import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
 
 import javax.measure.Quantity;
 import javax.measure.quantity.Length;
@@ -38,6 +40,8 @@ import javax.measure.quantity.Length;
 import org.junit.Before;
 import org.junit.Test;
 
+import tec.units.ri.AbstractQuantity;
+
 public class ArithmeticTest {
 
 	private Quantity<Length> sut;
@@ -74,5 +78,38 @@ public class ArithmeticTest {
 		assertEquals(METRE, result.getUnit());
 		assertEquals((double) 5, result.getValue());
 	}
-	
+
+	@Test
+	public void testAddConverted() {
+		Quantity<Length> km = NumberQuantity.of(1.5d, KILO(METRE));
+		Quantity<Length> result = NumberQuantity.of(10d, METRE).add(km);
+		assertEquals(METRE, result.getUnit());
+		assertEquals(1510d, result.getValue());
+		assertEquals(1510d, ((AbstractQuantity<Length>) result).doubleValue(), 0);
+	}
+
+	@Test
+	public void testAddLongExact() {
+		long big = (1L << 53) + 1;
+		Quantity<Length> result = NumberQuantity.of(big, METRE).add(NumberQuantity.of(2L, METRE));
+		assertEquals(big + 2, result.getValue());
+	}
+
+	@Test
+	public void testMultiplyLong() {
+		Quantity<?> result = NumberQuantity.of(3L, METRE).multiply(NumberQuantity.of(2L, SECOND));
+		assertEquals(METRE.multiply(SECOND), result.getUnit());
+		assertEquals(6L, result.getValue());
+		result = NumberQuantity.of(3L, METRE).multiply(NumberQuantity.of(2, SECOND));
+		assertEquals(6L, result.getValue());
+		result = NumberQuantity.of(3L, METRE).multiply(NumberQuantity.of(2.5d, SECOND));
+		assertEquals(METRE.multiply(SECOND), result.getUnit());
+		assertEquals(7.5d, result.getValue());
+	}
+
+	@Test
+	public void testAddIntegerTruncates() {
+		Quantity<Length> result = NumberQuantity.of(10, METRE).add(NumberQuantity.of(2.7d, METRE));
+		assertEquals(12, result.getValue());
+	}
 }
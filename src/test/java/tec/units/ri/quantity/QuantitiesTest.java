@@ -36,9 +36,12 @@ import org.junit.Test;
 import tec.units.ri.AbstractQuantity;
 import tec.units.ri.quantity.NumberQuantity;
 
+import javax.measure.quantity.Length;
 import javax.measure.quantity.Pressure;
 
 import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
 import static tec.units.ri.unit.Units.PASCAL;
 
 /**
@@ -169,5 +172,19 @@ public class QuantitiesTest {
     public void testEquals() {
     }
 
+    @Test
+    public void testNumberQuantityCompareTo() {
+        NumberQuantity<Length> km = new NumberQuantity<Length>(1, KILO(METRE));
+        assertTrue(km.compareTo(new NumberQuantity<Length>(999, METRE)) > 0);
+        assertTrue(km.compareTo(new NumberQuantity<Length>(1001, METRE)) < 0);
+        assertEquals(0, km.compareTo(new NumberQuantity<Length>(1000, METRE)));
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void testNumberQuantityDoubleValue() {
+        NumberQuantity<Length> km = new NumberQuantity<Length>(2, KILO(METRE));
+        assertEquals(2000.0, km.doubleValue(METRE), 0.0);
+        assertEquals(2.0, km.doubleValue(KILO(METRE)), 0.0);
+        assertEquals(2000L, km.longValue(METRE));
+    }
+}
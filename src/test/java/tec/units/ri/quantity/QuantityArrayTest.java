@@ -0,0 +1,120 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.*;
+import static tec.units.ri.unit.Units.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+public class QuantityArrayTest {
+
+	@Test
+	public void testTo() {
+		QuantityArray<Length> km = QuantityArray.of(new double[] { 1, 2.5 }, KILO(METRE));
+		QuantityArray<Length> m = km.to(METRE);
+		assertEquals(METRE, m.getUnit());
+		assertEquals(1000, m.doubleValue(0), 0);
+		assertEquals(2500, m.doubleValue(1), 0);
+		assertSame(km, km.to(KILO(METRE)));
+	}
+
+	@Test
+	public void testAdd() {
+		QuantityArray<Length> m = QuantityArray.of(new double[] { 1, 2 }, METRE);
+		QuantityArray<Length> cm = QuantityArray.of(new long[] { 50, 150 }, CENTI(METRE));
+		QuantityArray<Length> result = m.add(cm);
+		assertEquals(METRE, result.getUnit());
+		assertEquals(1.5, result.doubleValue(0), 1e-12);
+		assertEquals(3.5, result.doubleValue(1), 1e-12);
+	}
+
+	@Test
+	public void testLongExact() {
+		long big = (1L << 53) + 1;
+		QuantityArray<Length> a = QuantityArray.of(new long[] { big, 3 }, METRE);
+		assertEquals(big + 3, a.sum().getValue());
+		assertEquals(big + big, a.add(a).get(0).getValue());
+	}
+
+	@Test
+	public void testLongOverflow() {
+		QuantityArray<Length> a = QuantityArray.of(new long[] { Long.MAX_VALUE, Long.MAX_VALUE }, METRE);
+		assertEquals(2 * (double) Long.MAX_VALUE, a.sum().getValue().doubleValue(), 0);
+		assertEquals((double) Long.MAX_VALUE, a.mean().getValue().doubleValue(), 0);
+		QuantityArray<Length> b = QuantityArray.of(new long[] { Long.MAX_VALUE, 1, -2 }, METRE);
+		assertEquals(Long.MAX_VALUE - 1, b.sum().getValue());
+	}
+
+	@Test
+	public void testLongAddOverflow() {
+		QuantityArray<Length> a = QuantityArray.of(new long[] { Long.MAX_VALUE, 2 }, METRE);
+		QuantityArray<Length> b = QuantityArray.of(new long[] { 1, 3 }, METRE);
+		QuantityArray<Length> result = a.add(b);
+		assertEquals(METRE, result.getUnit());
+		assertEquals(Long.MAX_VALUE + 1d, result.doubleValue(0), 0);
+		assertEquals(5d, result.doubleValue(1), 0);
+	}
+
+	@Test
+	public void testStatistics() {
+		QuantityArray<Length> a = QuantityArray.of(new double[] { 3, -1, 4, 2 }, METRE);
+		assertEquals(8d, a.sum().getValue());
+		assertEquals(-1d, a.min().getValue());
+		assertEquals(4d, a.max().getValue());
+		assertEquals(2d, a.mean().getValue());
+		assertEquals(16d, a.scale(2).sum().getValue());
+		assertTrue(Arrays.equals(new double[] { -1, 2, 3, 4 }, a.sorted().toDoubleArray()));
+	}
+
+	@Test
+	public void testViews() {
+		List<Quantity<Length>> list = Arrays.<Quantity<Length>> asList(
+				Quantities.getQuantity(1d, METRE), Quantities.getQuantity(20d, CENTI(METRE)));
+		QuantityArray<Length> a = QuantityArray.of(list, METRE);
+		assertEquals(2, a.size());
+		assertEquals(0.2, a.doubleValue(1), 1e-12);
+		assertEquals(METRE, a.get(1).getUnit());
+		assertEquals(2, a.asList().size());
+		int count = 0;
+		for (Quantity<Length> q : a) {
+			assertEquals(METRE, q.getUnit());
+			count++;
+		}
+		assertEquals(2, count);
+	}
+}
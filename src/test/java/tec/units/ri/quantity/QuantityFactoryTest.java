@@ -32,8 +32,14 @@ package tec.units.ri.quantity;
 import static org.junit.Assert.*;
 import static tec.units.ri.unit.Units.*;
 
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
 import javax.measure.Quantity;
 import javax.measure.quantity.*;
+import javax.measure.spi.Bootstrap;
+import javax.measure.spi.QuantityFactory;
+import javax.measure.spi.QuantityFactoryService;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -72,4 +78,56 @@ public class QuantityFactoryTest {
 		assertEquals("40 min", t.toString());
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testConcurrentGetInstance() throws Exception {
+		final Class[] types = { Length.class, Mass.class, Time.class, Speed.class, Area.class, Volume.class,
+				Energy.class, Power.class, Force.class, Pressure.class, Temperature.class, Frequency.class };
+		final int threads = 8;
+		final int rounds = 2000;
+		final QuantityFactoryService service = Bootstrap.getService(QuantityFactoryService.class);
+		final QuantityFactory[][] factories = new QuantityFactory[threads][types.length];
+		final QuantityFactory[][] serviceFactories = new QuantityFactory[threads][types.length];
+		final CyclicBarrier start = new CyclicBarrier(threads);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int id = t;
+			workers[t] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						start.await();
+						for (int r = 0; r < rounds; r++) {
+							for (int i = 0; i < types.length; i++) {
+								int k = (i + id + r) % types.length; // Spread first accesses across threads.
+								QuantityFactory factory = DefaultQuantityFactory.getInstance(types[k]);
+								QuantityFactory fromService = service.getQuantityFactory(types[k]);
+								if (r == 0) {
+									factories[id][k] = factory;
+									serviceFactories[id][k] = fromService;
+								} else if (factory != factories[id][k] || fromService != serviceFactories[id][k]) {
+									throw new AssertionError("Factory changed for " + types[k]);
+								}
+							}
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		if (failure.get() != null)
+			throw new AssertionError(failure.get());
+		for (int i = 0; i < types.length; i++) {
+			for (int t = 0; t < threads; t++) {
+				assertSame(factories[0][i], factories[t][i]);
+				assertSame(serviceFactories[0][i], serviceFactories[t][i]);
+			}
+			assertSame(factories[0][i], DefaultQuantityFactory.getInstance(types[i]));
+		}
+	}
 }
@@ -0,0 +1,105 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.unit;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.MetricPrefix.MICRO;
+import static tec.units.ri.unit.MetricPrefix.MILLI;
+import static tec.units.ri.unit.Units.*;
+
+import javax.measure.UnconvertibleException;
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+public class ConversionMatrixTest {
+
+	@Test
+	public void testPrefixes() {
+		int km = ConversionMatrix.getId(KILO(METRE));
+		int mm = ConversionMatrix.getId(MILLI(METRE));
+		assertTrue(km >= 0 && mm >= 0);
+		assertEquals(KILO(METRE), ConversionMatrix.getUnit(km));
+		assertTrue(ConversionMatrix.isConvertible(km, mm));
+		assertEquals(1e6, ConversionMatrix.getScale(km, mm), 0.0);
+		assertEquals(1e-6, ConversionMatrix.getScale(mm, km), 0.0);
+		assertEquals(0.0, ConversionMatrix.getOffset(km, mm), 0.0);
+		assertEquals(2500000.0, ConversionMatrix.convert(2.5, km, mm), 0.0);
+		assertEquals(1e-6, ConversionMatrix.getScale(ConversionMatrix.getId(MILLI(GRAM)), ConversionMatrix.getId(KILOGRAM)), 0.0);
+	}
+
+	@Test
+	public void testOffsets() {
+		int celsius = ConversionMatrix.getId(CELSIUS);
+		int kelvin = ConversionMatrix.getId(KELVIN);
+		assertEquals(273.15, ConversionMatrix.convert(0, celsius, kelvin), 0.0);
+		assertEquals(-273.15, ConversionMatrix.convert(0, kelvin, celsius), 0.0);
+		assertEquals(1.0, ConversionMatrix.getScale(celsius, kelvin), 0.0);
+		int millikelvin = ConversionMatrix.getId(MILLI(KELVIN));
+		assertEquals(273150.0, ConversionMatrix.convert(0, celsius, millikelvin), 1e-9);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testMatchesConverters() throws Exception {
+		Unit[] units = { METRE, KILO(METRE), MICRO(METRE), KILOGRAM, GRAM, MILLI(GRAM), SECOND, WEEK, YEAR,
+				KELVIN, CELSIUS, KILO(CELSIUS), CUBIC_METRE, LITRE, MILLI(LITRE), METRES_PER_SECOND,
+				KILOMETRES_PER_HOUR };
+		for (Unit from : units) {
+			for (Unit to : units) {
+				int fromId = ConversionMatrix.getId(from);
+				int toId = ConversionMatrix.getId(to);
+				assertTrue(from.toString(), fromId >= 0);
+				if (!from.isCompatible(to)) {
+					assertFalse(ConversionMatrix.isConvertible(fromId, toId));
+					continue;
+				}
+				double expected = from.getConverterTo(to).convert(12.5);
+				assertEquals(from + " -> " + to, expected, ConversionMatrix.convert(12.5, fromId, toId),
+						Math.abs(expected) * 1e-15);
+			}
+		}
+	}
+
+	@Test
+	public void testUnknownUnits() {
+		Unit<?> foot = METRE.multiply(0.3048);
+		assertEquals(-1, ConversionMatrix.getId(foot));
+		assertFalse(ConversionMatrix.isConvertible(-1, ConversionMatrix.getId(METRE)));
+		assertEquals(1.0 / 0.3048, ConversionMatrix.convert(1.0, METRE, foot), 1e-15);
+		assertEquals(1000.0, ConversionMatrix.convert(1.0, KILO(METRE), METRE), 0.0);
+	}
+
+	@Test(expected = UnconvertibleException.class)
+	public void testIncompatibleIds() {
+		ConversionMatrix.getScale(ConversionMatrix.getId(METRE), ConversionMatrix.getId(SECOND));
+	}
+}
@@ -71,7 +71,7 @@ public class PrefixTest {
 	@Test
 	public void testBetweenPrefixes() {
 		UnitConverter conv = YOTTA(METRE).getConverterTo(ZETTA(METRE));
-		assertEquals(new RationalConverter(4.7683715820312499E17, 4.76837158203125E14), conv); // TODO value?
+		assertEquals(RationalConverter.of(1000, 1), conv);
 	}
 	
 	@Test
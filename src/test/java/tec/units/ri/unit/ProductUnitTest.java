@@ -0,0 +1,81 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.unit;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.*;
+
+import javax.measure.IncommensurableException;
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+
+public class ProductUnitTest {
+
+	@Test
+	public void testInterned() {
+		Unit<?> a = METRE.multiply(SECOND);
+		Unit<?> b = METRE.multiply(SECOND);
+		assertSame(a, b);
+		assertSame(KILO(METRE).divide(HOUR), KILO(METRE).divide(HOUR));
+	}
+
+	@Test
+	public void testPow() {
+		Unit<?> cube = METRE.pow(3);
+		assertSame(cube, METRE.multiply(METRE).multiply(METRE));
+		assertEquals(METRE, cube.divide(METRE.pow(2)));
+		assertSame(METRE, METRE.pow(1));
+		assertEquals(AbstractUnit.ONE, METRE.pow(0));
+		assertEquals(METRE.pow(2).multiply(SECOND.pow(-2)), METRE.divide(SECOND).pow(2));
+	}
+
+	@Test
+	public void testConverterShortcut() throws IncommensurableException {
+		Unit<?> a = KILO(METRE).multiply(SECOND);
+		assertTrue(a.getConverterToAny(KILO(METRE).multiply(SECOND)).isIdentity());
+	}
+
+	@Test
+	public void testCachedProperties() {
+		AbstractUnit<?> speed = (AbstractUnit<?>) KILO(METRE).divide(HOUR);
+		assertSame(speed.getDimension(), speed.getDimension());
+		assertEquals(METRE.divide(SECOND).getDimension(), speed.getDimension());
+		assertSame(speed.getSystemUnit(), speed.getSystemUnit());
+		assertEquals(METRE.divide(SECOND), speed.getSystemUnit());
+		assertSame(speed.getSystemConverter(), speed.getSystemConverter());
+		assertEquals(1.0 / 3.6, speed.getSystemConverter().convert(1.0), 1e-15);
+		AbstractUnit<?> millimetre = (AbstractUnit<?>) MetricPrefix.MILLI(METRE);
+		assertSame(millimetre.getSystemConverter(), millimetre.getSystemConverter());
+	}
+}
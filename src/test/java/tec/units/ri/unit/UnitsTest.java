@@ -29,6 +29,10 @@
  */
 package tec.units.ri.unit;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.quantity.Dimensionless;
@@ -44,11 +48,13 @@ import org.junit.Test;
 import tec.units.ri.AbstractConverter;
 import tec.units.ri.AbstractUnit;
 import tec.units.ri.quantity.Quantities;
+import tec.units.ri.quantity.QuantityDimension;
 import static org.junit.Assert.*;
 import static tec.units.ri.unit.MetricPrefix.KILO;
 import static tec.units.ri.unit.Units.GRAM;
 import static tec.units.ri.unit.Units.KILOGRAM;
 import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
 import static tec.units.ri.unit.Units.WATT;
 
 /**
@@ -257,4 +263,45 @@ public class UnitsTest {
 //		assertEquals("kg", UCUM.GRAM.getSymbol()); //"g"
 //		assertEquals("kg", US.POUND.getSymbol()); //"lb"
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetUnitsOfDimension() {
+		Set<? extends Unit<?>> lengths = Units.getInstance().getUnits(QuantityDimension.LENGTH);
+		assertTrue(lengths.contains(METRE));
+		for (Unit<?> unit : lengths) {
+			assertEquals(QuantityDimension.LENGTH, unit.getDimension());
+		}
+		Set<? extends Unit<?>> speeds = Units.getInstance().getUnits(METRE.divide(SECOND).getDimension());
+		assertTrue(speeds.contains(Units.METRES_PER_SECOND));
+		assertTrue(speeds.contains(Units.KILOMETRES_PER_HOUR));
+		int total = 0;
+		Set<Dimension> dimensions = new HashSet<Dimension>();
+		for (Unit<?> unit : Units.getInstance().getUnits()) {
+			if (dimensions.add(unit.getDimension())) {
+				total += Units.getInstance().getUnits(unit.getDimension()).size();
+			}
+		}
+		assertEquals(Units.getInstance().getUnits().size(), total);
+	}
+
+	@Test
+	public void testGetUnitBySymbol() {
+		Units units = (Units) Units.getInstance();
+		assertEquals(METRE, units.getUnit("m"));
+		assertEquals(WATT, units.getUnit("W"));
+		assertNull(units.getUnit("furlong"));
+	}
+
+	@Test
+	public void testUnitIds() {
+		Units units = (Units) Units.getInstance();
+		int size = units.getUnits().size();
+		for (Unit<?> unit : units.getUnits()) {
+			int id = units.getUnitId(unit);
+			assertTrue(id >= 0 && id < size);
+			assertSame(unit, units.getUnit(id));
+		}
+		assertEquals(0, units.getUnitId(Units.ONE));
+		assertEquals(-1, units.getUnitId(KILO(WATT)));
+	}
+}